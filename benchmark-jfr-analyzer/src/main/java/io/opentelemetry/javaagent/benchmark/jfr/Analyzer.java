@@ -6,8 +6,13 @@
 package io.opentelemetry.javaagent.benchmark.jfr;
 
 import java.io.File;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
 import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -18,18 +23,28 @@ import jdk.jfr.consumer.RecordedEvent;
 import jdk.jfr.consumer.RecordedFrame;
 import jdk.jfr.consumer.RecordedMethod;
 import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
 import jdk.jfr.consumer.RecordingFile;
 
 @SuppressWarnings("SystemOut")
 public class Analyzer {
 
+  // prefix of the JFR events that the agent emits about its own overhead when started with
+  // -Dotel.javaagent.experimental.jfr-events.enabled=true
+  private static final String AGENT_EVENT_PREFIX = "io.opentelemetry.javaagent.";
+  private static final List<String> AGENT_EVENT_TYPES =
+      Arrays.asList("TypeMatching", "MuzzleCheck", "HelperInjection", "Transformation");
+  private static final String HELPER_INJECTION = AGENT_EVENT_PREFIX + "HelperInjection";
+  private static final String TRANSFORMATION = AGENT_EVENT_PREFIX + "Transformation";
+
   private static final Node syntheticRootNode = new Node("");
   private static int totalSamples = 0;
 
   public static void main(String[] args) throws Exception {
     File jfrFile = new File(args[0]);
+    List<RecordedEvent> allEvents = RecordingFile.readAllEvents(jfrFile.toPath());
     List<RecordedEvent> events =
-        RecordingFile.readAllEvents(jfrFile.toPath()).stream()
+        allEvents.stream()
             .filter(e -> e.getEventType().getName().equals("jdk.ExecutionSample"))
             .collect(Collectors.toList());
 
@@ -52,6 +67,132 @@ public class Analyzer {
     for (Node rootNode : syntheticRootNode.getOrderedChildNodes()) {
       printNode(rootNode, 0);
     }
+
+    printInstrumentationOverhead(allEvents);
+  }
+
+  private static void printInstrumentationOverhead(List<RecordedEvent> events) {
+    Map<String, InstrumentationOverhead> overheads = instrumentationOverhead(events);
+    if (overheads.isEmpty()) {
+      return;
+    }
+
+    Map<String, String> thresholds = thresholds(events);
+    System.out.println();
+    System.out.println("Agent overhead by instrumentation (ms, number of events):");
+    System.out.println(
+        "(Transformation excludes HelperInjection, events shorter than the threshold after '>' in"
+            + " the header are not recorded)");
+    System.out.format("%-40s", "instrumentation");
+    for (String type : AGENT_EVENT_TYPES) {
+      String threshold = thresholds.get(AGENT_EVENT_PREFIX + type);
+      System.out.format(" %22s", threshold != null ? type + " >" + threshold : type);
+    }
+    System.out.format(" %12s%n", "total");
+    List<InstrumentationOverhead> ordered =
+        overheads.values().stream()
+            .sorted(Comparator.comparing(InstrumentationOverhead::total).reversed())
+            .collect(Collectors.toList());
+    for (InstrumentationOverhead overhead : ordered) {
+      System.out.format("%-40s", overhead.instrumentationName);
+      for (int i = 0; i < AGENT_EVENT_TYPES.size(); i++) {
+        System.out.format(" %12.3f (%7d)", millis(overhead.durations[i]), overhead.counts[i]);
+      }
+      System.out.format(" %12.3f%n", millis(overhead.total()));
+    }
+  }
+
+  // visible for testing
+  static Map<String, InstrumentationOverhead> instrumentationOverhead(List<RecordedEvent> events) {
+    Map<RecordedEvent, Duration> nestedDurations = nestedHelperInjectionDurations(events);
+    Map<String, InstrumentationOverhead> overheads = new HashMap<>();
+    for (RecordedEvent event : events) {
+      String eventName = event.getEventType().getName();
+      if (!eventName.startsWith(AGENT_EVENT_PREFIX)) {
+        continue;
+      }
+      int type = AGENT_EVENT_TYPES.indexOf(eventName.substring(AGENT_EVENT_PREFIX.length()));
+      if (type == -1) {
+        continue;
+      }
+      // a class transformed by several instrumentations is transformed by all of them together,
+      // split the duration so that the totals don't add up to more than was actually spent
+      String[] instrumentationNames = event.getString("instrumentationName").split(",");
+      Duration duration =
+          event
+              .getDuration()
+              .minus(nestedDurations.getOrDefault(event, Duration.ZERO))
+              .dividedBy(instrumentationNames.length);
+      for (String instrumentationName : instrumentationNames) {
+        overheads
+            .computeIfAbsent(instrumentationName, InstrumentationOverhead::new)
+            .record(type, duration);
+      }
+    }
+    return overheads;
+  }
+
+  // helpers are injected by a transformer, so a HelperInjection event is nested in the
+  // Transformation event of the same class on the same thread. Its duration is subtracted from the
+  // transformation so that the columns add up to the time that was actually spent.
+  private static Map<RecordedEvent, Duration> nestedHelperInjectionDurations(
+      List<RecordedEvent> events) {
+    Map<Long, List<RecordedEvent>> transformationsByThread = new HashMap<>();
+    for (RecordedEvent event : events) {
+      if (event.getEventType().getName().equals(TRANSFORMATION)) {
+        transformationsByThread
+            .computeIfAbsent(threadId(event), unused -> new ArrayList<>())
+            .add(event);
+      }
+    }
+    Map<RecordedEvent, Duration> nestedDurations = new IdentityHashMap<>();
+    for (RecordedEvent event : events) {
+      if (!event.getEventType().getName().equals(HELPER_INJECTION)) {
+        continue;
+      }
+      for (RecordedEvent transformation :
+          transformationsByThread.getOrDefault(threadId(event), Collections.emptyList())) {
+        if (!transformation.getStartTime().isAfter(event.getStartTime())
+            && !transformation.getEndTime().isBefore(event.getEndTime())) {
+          nestedDurations.merge(transformation, event.getDuration(), Duration::plus);
+          break;
+        }
+      }
+    }
+    return nestedDurations;
+  }
+
+  private static long threadId(RecordedEvent event) {
+    RecordedThread thread = event.getThread("eventThread");
+    return thread != null ? thread.getJavaThreadId() : -1;
+  }
+
+  // the thresholds that were active for the agent events, TypeMatching and HelperInjection only
+  // record events that took longer than their threshold
+  // visible for testing
+  static Map<String, String> thresholds(List<RecordedEvent> events) {
+    Map<Long, String> thresholdsById = new HashMap<>();
+    for (RecordedEvent event : events) {
+      if (event.getEventType().getName().equals("jdk.ActiveSetting")
+          && event.getString("name").equals("threshold")) {
+        thresholdsById.put(event.getLong("id"), event.getString("value"));
+      }
+    }
+    Map<String, String> thresholds = new HashMap<>();
+    for (RecordedEvent event : events) {
+      String eventName = event.getEventType().getName();
+      String threshold = thresholdsById.get(event.getEventType().getId());
+      if (eventName.startsWith(AGENT_EVENT_PREFIX)
+          && threshold != null
+          && !threshold.startsWith("0 ")) {
+        thresholds.put(eventName, threshold);
+      }
+    }
+    return thresholds;
+  }
+
+  private static double millis(Duration duration) {
+    return duration.toNanos() / 1_000_000.0;
   }
 
   // getting direct callers since those are likely the instrumented methods
@@ -179,5 +320,32 @@ public class Analyzer {
     }
   }
 
+  // visible for testing
+  static class InstrumentationOverhead {
+
+    private final String instrumentationName;
+    // indexed like AGENT_EVENT_TYPES
+    final Duration[] durations = new Duration[AGENT_EVENT_TYPES.size()];
+    final int[] counts = new int[AGENT_EVENT_TYPES.size()];
+
+    private InstrumentationOverhead(String instrumentationName) {
+      this.instrumentationName = instrumentationName;
+      Arrays.fill(durations, Duration.ZERO);
+    }
+
+    private void record(int type, Duration duration) {
+      durations[type] = durations[type].plus(duration);
+      counts[type]++;
+    }
+
+    private Duration total() {
+      Duration total = Duration.ZERO;
+      for (Duration duration : durations) {
+        total = total.plus(duration);
+      }
+      return total;
+    }
+  }
+
   private Analyzer() {}
 }
@@ -0,0 +1,147 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.entry;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import jdk.jfr.Event;
+import jdk.jfr.Name;
+import jdk.jfr.Recording;
+import jdk.jfr.Threshold;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class AnalyzerTest {
+
+  // indexes into Analyzer.AGENT_EVENT_TYPES
+  private static final int TYPE_MATCHING = 0;
+  private static final int HELPER_INJECTION = 2;
+  private static final int TRANSFORMATION = 3;
+
+  @TempDir Path tempDir;
+
+  @Test
+  void splitsTransformationBetweenInstrumentations() throws Exception {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable(TypeMatchingEvent.class);
+      recording.enable(TransformationEvent.class);
+      recording.start();
+
+      TypeMatchingEvent typeMatching = new TypeMatchingEvent();
+      typeMatching.begin();
+      Thread.sleep(2);
+      typeMatching.instrumentationName = "jdbc";
+      typeMatching.commit();
+
+      TransformationEvent transformation = new TransformationEvent();
+      transformation.begin();
+      Thread.sleep(2);
+      transformation.instrumentationName = "jdbc,executors";
+      transformation.commit();
+
+      recording.stop();
+      Path file = tempDir.resolve("recording.jfr");
+      recording.dump(file);
+      events =
+          RecordingFile.readAllEvents(file).stream()
+              .filter(e -> e.getEventType().getName().startsWith("io.opentelemetry.javaagent."))
+              .collect(Collectors.toList());
+    }
+    Duration typeMatchingDuration = duration(events, "io.opentelemetry.javaagent.TypeMatching");
+    Duration transformationDuration =
+        duration(events, "io.opentelemetry.javaagent.Transformation");
+
+    Map<String, Analyzer.InstrumentationOverhead> overheads =
+        Analyzer.instrumentationOverhead(events);
+
+    assertThat(overheads).containsOnlyKeys("jdbc", "executors");
+    Analyzer.InstrumentationOverhead jdbc = overheads.get("jdbc");
+    Analyzer.InstrumentationOverhead executors = overheads.get("executors");
+    assertThat(jdbc.durations[TYPE_MATCHING]).isEqualTo(typeMatchingDuration);
+    assertThat(jdbc.counts[TYPE_MATCHING]).isEqualTo(1);
+    assertThat(executors.counts[TYPE_MATCHING]).isEqualTo(0);
+
+    assertThat(jdbc.counts[TRANSFORMATION]).isEqualTo(1);
+    assertThat(executors.counts[TRANSFORMATION]).isEqualTo(1);
+    assertThat(jdbc.durations[TRANSFORMATION]).isEqualTo(executors.durations[TRANSFORMATION]);
+    assertThat(jdbc.durations[TRANSFORMATION].plus(executors.durations[TRANSFORMATION]))
+        .isLessThanOrEqualTo(transformationDuration)
+        .isGreaterThan(transformationDuration.minusNanos(2));
+  }
+
+  @Test
+  void excludesHelperInjectionFromTransformation() throws Exception {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable(HelperInjectionEvent.class);
+      recording.enable(TransformationEvent.class);
+      // enabled by the default and profile configurations, records the thresholds
+      recording.enable("jdk.ActiveSetting");
+      recording.start();
+
+      TransformationEvent transformation = new TransformationEvent();
+      transformation.begin();
+      Thread.sleep(2);
+      HelperInjectionEvent helperInjection = new HelperInjectionEvent();
+      helperInjection.begin();
+      Thread.sleep(2);
+      helperInjection.instrumentationName = "jdbc";
+      helperInjection.commit();
+      transformation.instrumentationName = "jdbc";
+      transformation.commit();
+
+      recording.stop();
+      Path file = tempDir.resolve("recording.jfr");
+      recording.dump(file);
+      events = RecordingFile.readAllEvents(file);
+    }
+    Duration helperInjectionDuration =
+        duration(events, "io.opentelemetry.javaagent.HelperInjection");
+    Duration transformationDuration =
+        duration(events, "io.opentelemetry.javaagent.Transformation");
+
+    Analyzer.InstrumentationOverhead jdbc = Analyzer.instrumentationOverhead(events).get("jdbc");
+
+    assertThat(jdbc.durations[HELPER_INJECTION]).isEqualTo(helperInjectionDuration);
+    assertThat(jdbc.durations[TRANSFORMATION])
+        .isEqualTo(transformationDuration.minus(helperInjectionDuration));
+    assertThat(Analyzer.thresholds(events))
+        .containsExactly(entry("io.opentelemetry.javaagent.HelperInjection", "20 us"));
+  }
+
+  private static Duration duration(List<RecordedEvent> events, String name) {
+    return events.stream()
+        .filter(e -> e.getEventType().getName().equals(name))
+        .findFirst()
+        .orElseThrow(AssertionError::new)
+        .getDuration();
+  }
+
+  @Name("io.opentelemetry.javaagent.TypeMatching")
+  static class TypeMatchingEvent extends Event {
+    String instrumentationName;
+  }
+
+  @Name("io.opentelemetry.javaagent.HelperInjection")
+  @Threshold("20 us")
+  static class HelperInjectionEvent extends Event {
+    String instrumentationName;
+  }
+
+  @Name("io.opentelemetry.javaagent.Transformation")
+  static class TransformationEvent extends Event {
+    String instrumentationName;
+  }
+}
@@ -14,6 +14,7 @@ otelJava {
 
 dependencies {
   jmhImplementation("org.springframework.boot:spring-boot-starter-web:3.5.8")
+  jmhImplementation("io.opentelemetry:opentelemetry-api")
 }
 
 tasks {
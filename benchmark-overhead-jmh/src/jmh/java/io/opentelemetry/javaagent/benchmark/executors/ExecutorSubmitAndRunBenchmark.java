@@ -0,0 +1,65 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.executors;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+// the latency of submitting a task from within a sampled span and waiting until it has run, which
+// includes attaching the context to the task and making it current when the task runs
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class ExecutorSubmitAndRunBenchmark {
+
+  @Param({"ForkJoinPool", "ThreadPoolExecutor"})
+  public String executorType;
+
+  private Span span;
+  private ExecutorService executor;
+
+  @Setup
+  public void setup() {
+    span = GlobalOpenTelemetry.getTracer("benchmark").spanBuilder("parent").startSpan();
+    executor =
+        executorType.equals("ForkJoinPool")
+            ? new ForkJoinPool(4)
+            : new ThreadPoolExecutor(4, 4, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+    span.end();
+  }
+
+  @Benchmark
+  public Object submitAndRun() throws ExecutionException, InterruptedException {
+    try (Scope ignored = span.makeCurrent()) {
+      return executor.submit(new Task()).get();
+    }
+  }
+
+  private static class Task implements Runnable {
+    @Override
+    public void run() {}
+  }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.executors;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+// a cpu bound parallel stream inside a span, the fork join tasks that the stream splits its work
+// into are forked with the span's context. Compare with ParallelStreamWithAgentDisabledBenchmark
+// and ParallelStreamForkJoinRootOnlyBenchmark
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class ParallelStreamBenchmark {
+
+  @Param({"1000", "100000"})
+  public int size;
+
+  private Tracer tracer;
+
+  @Setup
+  public void setup() {
+    tracer = GlobalOpenTelemetry.getTracer("benchmark");
+  }
+
+  @Benchmark
+  public long sum() {
+    Span span = tracer.spanBuilder("sum").startSpan();
+    try (Scope ignored = span.makeCurrent()) {
+      return IntStream.range(0, size).parallel().mapToLong(ParallelStreamBenchmark::hash).sum();
+    } finally {
+      span.end();
+    }
+  }
+
+  private static long hash(int value) {
+    long hash = value;
+    for (int i = 0; i < 16; i++) {
+      hash = hash * 0x9E3779B97F4A7C15L + i;
+    }
+    return hash;
+  }
+}
@@ -0,0 +1,11 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.executors;
+
+import org.openjdk.jmh.annotations.Fork;
+
+@Fork(jvmArgsAppend = "-Dotel.instrumentation.executors.experimental-fork-join-root-only=true")
+public class ParallelStreamForkJoinRootOnlyBenchmark extends ParallelStreamBenchmark {}
@@ -0,0 +1,67 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.benchmark.executors;
+
+import io.opentelemetry.api.GlobalOpenTelemetry;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.Tracer;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+
+// submits tasks from within a span, 99% of which are not sampled
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(jvmArgsAppend = {"-Dotel.traces.sampler=traceidratio", "-Dotel.traces.sampler.arg=0.01"})
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class ThreadPoolExecutorBenchmark {
+
+  private static final Callable<String> task = new Task();
+
+  private Tracer tracer;
+  private ThreadPoolExecutor executor;
+
+  @Setup
+  public void setup() {
+    tracer = GlobalOpenTelemetry.getTracer("benchmark");
+    executor = new ThreadPoolExecutor(4, 4, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+  }
+
+  @TearDown
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Benchmark
+  @Threads(4)
+  public String submit() throws ExecutionException, InterruptedException {
+    Span span = tracer.spanBuilder("submit").startSpan();
+    try (Scope ignored = span.makeCurrent()) {
+      return executor.submit(task).get();
+    } finally {
+      span.end();
+    }
+  }
+
+  private static class Task implements Callable<String> {
+    @Override
+    public String call() {
+      return "done";
+    }
+  }
+}
@@ -28,6 +28,13 @@ public class Agent {
           "latest available snapshot version from main with indy enabled",
           null,
           Collections.singletonList("-Dotel.javaagent.experimental.indy=true"));
+  public static final Agent LATEST_SNAPSHOT_LAZY_MODULES =
+      new Agent(
+          "snapshot-lazy-modules",
+          "latest available snapshot version from main with lazy module preparation enabled",
+          null,
+          Collections.singletonList(
+              "-Dotel.javaagent.experimental.lazy-module-preparation.enabled=true"));
 
   private final String name;
   private final String description;
@@ -18,6 +18,13 @@ public enum Configs {
           .withAgents(
               Agent.NONE, Agent.LATEST_RELEASE, Agent.LATEST_SNAPSHOT, Agent.LATEST_SNAPSHOT_INDY)
           .warmupSeconds(60)
+          .build()),
+  STARTUP(
+      TestConfig.builder()
+          .name("startup")
+          .description("compares startup time with and without lazy module preparation")
+          .withAgents(Agent.NONE, Agent.LATEST_SNAPSHOT, Agent.LATEST_SNAPSHOT_LAZY_MODULES)
+          .warmupSeconds(60)
           .build());
 
   public final TestConfig config;
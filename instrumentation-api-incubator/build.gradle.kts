@@ -1,8 +1,11 @@
+import net.ltgt.gradle.errorprone.errorprone
+
 plugins {
   id("otel.java-conventions")
   id("otel.animalsniffer-conventions")
   id("otel.jacoco-conventions")
   id("otel.publish-conventions")
+  id("otel.jmh-conventions")
   id("otel.nullaway-conventions")
 }
 
@@ -68,6 +71,13 @@ tasks {
     exclude("**/AutoSqlSanitizer.java")
   }
 
+  // TODO this should live in jmh-conventions
+  named<JavaCompile>("jmhCompileGeneratedClasses") {
+    options.errorprone {
+      isEnabled.set(false)
+    }
+  }
+
   // Work around https://github.com/jflex-de/jflex/issues/762
   compileJava {
     with(options) {
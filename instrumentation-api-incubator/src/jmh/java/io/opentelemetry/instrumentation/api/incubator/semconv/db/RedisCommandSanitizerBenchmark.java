@@ -0,0 +1,70 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import static java.util.Arrays.asList;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class RedisCommandSanitizerBenchmark {
+
+  private static final RedisCommandSanitizer sanitizer = RedisCommandSanitizer.create(true);
+
+  @Param({"GET", "SET", "HMSET", "EVAL", "AUTH", "ZADD", "UNKNOWN"})
+  public String command;
+
+  private List<?> args;
+
+  @Setup
+  public void setUp() {
+    switch (command) {
+      case "GET":
+        args = asList("user:1234");
+        break;
+      case "SET":
+        args = asList("user:1234", "{\"name\":\"value\"}", "EX", 60);
+        break;
+      case "HMSET":
+        args = asList("user:1234", "name", "John", "email", "john@example.com", "age", 42);
+        break;
+      case "EVAL":
+        args = asList("return redis.call('get', KEYS[1])", "1", "user:1234", "secret");
+        break;
+      case "AUTH":
+        args = asList("password");
+        break;
+      case "ZADD":
+        args = asList("leaderboard", 1.5, "alice", 2.5, "bob");
+        break;
+      default:
+        args = asList("key", "value".getBytes(StandardCharsets.UTF_8));
+    }
+  }
+
+  @Benchmark
+  public String sanitize() {
+    return sanitizer.sanitize(command, args);
+  }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmarks of the SQL sanitizer. Run with the gc profiler (enabled by default in the jmh
+ * conventions) to catch allocation regressions in the generated lexer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@Fork(3)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class SqlStatementSanitizerBenchmark {
+
+  // more distinct statements than the sanitizer cache holds, so that misses stay misses
+  private static final int STATEMENT_COUNT = 16 * 1024;
+  private static final int HOT_STATEMENT_COUNT = 16;
+
+  private static final SqlStatementSanitizer sanitizer = SqlStatementSanitizer.create(true);
+
+  @Param({"DEFAULT", "COUCHBASE"})
+  public SqlDialect dialect;
+
+  @Param({"small", "medium", "large"})
+  public String size;
+
+  @Param({"100", "90", "50", "0"})
+  public int hitRatioPercent;
+
+  private String[] statements;
+  private String statement;
+  private List<String> multiQuery;
+  private int index;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    String[] hot = new String[HOT_STATEMENT_COUNT];
+    for (int i = 0; i < hot.length; i++) {
+      hot[i] = statement(size, "hot" + i, random);
+    }
+    statements = new String[STATEMENT_COUNT];
+    for (int i = 0; i < statements.length; i++) {
+      if (random.nextInt(100) < hitRatioPercent) {
+        statements[i] = hot[random.nextInt(hot.length)];
+      } else {
+        statements[i] = statement(size, "cold" + i, random);
+      }
+    }
+    statement = hot[0];
+    multiQuery = new ArrayList<>(Arrays.asList(hot).subList(0, 4));
+  }
+
+  @Benchmark
+  public SqlStatementInfo sanitize() {
+    String next = statements[index];
+    index = (index + 1) & (STATEMENT_COUNT - 1);
+    return sanitizer.sanitize(next, dialect);
+  }
+
+  @Benchmark
+  public SqlStatementInfo sanitizeUncached() {
+    return AutoSqlSanitizer.sanitize(statement, dialect);
+  }
+
+  @Benchmark
+  public MultiQuery multiQuery() {
+    return MultiQuery.analyze(multiQuery, true);
+  }
+
+  private static String statement(String size, String table, Random random) {
+    switch (size) {
+      case "small":
+        return "SELECT * FROM " + table + " WHERE id = " + random.nextInt(1000);
+      case "medium":
+        return select(table, 20, random);
+      case "large":
+        // a bulk insert well above the large statement threshold
+        StringBuilder sb =
+            new StringBuilder("INSERT INTO ").append(table).append(" (id, name, value) VALUES ");
+        for (int i = 0; i < 2000; i++) {
+          if (i > 0) {
+            sb.append(", ");
+          }
+          sb.append('(')
+              .append(random.nextInt())
+              .append(", 'name")
+              .append(i)
+              .append("', ")
+              .append(random.nextDouble())
+              .append(')');
+        }
+        return sb.toString();
+      default:
+        throw new IllegalArgumentException("Unknown size: " + size);
+    }
+  }
+
+  private static String select(String table, int columns, Random random) {
+    StringBuilder sb = new StringBuilder("SELECT ");
+    for (int i = 0; i < columns; i++) {
+      sb.append(i == 0 ? "" : ", ").append("t.column").append(i);
+    }
+    sb.append(" FROM ").append(table).append(" t WHERE t.id IN (");
+    for (int i = 0; i < columns; i++) {
+      sb.append(i == 0 ? "" : ", ").append(random.nextInt(100_000));
+    }
+    sb.append(") AND t.name = 'name").append(random.nextInt(1000)).append("' ORDER BY t.id");
+    return sb.toString();
+  }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import io.opentelemetry.instrumentation.api.internal.cache.ResizableCache;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * The cache of sanitized statements shared by all {@link SqlStatementSanitizer}s.
+ *
+ * <p>The cache never holds fewer than its minimum capacity entries. When adaptive sizing is enabled
+ * the hit rate is re-evaluated every {@link #EVALUATION_INTERVAL} misses: the capacity is doubled,
+ * up to {@link #MAXIMUM_GROWTH} times the minimum, while misses stay frequent and the heap has room
+ * to spare, and halved again once the working set fits or the heap runs low.
+ */
+final class SqlStatementInfoCache {
+
+  // visible for testing
+  static final int EVALUATION_INTERVAL = 1000;
+  static final int MAXIMUM_GROWTH = 16;
+  private static final double GROW_MISS_RATE = 0.2;
+  private static final double SHRINK_MISS_RATE = 0.05;
+
+  private final ResizableCache<SqlStatementSanitizer.CacheKey, SqlStatementInfo> cache;
+  private final boolean adaptive;
+  private final LongAdder hits = new LongAdder();
+  private final AtomicLong misses = new AtomicLong();
+
+  // guarded by this
+  private int minimumCapacity;
+  private long lastHits;
+  private long lastMisses;
+
+  SqlStatementInfoCache(String name, int capacity, boolean adaptive) {
+    this.minimumCapacity = Math.max(capacity, 1);
+    this.cache = Cache.resizable(name, minimumCapacity);
+    this.adaptive = adaptive;
+  }
+
+  SqlStatementInfo computeIfAbsent(
+      SqlStatementSanitizer.CacheKey key,
+      Function<? super SqlStatementSanitizer.CacheKey, ? extends SqlStatementInfo> function) {
+    if (!adaptive) {
+      return cache.computeIfAbsent(key, function);
+    }
+    SqlStatementInfo info = cache.get(key);
+    if (info != null) {
+      hits.increment();
+      return info;
+    }
+    if (misses.incrementAndGet() % EVALUATION_INTERVAL == 0) {
+      resize();
+    }
+    return cache.computeIfAbsent(key, function);
+  }
+
+  @Nullable
+  SqlStatementInfo get(SqlStatementSanitizer.CacheKey key) {
+    return cache.get(key);
+  }
+
+  /** Raises the minimum capacity of the cache, does nothing if it is already large enough. */
+  synchronized void ensureCapacity(int capacity) {
+    if (capacity <= minimumCapacity) {
+      return;
+    }
+    minimumCapacity = capacity;
+    if (cache.capacity() < capacity) {
+      cache.setCapacity(capacity);
+    }
+  }
+
+  // visible for testing
+  int capacity() {
+    return cache.capacity();
+  }
+
+  private synchronized void resize() {
+    long currentHits = hits.sum();
+    long currentMisses = misses.get();
+    long windowHits = currentHits - lastHits;
+    long windowMisses = currentMisses - lastMisses;
+    lastHits = currentHits;
+    lastMisses = currentMisses;
+    if (windowHits + windowMisses == 0) {
+      return;
+    }
+
+    double missRate = (double) windowMisses / (windowHits + windowMisses);
+    int capacity = cache.capacity();
+    boolean headroom = hasHeapHeadroom();
+    if (missRate > GROW_MISS_RATE && headroom) {
+      int maximumCapacity = (int) Math.min((long) minimumCapacity * MAXIMUM_GROWTH, 1 << 30);
+      if (capacity < maximumCapacity) {
+        cache.setCapacity((int) Math.min((long) capacity * 2, maximumCapacity));
+      }
+    } else if ((missRate < SHRINK_MISS_RATE || !headroom) && capacity > minimumCapacity) {
+      cache.setCapacity(Math.max(capacity / 2, minimumCapacity));
+    }
+  }
+
+  private static boolean hasHeapHeadroom() {
+    Runtime runtime = Runtime.getRuntime();
+    long used = runtime.totalMemory() - runtime.freeMemory();
+    return used < runtime.maxMemory() / 4 * 3;
+  }
+}
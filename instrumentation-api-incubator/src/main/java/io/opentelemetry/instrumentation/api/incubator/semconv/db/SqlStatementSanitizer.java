@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.api.incubator.semconv.db;
 import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.SQL_STATEMENT_SANITIZER_CACHE_MISS;
 
 import com.google.auto.value.AutoValue;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
 import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import javax.annotation.Nullable;
@@ -17,16 +18,47 @@ import javax.annotation.Nullable;
  * statements and queries.
  */
 public final class SqlStatementSanitizer {
-  private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
-
-  private static final Cache<CacheKey, SqlStatementInfo> sqlToStatementInfoCache =
-      Cache.bounded(1000);
-  private static final int LARGE_STATEMENT_THRESHOLD = 10 * 1024;
+  private static final SupportabilityMetrics.Counter cacheMissCounter =
+      SupportabilityMetrics.instance().counter(SQL_STATEMENT_SANITIZER_CACHE_MISS);
+
+  private static final String CONFIG_PREFIX =
+      "otel.instrumentation.common.experimental.db-statement-sanitizer.";
+
+  private static final SqlStatementInfoCache sqlToStatementInfoCache =
+      new SqlStatementInfoCache(
+          "sql-statement-sanitizer",
+          ConfigPropertiesUtil.getInt(CONFIG_PREFIX + "cache-size", 1000),
+          ConfigPropertiesUtil.getBoolean(CONFIG_PREFIX + "adaptive-cache.enabled", false));
+  // statements above the large statement threshold are not kept as cache keys, they are looked up
+  // by a fingerprint instead, see LargeStatementKey
+  private static final Cache<LargeStatementKey, SqlStatementInfo> largeStatementCache =
+      Cache.bounded("sql-statement-sanitizer-large", 64);
+  private static final int FINGERPRINT_LENGTH = 1024;
+  private static volatile int largeStatementThreshold =
+      ConfigPropertiesUtil.getInt(CONFIG_PREFIX + "large-statement-threshold", 10 * 1024);
 
   public static SqlStatementSanitizer create(boolean statementSanitizationEnabled) {
     return new SqlStatementSanitizer(statementSanitizationEnabled);
   }
 
+  /**
+   * Raises the number of sanitized statements kept in the cache that is shared by all sanitizers
+   * to at least {@code capacity}. Does nothing if the cache is already at least that large.
+   */
+  public static void ensureCacheCapacity(int capacity) {
+    sqlToStatementInfoCache.ensureCapacity(capacity);
+  }
+
+  /**
+   * Raises the length up to which sanitized statements are cached to at least {@code threshold}
+   * characters. Does nothing if the threshold is already at least that large.
+   */
+  public static synchronized void ensureLargeStatementThreshold(int threshold) {
+    if (threshold > largeStatementThreshold) {
+      largeStatementThreshold = threshold;
+    }
+  }
+
   private final boolean statementSanitizationEnabled;
 
   private SqlStatementSanitizer(boolean statementSanitizationEnabled) {
@@ -41,18 +73,19 @@ public final class SqlStatementSanitizer {
     if (!statementSanitizationEnabled || statement == null) {
       return SqlStatementInfo.create(statement, null, null);
     }
-    // sanitization result will not be cached for statements larger than the threshold to avoid
-    // cache growing too large
+    // statements larger than the threshold are not used as cache keys to avoid the cache growing
+    // too large
     // https://github.com/open-telemetry/opentelemetry-java-instrumentation/issues/13180
-    if (statement.length() > LARGE_STATEMENT_THRESHOLD) {
-      return sanitizeImpl(statement, dialect);
+    if (statement.length() > largeStatementThreshold) {
+      return largeStatementCache.computeIfAbsent(
+          LargeStatementKey.create(statement, dialect), k -> sanitizeImpl(statement, dialect));
     }
     return sqlToStatementInfoCache.computeIfAbsent(
         CacheKey.create(statement, dialect), k -> sanitizeImpl(statement, dialect));
   }
 
   private static SqlStatementInfo sanitizeImpl(String statement, SqlDialect dialect) {
-    supportability.incrementCounter(SQL_STATEMENT_SANITIZER_CACHE_MISS);
+    cacheMissCounter.increment();
     return AutoSqlSanitizer.sanitize(statement, dialect);
   }
 
@@ -61,6 +94,50 @@ public final class SqlStatementSanitizer {
     return sqlToStatementInfoCache.get(CacheKey.create(statement, SqlDialect.DEFAULT)) != null;
   }
 
+  // visible for tests
+  static boolean isLargeStatementCached(String statement) {
+    return largeStatementCache.get(LargeStatementKey.create(statement, SqlDialect.DEFAULT))
+        != null;
+  }
+
+  /**
+   * Identifies a large statement without retaining it: the length and 64-bit hashes of its first
+   * and last {@link #FINGERPRINT_LENGTH} characters. Computing it costs the same for any statement
+   * length, unlike {@link String#hashCode()}, which has to read the whole statement once for every
+   * new string. Statements that only differ in the middle share a fingerprint, these are typically
+   * statements that only differ in literal values, which sanitize to the same result.
+   */
+  @AutoValue
+  abstract static class LargeStatementKey {
+
+    static LargeStatementKey create(String statement, SqlDialect dialect) {
+      int length = statement.length();
+      return new AutoValue_SqlStatementSanitizer_LargeStatementKey(
+          length,
+          hash(statement, 0, Math.min(length, FINGERPRINT_LENGTH)),
+          hash(statement, Math.max(0, length - FINGERPRINT_LENGTH), length),
+          dialect);
+    }
+
+    // FNV-1a
+    private static long hash(String statement, int start, int end) {
+      long hash = 0xcbf29ce484222325L;
+      for (int i = start; i < end; i++) {
+        hash ^= statement.charAt(i);
+        hash *= 0x100000001b3L;
+      }
+      return hash;
+    }
+
+    abstract int getLength();
+
+    abstract long getPrefixHash();
+
+    abstract long getSuffixHash();
+
+    abstract SqlDialect getDialect();
+  }
+
   @AutoValue
   abstract static class CacheKey {
 
@@ -5,10 +5,9 @@
 
 package io.opentelemetry.instrumentation.api.incubator.semconv.db;
 
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.internal.SanitizedStatements;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
 import io.opentelemetry.instrumentation.api.internal.InstrumenterContext;
-import java.util.HashMap;
-import java.util.Map;
 
 /**
  * Helper class for sanitizing sql that keeps sanitization results in {@link InstrumenterContext} so
@@ -18,9 +17,8 @@ class SqlStatementSanitizerUtil {
   private static final SqlStatementSanitizer sanitizer = SqlStatementSanitizer.create(true);
 
   static SqlStatementInfo sanitize(String queryText) {
-    Map<String, SqlStatementInfo> map =
-        InstrumenterContext.computeIfAbsent("sanitized-sql-map", unused -> new HashMap<>());
-    return map.computeIfAbsent(queryText, sanitizer::sanitize);
+    return SanitizedStatements.sanitizedStatements()
+        .computeIfAbsent(queryText, sanitizer::sanitize);
   }
 
   private SqlStatementSanitizerUtil() {}
@@ -0,0 +1,43 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db.internal;
+
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlStatementInfo;
+import io.opentelemetry.instrumentation.api.internal.InstrumenterContext;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Gives the sql extractors access to statements that were already sanitized by the
+ * instrumentation, e.g. memoized on a prepared statement, so that they are not looked up in the
+ * sanitizer cache again on every execution.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class SanitizedStatements {
+
+  private static final String CONTEXT_KEY = "sanitized-sql-map";
+
+  /**
+   * Makes {@code info} the sanitized form of {@code queryText} for the next {@code
+   * Instrumenter.start()} on the current thread. {@code info} must be the result of sanitizing
+   * {@code queryText} with sanitization enabled.
+   */
+  public static void put(String queryText, SqlStatementInfo info) {
+    sanitizedStatements().put(queryText, info);
+  }
+
+  /**
+   * Returns the sanitized statements of the current {@code Instrumenter} call, keyed by the raw
+   * query text.
+   */
+  public static Map<String, SqlStatementInfo> sanitizedStatements() {
+    return InstrumenterContext.computeIfAbsent(CONTEXT_KEY, unused -> new HashMap<>());
+  }
+
+  private SanitizedStatements() {}
+}
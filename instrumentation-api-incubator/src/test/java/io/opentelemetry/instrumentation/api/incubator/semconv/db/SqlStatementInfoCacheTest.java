@@ -0,0 +1,64 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.incubator.semconv.db;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+
+class SqlStatementInfoCacheTest {
+
+  @Test
+  void ensureCapacityOnlyGrows() {
+    SqlStatementInfoCache cache = new SqlStatementInfoCache("test", 10, false);
+
+    cache.ensureCapacity(5);
+    assertThat(cache.capacity()).isEqualTo(10);
+
+    cache.ensureCapacity(20);
+    assertThat(cache.capacity()).isEqualTo(20);
+  }
+
+  @Test
+  void fixedSizeCacheDoesNotGrow() {
+    SqlStatementInfoCache cache = new SqlStatementInfoCache("test", 10, false);
+
+    missRepeatedly(cache, 0, SqlStatementInfoCache.EVALUATION_INTERVAL);
+
+    assertThat(cache.capacity()).isEqualTo(10);
+  }
+
+  @Test
+  void adaptiveCacheGrowsOnMissesAndShrinksOnHits() {
+    SqlStatementInfoCache cache = new SqlStatementInfoCache("test", 10, true);
+
+    missRepeatedly(cache, 0, SqlStatementInfoCache.EVALUATION_INTERVAL);
+    assertThat(cache.capacity()).isEqualTo(20);
+
+    // mostly hits until the next evaluation
+    SqlStatementSanitizer.CacheKey hot = key(-1);
+    for (int i = 0; i < SqlStatementInfoCache.EVALUATION_INTERVAL * 100; i++) {
+      cache.computeIfAbsent(hot, SqlStatementInfoCacheTest::sanitize);
+    }
+    missRepeatedly(
+        cache, SqlStatementInfoCache.EVALUATION_INTERVAL, SqlStatementInfoCache.EVALUATION_INTERVAL);
+    assertThat(cache.capacity()).isEqualTo(10);
+  }
+
+  private static void missRepeatedly(SqlStatementInfoCache cache, int first, int count) {
+    for (int i = first; i < first + count; i++) {
+      cache.computeIfAbsent(key(i), SqlStatementInfoCacheTest::sanitize);
+    }
+  }
+
+  private static SqlStatementSanitizer.CacheKey key(int i) {
+    return SqlStatementSanitizer.CacheKey.create("SELECT * FROM t" + i, SqlDialect.DEFAULT);
+  }
+
+  private static SqlStatementInfo sanitize(SqlStatementSanitizer.CacheKey key) {
+    return SqlStatementInfo.create(key.getStatement(), null, null);
+  }
+}
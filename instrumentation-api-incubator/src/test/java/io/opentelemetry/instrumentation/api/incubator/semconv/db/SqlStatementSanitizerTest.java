@@ -14,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
 
 class SqlStatementSanitizerTest {
 
@@ -144,7 +145,7 @@ class SqlStatementSanitizerTest {
     assertThat(sanitizedShort).doesNotContain("1234");
     assertThat(SqlStatementSanitizer.isCached(shortStatement)).isTrue();
 
-    // test that large statement is not cached
+    // test that large statement is not used as a cache key, only its fingerprint is cached
     StringBuffer s = new StringBuffer();
     for (int i = 0; i < 10000; i++) {
       s.append("SELECT * FROM TABLE WHERE FIELD = 1234 AND ");
@@ -154,6 +155,65 @@ class SqlStatementSanitizerTest {
         SqlStatementSanitizer.create(true).sanitize(largeStatement).getFullStatement();
     assertThat(sanitizedLarge).doesNotContain("1234");
     assertThat(SqlStatementSanitizer.isCached(largeStatement)).isFalse();
+    assertThat(SqlStatementSanitizer.isLargeStatementCached(largeStatement)).isTrue();
+    assertThat(SqlStatementSanitizer.isLargeStatementCached(largeStatement + " ")).isFalse();
+    String changedEnd = largeStatement.substring(0, largeStatement.length() - 1) + ";";
+    assertThat(SqlStatementSanitizer.isLargeStatementCached(changedEnd)).isFalse();
+  }
+
+  @Test
+  void mainIdentifierFoundPastTruncation() {
+    StringBuilder sb = new StringBuilder("SELECT ");
+    for (int i = 0; i < 5000; i++) {
+      sb.append("column").append(i).append(", ");
+    }
+    sb.append("id FROM users WHERE id = 1");
+
+    SqlStatementInfo result = SqlStatementSanitizer.create(true).sanitize(sb.toString());
+
+    assertThat(result.getFullStatement().length()).isEqualTo(AutoSqlSanitizer.LIMIT);
+    assertThat(result.getOperation()).isEqualTo("SELECT");
+    assertThat(result.getMainIdentifier()).isEqualTo("users");
+  }
+
+  @ParameterizedTest
+  @ValueSource(
+      strings = {
+        " FROM users JOIN roles ON users.role_id = roles.id",
+        " FROM users, roles WHERE users.role_id = roles.id",
+        " FROM users UNION SELECT id FROM roles"
+      })
+  void noMainIdentifierForMultipleTablesPastTruncation(String fromClause) {
+    SqlStatementInfo result =
+        SqlStatementSanitizer.create(true).sanitize(selectWithManyColumns() + fromClause);
+
+    assertThat(result.getFullStatement().length()).isEqualTo(AutoSqlSanitizer.LIMIT);
+    assertThat(result.getOperation()).isEqualTo("SELECT");
+    assertThat(result.getMainIdentifier()).isNull();
+  }
+
+  @Test
+  void stopsTokenizingPastTruncation() {
+    // the FROM clause comes more than another LIMIT characters after the truncation
+    StringBuilder sb = new StringBuilder(selectWithManyColumns());
+    while (sb.length() < 3 * AutoSqlSanitizer.LIMIT) {
+      sb.append(", id");
+    }
+    sb.append(" FROM users");
+
+    SqlStatementInfo result = SqlStatementSanitizer.create(true).sanitize(sb.toString());
+
+    assertThat(result.getFullStatement().length()).isEqualTo(AutoSqlSanitizer.LIMIT);
+    assertThat(result.getOperation()).isEqualTo("SELECT");
+    assertThat(result.getMainIdentifier()).isNull();
+  }
+
+  private static String selectWithManyColumns() {
+    StringBuilder sb = new StringBuilder("SELECT ");
+    for (int i = 0; i < 5000; i++) {
+      sb.append("column").append(i).append(", ");
+    }
+    return sb.append("id").toString();
   }
 
   private static Stream<Arguments> sqlArgs() {
@@ -6,11 +6,17 @@
 package io.opentelemetry.instrumentation.api.cache;
 
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.Arrays;
+import java.util.Random;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import org.openjdk.jmh.annotations.AuxCounters;
 import org.openjdk.jmh.annotations.Benchmark;
 import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -155,4 +161,104 @@ public class CacheBenchmark {
     blackhole.consume(boundedSmallCache.get(key));
     blackhole.consume(boundedSmallCache.get(key2));
   }
+
+  // the benchmarks below compare hit rates and throughput of the bounded cache implementations,
+  // the hit and miss counts are reported as secondary results next to the throughput
+
+  @Benchmark
+  @Threads(4)
+  public void zipfian(HitRateState state, HitRateCounters counters, Blackhole blackhole) {
+    blackhole.consume(state.access(state.zipfianKeys, counters));
+  }
+
+  @Benchmark
+  @Threads(4)
+  public void scanHeavy(HitRateState state, HitRateCounters counters, Blackhole blackhole) {
+    blackhole.consume(state.access(state.scanKeys, counters));
+  }
+
+  @State(Scope.Benchmark)
+  public static class HitRateState {
+    private static final int CAPACITY = 1_000;
+    private static final int DISTINCT_KEYS = 50_000;
+    private static final int TRACE_LENGTH = 1 << 20;
+
+    @Param({"bounded", "boundedByFrequency"})
+    public String cacheType;
+
+    Cache<Integer, Integer> cache;
+    Integer[] zipfianKeys;
+    Integer[] scanKeys;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      cache =
+          cacheType.equals("bounded")
+              ? Cache.bounded(CAPACITY)
+              : Cache.boundedByFrequency(CAPACITY);
+
+      Random random = new Random(42);
+      double[] cumulative = zipfianDistribution(DISTINCT_KEYS, 0.99);
+      zipfianKeys = new Integer[TRACE_LENGTH];
+      for (int i = 0; i < TRACE_LENGTH; i++) {
+        zipfianKeys[i] = zipfianKey(cumulative, random);
+      }
+
+      // zipfian accesses interrupted by scans of keys that are never seen again, like ad-hoc
+      // queries or unique urls
+      scanKeys = new Integer[TRACE_LENGTH];
+      int unique = DISTINCT_KEYS;
+      for (int i = 0; i < TRACE_LENGTH; i++) {
+        scanKeys[i] = (i / 2_000) % 2 == 0 ? zipfianKey(cumulative, random) : unique++;
+      }
+    }
+
+    int access(Integer[] keys, HitRateCounters counters) {
+      Integer key = keys[counters.next()];
+      Integer value = cache.get(key);
+      if (value != null) {
+        counters.hits++;
+        return value;
+      }
+      counters.misses++;
+      return cache.computeIfAbsent(key, Function.identity());
+    }
+
+    private static double[] zipfianDistribution(int size, double skew) {
+      double[] cumulative = new double[size];
+      double sum = 0;
+      for (int i = 0; i < size; i++) {
+        sum += 1 / Math.pow(i + 1, skew);
+        cumulative[i] = sum;
+      }
+      for (int i = 0; i < size; i++) {
+        cumulative[i] /= sum;
+      }
+      return cumulative;
+    }
+
+    private static Integer zipfianKey(double[] cumulative, Random random) {
+      int index = Arrays.binarySearch(cumulative, random.nextDouble());
+      return index >= 0 ? index : Math.min(-index - 1, cumulative.length - 1);
+    }
+  }
+
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class HitRateCounters {
+    public long hits;
+    public long misses;
+    private int position = new Random().nextInt(HitRateState.TRACE_LENGTH);
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      hits = 0;
+      misses = 0;
+    }
+
+    int next() {
+      position = (position + 1) & (HitRateState.TRACE_LENGTH - 1);
+      return position;
+    }
+  }
 }
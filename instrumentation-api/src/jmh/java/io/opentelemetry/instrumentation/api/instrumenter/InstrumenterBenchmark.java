@@ -6,6 +6,7 @@
 package io.opentelemetry.instrumentation.api.instrumenter;
 
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.Attributes;
 import io.opentelemetry.context.Context;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesExtractor;
 import io.opentelemetry.instrumentation.api.semconv.http.HttpClientAttributesGetter;
@@ -44,6 +45,21 @@ public class InstrumenterBenchmark {
               HttpClientAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
           .buildInstrumenter();
 
+  // operation listeners may retain the attributes they are given, so this instrumenter cannot use
+  // the reusable attributes and shows the cost of the allocating path
+  private static final Instrumenter<Object, Void> INSTRUMENTER_WITH_OPERATION_LISTENER =
+      Instrumenter.<Object, Void>builder(
+              OpenTelemetry.noop(),
+              "benchmark",
+              HttpSpanNameExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+          .addAttributesExtractor(
+              HttpClientAttributesExtractor.create(ConstantHttpAttributesGetter.INSTANCE))
+          .addOperationListener(NoopOperationListener.INSTANCE)
+          .buildInstrumenter();
+
+  // compare gc.alloc.rate.norm of the benchmarks below, the gc profiler is enabled by the jmh
+  // conventions plugin
+
   @Benchmark
   public Context start() {
     return INSTRUMENTER.start(Context.root(), REQUEST);
@@ -56,6 +72,25 @@ public class InstrumenterBenchmark {
     return context;
   }
 
+  @Benchmark
+  public Context startEndWithOperationListener() {
+    Context context = INSTRUMENTER_WITH_OPERATION_LISTENER.start(Context.root(), REQUEST);
+    INSTRUMENTER_WITH_OPERATION_LISTENER.end(context, REQUEST, null, null);
+    return context;
+  }
+
+  enum NoopOperationListener implements OperationListener {
+    INSTANCE;
+
+    @Override
+    public Context onStart(Context context, Attributes startAttributes, long startNanos) {
+      return context;
+    }
+
+    @Override
+    public void onEnd(Context context, Attributes endAttributes, long endNanos) {}
+  }
+
   enum ConstantHttpAttributesGetter implements HttpClientAttributesGetter<Object, Void> {
     INSTANCE;
 
@@ -0,0 +1,115 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.util;
+
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
+import java.util.concurrent.TimeUnit;
+import javax.annotation.Nullable;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+// measures VirtualFields that could not be implemented as a real field, e.g. the ones for
+// Runnables that were loaded before the agent, while the field is set on many live tasks like in
+// a busy executor. Run with -prof gc to compare the allocations per set.
+@Fork(3)
+@Warmup(iterations = 10, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Threads(4)
+public class VirtualFieldBenchmark {
+
+  private static final int LIVE_TASKS = 100_000;
+
+  @Benchmark
+  public Object get(FieldState field, TaskState tasks) {
+    return field.virtualField.get(tasks.next());
+  }
+
+  @Benchmark
+  public Object setAndRemove(FieldState field) {
+    // a task that is submitted and then run
+    Runnable task = new Task();
+    field.virtualField.set(task, field);
+    Object value = field.virtualField.get(task);
+    field.virtualField.set(task, null);
+    return value;
+  }
+
+  @State(Scope.Benchmark)
+  public static class FieldState {
+    @Param({"weak", "compactWeak"})
+    public String cacheType;
+
+    VirtualField<Runnable, Object> virtualField;
+    Runnable[] liveTasks;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+      // the same as the fallback VirtualField implementations, with a configurable cache
+      virtualField =
+          new CacheBasedVirtualField<>(
+              cacheType.equals("weak") ? Cache.weak() : Cache.compactWeak());
+      liveTasks = new Runnable[LIVE_TASKS];
+      for (int i = 0; i < LIVE_TASKS; i++) {
+        liveTasks[i] = new Task();
+        virtualField.set(liveTasks[i], this);
+      }
+    }
+  }
+
+  @State(Scope.Thread)
+  public static class TaskState {
+    private Runnable[] liveTasks;
+    private int position;
+
+    @Setup(Level.Trial)
+    public void setUp(FieldState field) {
+      liveTasks = field.liveTasks;
+    }
+
+    Runnable next() {
+      position = position + 1 == liveTasks.length ? 0 : position + 1;
+      return liveTasks[position];
+    }
+  }
+
+  private static class Task implements Runnable {
+    @Override
+    public void run() {}
+  }
+
+  private static class CacheBasedVirtualField<T, F> extends VirtualField<T, F> {
+    private final Cache<T, F> cache;
+
+    CacheBasedVirtualField(Cache<T, F> cache) {
+      this.cache = cache;
+    }
+
+    @Override
+    @Nullable
+    public F get(T object) {
+      return cache.get(object);
+    }
+
+    @Override
+    public void set(T object, @Nullable F fieldValue) {
+      if (fieldValue == null) {
+        cache.remove(object);
+      } else {
+        cache.put(object, fieldValue);
+      }
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.context.Context;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+
+/**
+ * The {@link AttributesExtractor}s of an {@link Instrumenter}, prepared once when the instrumenter
+ * is built.
+ *
+ * <p>The leading run of {@link ConstantAttributesExtractor}s is folded into plain key and value
+ * arrays that are copied into the attributes before the remaining extractors run, which keeps the
+ * same "last put wins" ordering as calling every extractor in turn. Constant extractors do nothing
+ * in {@code onEnd()}, so they are left out of the end stage entirely.
+ */
+final class AttributesExtractorPipeline<REQUEST, RESPONSE> {
+
+  private final AttributeKey<?>[] constantKeys;
+  private final Object[] constantValues;
+  private final AttributesExtractor<? super REQUEST, ? super RESPONSE>[] startExtractors;
+  private final AttributesExtractor<? super REQUEST, ? super RESPONSE>[] endExtractors;
+
+  // to allow converting generic lists to arrays with toArray
+  @SuppressWarnings({"rawtypes", "unchecked"})
+  AttributesExtractorPipeline(
+      List<? extends AttributesExtractor<? super REQUEST, ? super RESPONSE>> extractors) {
+    List<AttributeKey<?>> constantKeys = new ArrayList<>();
+    List<Object> constantValues = new ArrayList<>();
+    List<AttributesExtractor<? super REQUEST, ? super RESPONSE>> startExtractors =
+        new ArrayList<>();
+    List<AttributesExtractor<? super REQUEST, ? super RESPONSE>> endExtractors =
+        new ArrayList<>();
+
+    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : extractors) {
+      if (extractor instanceof ConstantAttributesExtractor) {
+        if (startExtractors.isEmpty()) {
+          ConstantAttributesExtractor<?, ?, ?> constant =
+              (ConstantAttributesExtractor<?, ?, ?>) extractor;
+          constantKeys.add(constant.getAttributeKey());
+          constantValues.add(constant.getAttributeValue());
+        } else {
+          startExtractors.add(extractor);
+        }
+      } else {
+        startExtractors.add(extractor);
+        endExtractors.add(extractor);
+      }
+    }
+
+    this.constantKeys = constantKeys.toArray(new AttributeKey[0]);
+    this.constantValues = constantValues.toArray();
+    this.startExtractors = startExtractors.toArray(new AttributesExtractor[0]);
+    this.endExtractors = endExtractors.toArray(new AttributesExtractor[0]);
+  }
+
+  boolean isEmpty() {
+    // the end extractors are a subset of the start extractors
+    return constantKeys.length == 0 && startExtractors.length == 0;
+  }
+
+  void onStart(UnsafeAttributes attributes, Context parentContext, REQUEST request) {
+    if (constantKeys.length != 0) {
+      attributes.putAll(constantKeys, constantValues);
+    }
+    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : startExtractors) {
+      extractor.onStart(attributes, parentContext, request);
+    }
+  }
+
+  void onEnd(
+      UnsafeAttributes attributes,
+      Context context,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error) {
+    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : endExtractors) {
+      extractor.onEnd(attributes, context, request, response, error);
+    }
+  }
+}
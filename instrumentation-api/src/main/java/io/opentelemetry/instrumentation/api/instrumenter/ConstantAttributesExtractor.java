@@ -21,6 +21,14 @@ final class ConstantAttributesExtractor<REQUEST, RESPONSE, T>
     this.attributeValue = attributeValue;
   }
 
+  AttributeKey<T> getAttributeKey() {
+    return attributeKey;
+  }
+
+  T getAttributeValue() {
+    return attributeValue;
+  }
+
   @Override
   public void onStart(AttributesBuilder attributes, Context parentContext, REQUEST request) {
     attributes.put(attributeKey, attributeValue);
@@ -69,16 +69,16 @@ public class Instrumenter<REQUEST, RESPONSE> {
 
   private static final SupportabilityMetrics supportability = SupportabilityMetrics.instance();
 
-  private final String instrumentationName;
+  private final SupportabilityMetrics.SuppressedSpansCounter suppressedSpansCounter;
   private final Tracer tracer;
   private final SpanNameExtractor<? super REQUEST> spanNameExtractor;
   private final SpanKindExtractor<? super REQUEST> spanKindExtractor;
   private final SpanStatusExtractor<? super REQUEST, ? super RESPONSE> spanStatusExtractor;
   private final SpanLinksExtractor<? super REQUEST>[] spanLinksExtractors;
-  private final AttributesExtractor<? super REQUEST, ? super RESPONSE>[] attributesExtractors;
+  private final AttributesExtractorPipeline<REQUEST, RESPONSE> attributesExtractors;
   private final ContextCustomizer<? super REQUEST>[] contextCustomizers;
   private final OperationListener[] operationListeners;
-  private final AttributesExtractor<? super REQUEST, ? super RESPONSE>[]
+  private final AttributesExtractorPipeline<REQUEST, RESPONSE>
       operationListenerAttributesExtractors;
   private final ErrorCauseExtractor errorCauseExtractor;
   private final boolean propagateOperationListenersToOnEnd;
@@ -88,17 +88,18 @@ public class Instrumenter<REQUEST, RESPONSE> {
   // to allow converting generic lists to arrays with toArray
   @SuppressWarnings({"rawtypes", "unchecked"})
   Instrumenter(InstrumenterBuilder<REQUEST, RESPONSE> builder) {
-    this.instrumentationName = builder.instrumentationName;
+    this.suppressedSpansCounter =
+        supportability.suppressedSpansCounter(builder.instrumentationName);
     this.tracer = builder.buildTracer();
     this.spanNameExtractor = builder.spanNameExtractor;
     this.spanKindExtractor = builder.spanKindExtractor;
     this.spanStatusExtractor = builder.spanStatusExtractor;
     this.spanLinksExtractors = builder.spanLinksExtractors.toArray(new SpanLinksExtractor[0]);
-    this.attributesExtractors = builder.attributesExtractors.toArray(new AttributesExtractor[0]);
+    this.attributesExtractors = new AttributesExtractorPipeline<>(builder.attributesExtractors);
     this.contextCustomizers = builder.contextCustomizers.toArray(new ContextCustomizer[0]);
     this.operationListeners = builder.buildOperationListeners().toArray(new OperationListener[0]);
     this.operationListenerAttributesExtractors =
-        builder.operationListenerAttributesExtractors.toArray(new AttributesExtractor[0]);
+        new AttributesExtractorPipeline<>(builder.operationListenerAttributesExtractors);
     this.errorCauseExtractor = builder.errorCauseExtractor;
     this.propagateOperationListenersToOnEnd = builder.propagateOperationListenersToOnEnd;
     this.enabled = builder.enabled;
@@ -123,7 +124,7 @@ public class Instrumenter<REQUEST, RESPONSE> {
     boolean suppressed = spanSuppressor.shouldSuppress(parentContext, spanKind);
 
     if (suppressed) {
-      supportability.recordSuppressedSpan(spanKind, instrumentationName);
+      suppressedSpansCounter.increment(spanKind);
     }
     return !suppressed;
   }
@@ -178,6 +179,26 @@ public class Instrumenter<REQUEST, RESPONSE> {
   }
 
   private Context doStartImpl(Context parentContext, REQUEST request, @Nullable Instant startTime) {
+    // start attributes are handed to context customizers and operation listeners, which are free
+    // to hold on to them, so they can only come from the scratch buffer when there are neither
+    InstrumenterScratch scratch =
+        contextCustomizers.length == 0 && operationListeners.length == 0
+            ? InstrumenterScratch.acquire()
+            : null;
+    try {
+      return doStartImpl(parentContext, request, startTime, scratch);
+    } finally {
+      if (scratch != null) {
+        scratch.release();
+      }
+    }
+  }
+
+  private Context doStartImpl(
+      Context parentContext,
+      REQUEST request,
+      @Nullable Instant startTime,
+      @Nullable InstrumenterScratch scratch) {
     SpanKind spanKind = spanKindExtractor.extract(request);
     SpanBuilder spanBuilder =
         tracer.spanBuilder(spanNameExtractor.extract(request)).setSpanKind(spanKind);
@@ -186,15 +207,15 @@ public class Instrumenter<REQUEST, RESPONSE> {
       spanBuilder.setStartTimestamp(startTime);
     }
 
-    SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
-    for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
-      spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+    if (spanLinksExtractors.length != 0) {
+      SpanLinksBuilder spanLinksBuilder = new SpanLinksBuilderImpl(spanBuilder);
+      for (SpanLinksExtractor<? super REQUEST> spanLinksExtractor : spanLinksExtractors) {
+        spanLinksExtractor.extract(spanLinksBuilder, parentContext, request);
+      }
     }
 
-    UnsafeAttributes attributes = new UnsafeAttributes();
-    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
-      extractor.onStart(attributes, parentContext, request);
-    }
+    UnsafeAttributes attributes = scratch != null ? scratch.attributes() : new UnsafeAttributes();
+    attributesExtractors.onStart(attributes, parentContext, request);
 
     Context context = parentContext;
 
@@ -212,13 +233,12 @@ public class Instrumenter<REQUEST, RESPONSE> {
     context = context.with(span);
 
     if (operationListeners.length != 0) {
-      if (operationListenerAttributesExtractors.length != 0) {
+      if (!operationListenerAttributesExtractors.isEmpty()) {
+        // context customizers may have kept the attributes, so the operation listener only
+        // attributes are added to a copy
         UnsafeAttributes operationAttributes = new UnsafeAttributes();
         operationAttributes.putAll(attributes.asMap());
-        for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
-            operationListenerAttributesExtractors) {
-          extractor.onStart(operationAttributes, parentContext, request);
-        }
+        operationListenerAttributesExtractors.onStart(operationAttributes, parentContext, request);
         attributes = operationAttributes;
       }
 
@@ -255,6 +275,29 @@ public class Instrumenter<REQUEST, RESPONSE> {
       @Nullable RESPONSE response,
       @Nullable Throwable error,
       @Nullable Instant endTime) {
+    OperationListener[] operationListeners = context.get(START_OPERATION_LISTENERS);
+    if (operationListeners == null) {
+      operationListeners = this.operationListeners;
+    }
+
+    InstrumenterScratch scratch = InstrumenterScratch.acquire();
+    try {
+      doEnd(context, request, response, error, endTime, operationListeners, scratch);
+    } finally {
+      if (scratch != null) {
+        scratch.release();
+      }
+    }
+  }
+
+  private void doEnd(
+      Context context,
+      REQUEST request,
+      @Nullable RESPONSE response,
+      @Nullable Throwable error,
+      @Nullable Instant endTime,
+      OperationListener[] operationListeners,
+      @Nullable InstrumenterScratch scratch) {
     Span span = Span.fromContext(context);
 
     if (error != null) {
@@ -262,24 +305,21 @@ public class Instrumenter<REQUEST, RESPONSE> {
       span.recordException(error);
     }
 
-    UnsafeAttributes attributes = new UnsafeAttributes();
-    for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor : attributesExtractors) {
-      extractor.onEnd(attributes, context, request, response, error);
-    }
+    // end attributes are handed to operation listeners, which are free to hold on to them, so they
+    // can only come from the scratch buffer when there are none
+    UnsafeAttributes attributes =
+        scratch != null && operationListeners.length == 0
+            ? scratch.attributes()
+            : new UnsafeAttributes();
+    attributesExtractors.onEnd(attributes, context, request, response, error);
     span.setAllAttributes(attributes);
 
-    OperationListener[] operationListeners = context.get(START_OPERATION_LISTENERS);
-    if (operationListeners == null) {
-      operationListeners = this.operationListeners;
-    }
     if (operationListeners.length != 0) {
-      if (operationListenerAttributesExtractors.length != 0) {
+      if (!operationListenerAttributesExtractors.isEmpty()) {
         UnsafeAttributes operationAttributes = new UnsafeAttributes();
         operationAttributes.putAll(attributes.asMap());
-        for (AttributesExtractor<? super REQUEST, ? super RESPONSE> extractor :
-            operationListenerAttributesExtractors) {
-          extractor.onEnd(operationAttributes, context, request, response, error);
-        }
+        operationListenerAttributesExtractors.onEnd(
+            operationAttributes, context, request, response, error);
         attributes = operationAttributes;
       }
 
@@ -289,7 +329,8 @@ public class Instrumenter<REQUEST, RESPONSE> {
       }
     }
 
-    SpanStatusBuilder spanStatusBuilder = new SpanStatusBuilderImpl(span);
+    SpanStatusBuilder spanStatusBuilder =
+        scratch != null ? scratch.spanStatusBuilder(span) : new SpanStatusBuilderImpl(span);
     spanStatusExtractor.extract(spanStatusBuilder, request, response, error);
 
     if (endTime != null) {
@@ -0,0 +1,121 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.instrumenter;
+
+import io.opentelemetry.api.trace.Span;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import javax.annotation.Nullable;
+
+/**
+ * Per-thread scratch objects reused by the {@link Instrumenter} start and end paths. Only objects
+ * that are guaranteed not to escape the current call are taken from here: attributes that are
+ * handed to operation listeners or context customizers may be retained by them and are always
+ * freshly allocated.
+ *
+ * <p>Scratch objects are never handed out to virtual threads, where a {@link ThreadLocal} would
+ * cost more than the allocation it saves, and are never handed out twice on the same thread, so
+ * that nested instrumented calls made from extractors fall back to allocating.
+ *
+ * <p>A thread local value keeps the class loader of its class alive for as long as the thread
+ * lives. Scratch objects are therefore only used when this class is loaded by the bootstrap or the
+ * system class loader, and not e.g. by the class loader of a web application that uses a library
+ * instrumentation, which could then not be unloaded after the application is undeployed.
+ */
+final class InstrumenterScratch {
+
+  // attribute maps that grew larger than this are not kept around, clearing a large HashMap
+  // table on every call would cost more than allocating a fresh map
+  private static final int MAX_RETAINED_ATTRIBUTES = 64;
+
+  private static final boolean ENABLED = isLoadedByBootstrapOrSystemClassLoader();
+
+  private static final ThreadLocal<InstrumenterScratch> CURRENT = new ThreadLocal<>();
+
+  @Nullable private static final MethodHandle IS_VIRTUAL = findIsVirtual();
+
+  private UnsafeAttributes attributes = new UnsafeAttributes();
+  private final SpanStatusBuilderImpl spanStatusBuilder =
+      new SpanStatusBuilderImpl(Span.getInvalid());
+  private boolean inUse;
+
+  private InstrumenterScratch() {}
+
+  /**
+   * Returns the scratch objects of the current thread, or {@code null} if they are already in use
+   * or should not be used on this thread. Every non-null result must be passed to {@link
+   * #release()}.
+   */
+  @Nullable
+  static InstrumenterScratch acquire() {
+    if (!ENABLED || isVirtualThread()) {
+      return null;
+    }
+    InstrumenterScratch scratch = CURRENT.get();
+    if (scratch == null) {
+      scratch = new InstrumenterScratch();
+      CURRENT.set(scratch);
+    } else if (scratch.inUse) {
+      return null;
+    }
+    scratch.inUse = true;
+    return scratch;
+  }
+
+  UnsafeAttributes attributes() {
+    return attributes;
+  }
+
+  SpanStatusBuilderImpl spanStatusBuilder(Span span) {
+    spanStatusBuilder.setSpan(span);
+    return spanStatusBuilder;
+  }
+
+  void release() {
+    if (attributes.size() > MAX_RETAINED_ATTRIBUTES) {
+      attributes = new UnsafeAttributes();
+    } else {
+      attributes.clear();
+    }
+    spanStatusBuilder.setSpan(Span.getInvalid());
+    inUse = false;
+  }
+
+  private static boolean isLoadedByBootstrapOrSystemClassLoader() {
+    ClassLoader classLoader = InstrumenterScratch.class.getClassLoader();
+    if (classLoader == null) {
+      return true;
+    }
+    try {
+      return classLoader == ClassLoader.getSystemClassLoader();
+    } catch (SecurityException e) {
+      return false;
+    }
+  }
+
+  private static boolean isVirtualThread() {
+    if (IS_VIRTUAL == null) {
+      return false;
+    }
+    try {
+      return (boolean) IS_VIRTUAL.invokeExact(Thread.currentThread());
+    } catch (Throwable e) {
+      return false;
+    }
+  }
+
+  @Nullable
+  private static MethodHandle findIsVirtual() {
+    try {
+      return MethodHandles.publicLookup()
+          .findVirtual(Thread.class, "isVirtual", MethodType.methodType(boolean.class));
+    } catch (NoSuchMethodException | IllegalAccessException e) {
+      // running on java < 21
+      return null;
+    }
+  }
+}
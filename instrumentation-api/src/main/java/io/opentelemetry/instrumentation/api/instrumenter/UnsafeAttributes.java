@@ -76,6 +76,14 @@ final class UnsafeAttributes extends HashMap<AttributeKey<?>, Object>
     return this;
   }
 
+  // used for the constant attributes folded when the Instrumenter is built, the values are known to
+  // match their keys
+  void putAll(AttributeKey<?>[] keys, Object[] values) {
+    for (int i = 0; i < keys.length; i++) {
+      super.put(keys[i], values[i]);
+    }
+  }
+
   @Override
   public void forEach(BiConsumer<? super AttributeKey<?>, ? super Object> action) {
     // https://github.com/open-telemetry/opentelemetry-java/issues/4161
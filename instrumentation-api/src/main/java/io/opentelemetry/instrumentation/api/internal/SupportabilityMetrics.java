@@ -5,6 +5,10 @@
 
 package io.opentelemetry.instrumentation.api.internal;
 
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
 import io.opentelemetry.api.trace.SpanKind;
 import java.security.PrivilegedAction;
 import java.util.concurrent.ConcurrentHashMap;
@@ -12,7 +16,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 import java.util.logging.Logger;
 
@@ -22,15 +26,27 @@ import java.util.logging.Logger;
  */
 public final class SupportabilityMetrics {
   private static final Logger logger = Logger.getLogger(SupportabilityMetrics.class.getName());
+
+  private static final AttributeKey<String> INSTRUMENTATION_NAME =
+      AttributeKey.stringKey("instrumentation.name");
+  private static final AttributeKey<String> SPAN_KIND = AttributeKey.stringKey("span.kind");
+  private static final AttributeKey<String> COUNTER_NAME = AttributeKey.stringKey("counter.name");
+
   private final boolean agentDebugEnabled;
+  private final boolean metricsEnabled;
+  private final boolean enabled;
   private final Consumer<String> reporter;
 
-  private final ConcurrentMap<String, KindCounters> suppressionCounters = new ConcurrentHashMap<>();
-  private final ConcurrentMap<String, AtomicLong> counters = new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, SuppressedSpansCounter> suppressionCounters =
+      new ConcurrentHashMap<>();
+  private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
 
   private static final SupportabilityMetrics INSTANCE =
       new SupportabilityMetrics(
-              ConfigPropertiesUtil.getBoolean("otel.javaagent.debug", false), logger::fine)
+              ConfigPropertiesUtil.getBoolean("otel.javaagent.debug", false),
+              ConfigPropertiesUtil.getBoolean(
+                  "otel.javaagent.experimental.supportability-metrics.enabled", false),
+              logger::fine)
           .start();
 
   public static SupportabilityMetrics instance() {
@@ -39,26 +55,100 @@ public final class SupportabilityMetrics {
 
   // visible for testing
   SupportabilityMetrics(boolean agentDebugEnabled, Consumer<String> reporter) {
+    this(agentDebugEnabled, false, reporter);
+  }
+
+  // visible for testing
+  SupportabilityMetrics(
+      boolean agentDebugEnabled, boolean metricsEnabled, Consumer<String> reporter) {
     this.agentDebugEnabled = agentDebugEnabled;
+    this.metricsEnabled = metricsEnabled;
+    this.enabled = agentDebugEnabled || metricsEnabled;
     this.reporter = reporter;
   }
 
+  /**
+   * Returns the suppressed spans counter for the given instrumentation. Callers on hot paths should
+   * look the counter up once and keep it, instead of calling {@link #recordSuppressedSpan(SpanKind,
+   * String)}.
+   */
+  public SuppressedSpansCounter suppressedSpansCounter(String instrumentationName) {
+    if (!enabled) {
+      return SuppressedSpansCounter.DISABLED;
+    }
+    return suppressionCounters.computeIfAbsent(
+        instrumentationName, s -> new SuppressedSpansCounter(true));
+  }
+
+  /**
+   * Returns the counter with the given name. Callers on hot paths should look the counter up once
+   * and keep it, instead of calling {@link #incrementCounter(String)}.
+   */
+  public Counter counter(String counterName) {
+    if (!enabled) {
+      return Counter.DISABLED;
+    }
+    return counters.computeIfAbsent(counterName, k -> new Counter(true));
+  }
+
   public void recordSuppressedSpan(SpanKind kind, String instrumentationName) {
-    if (!agentDebugEnabled) {
+    if (!enabled) {
       return;
     }
 
-    suppressionCounters
-        .computeIfAbsent(instrumentationName, s -> new KindCounters())
-        .increment(kind);
+    suppressedSpansCounter(instrumentationName).increment(kind);
   }
 
   public void incrementCounter(String counterName) {
-    if (!agentDebugEnabled) {
+    if (!enabled) {
+      return;
+    }
+
+    counter(counterName).increment();
+  }
+
+  /**
+   * Exposes the counters as {@code otel.javaagent.supportability.*} metrics of the given {@link
+   * OpenTelemetry} instance. Does nothing unless {@code
+   * otel.javaagent.experimental.supportability-metrics.enabled} is set.
+   */
+  public void registerMetrics(OpenTelemetry openTelemetry) {
+    if (!metricsEnabled) {
       return;
     }
 
-    counters.computeIfAbsent(counterName, k -> new AtomicLong()).incrementAndGet();
+    Meter meter = openTelemetry.getMeter("io.opentelemetry.javaagent.supportability");
+    meter
+        .counterBuilder("otel.javaagent.supportability.suppressed_spans")
+        .setDescription("The number of spans that were suppressed by an instrumentation.")
+        .setUnit("{span}")
+        .buildWithCallback(
+            measurement ->
+                suppressionCounters.forEach(
+                    (instrumentationName, counter) -> {
+                      for (SpanKind kind : SpanKind.values()) {
+                        long value = counter.get(kind);
+                        if (value > 0) {
+                          measurement.record(
+                              value,
+                              Attributes.of(
+                                  INSTRUMENTATION_NAME,
+                                  instrumentationName,
+                                  SPAN_KIND,
+                                  kind.name()));
+                        }
+                      }
+                    }));
+    meter
+        .counterBuilder("otel.javaagent.supportability.counter")
+        .setDescription("Internal agent events, such as cache misses.")
+        .setUnit("{event}")
+        .buildWithCallback(
+            measurement ->
+                counters.forEach(
+                    (counterName, counter) ->
+                        measurement.record(
+                            counter.get(), Attributes.of(COUNTER_NAME, counterName))));
   }
 
   // visible for testing
@@ -66,7 +156,7 @@ public final class SupportabilityMetrics {
     suppressionCounters.forEach(
         (instrumentationName, countsByKind) -> {
           for (SpanKind kind : SpanKind.values()) {
-            long value = countsByKind.getAndReset(kind);
+            long value = countsByKind.getSinceLastReport(kind);
             if (value > 0) {
               reporter.accept(
                   "Suppressed Spans by '" + instrumentationName + "' (" + kind + ") : " + value);
@@ -75,7 +165,7 @@ public final class SupportabilityMetrics {
         });
     counters.forEach(
         (counterName, counter) -> {
-          long value = counter.getAndSet(0);
+          long value = counter.getSinceLastReport();
           if (value > 0) {
             reporter.accept("Counter '" + counterName + "' : " + value);
           }
@@ -124,52 +214,83 @@ public final class SupportabilityMetrics {
   public static final class CounterNames {
     public static final String SQL_STATEMENT_SANITIZER_CACHE_MISS =
         "SqlStatementSanitizer cache miss";
+    public static final String CLASS_LOADER_MATCHER_RESOURCE_LOOKUP =
+        "ClassLoaderMatcher resource lookup";
+    public static final String CLASS_LOADER_MATCHER_CACHED_RESOURCE_LOOKUP =
+        "ClassLoaderMatcher cached resource lookup";
 
     private CounterNames() {}
   }
 
-  // this class is threadsafe.
-  private static class KindCounters {
-    private final AtomicLong server = new AtomicLong();
-    private final AtomicLong client = new AtomicLong();
-    private final AtomicLong internal = new AtomicLong();
-    private final AtomicLong consumer = new AtomicLong();
-    private final AtomicLong producer = new AtomicLong();
-
-    void increment(SpanKind kind) {
-      switch (kind) {
-        case INTERNAL:
-          internal.incrementAndGet();
-          break;
-        case SERVER:
-          server.incrementAndGet();
-          break;
-        case CLIENT:
-          client.incrementAndGet();
-          break;
-        case PRODUCER:
-          producer.incrementAndGet();
-          break;
-        case CONSUMER:
-          consumer.incrementAndGet();
-          break;
+  /**
+   * A striped counter handle. This class is internal and is hence not for public use. Its APIs are
+   * unstable and can change at any time.
+   */
+  public static final class Counter {
+    private static final Counter DISABLED = new Counter(false);
+
+    private final boolean enabled;
+    private final LongAdder count = new LongAdder();
+    // only accessed from the reporter thread
+    private long lastReported;
+
+    private Counter(boolean enabled) {
+      this.enabled = enabled;
+    }
+
+    public void increment() {
+      if (enabled) {
+        count.increment();
+      }
+    }
+
+    long get() {
+      return count.sum();
+    }
+
+    long getSinceLastReport() {
+      long value = count.sum();
+      long result = value - lastReported;
+      lastReported = value;
+      return result;
+    }
+  }
+
+  /**
+   * Striped suppressed span counters of a single instrumentation, one per {@link SpanKind}. This
+   * class is internal and is hence not for public use. Its APIs are unstable and can change at any
+   * time.
+   */
+  public static final class SuppressedSpansCounter {
+    private static final SuppressedSpansCounter DISABLED = new SuppressedSpansCounter(false);
+
+    private final boolean enabled;
+    private final LongAdder[] counts = new LongAdder[SpanKind.values().length];
+    // only accessed from the reporter thread
+    private final long[] lastReported = new long[SpanKind.values().length];
+
+    private SuppressedSpansCounter(boolean enabled) {
+      this.enabled = enabled;
+      for (int i = 0; i < counts.length; i++) {
+        counts[i] = new LongAdder();
       }
     }
 
-    long getAndReset(SpanKind kind) {
-      switch (kind) {
-        case INTERNAL:
-          return internal.getAndSet(0);
-        case SERVER:
-          return server.getAndSet(0);
-        case CLIENT:
-          return client.getAndSet(0);
-        case PRODUCER:
-          return producer.getAndSet(0);
-        case CONSUMER:
-          return consumer.getAndSet(0);
+    public void increment(SpanKind kind) {
+      if (enabled) {
+        counts[kind.ordinal()].increment();
       }
-      return 0;
+    }
+
+    long get(SpanKind kind) {
+      return counts[kind.ordinal()].sum();
+    }
+
+    long getSinceLastReport(SpanKind kind) {
+      long value = counts[kind.ordinal()].sum();
+      long result = value - lastReported[kind.ordinal()];
+      lastReported[kind.ordinal()] = value;
+      return result;
     }
   }
 }
@@ -7,6 +7,7 @@ package io.opentelemetry.instrumentation.api.internal.cache;
 
 import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
 import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
 import javax.annotation.Nullable;
 
 /**
@@ -27,6 +28,35 @@ public interface Cache<K, V> {
     return new WeakLockFreeCache<>();
   }
 
+  /**
+   * Returns new unbounded cache whose statistics are recorded under the given {@code name}, see
+   * {@link CacheStatistics}.
+   *
+   * <p>Keys are referenced weakly and compared using identity comparison, not {@link
+   * Object#equals(Object)}.
+   */
+  static <K, V> Cache<K, V> weak(String name) {
+    StatsCounter stats = CacheStatistics.newStatsCounter();
+    if (stats == null) {
+      return weak();
+    }
+    WeakLockFreeCache<K, V> cache = new WeakLockFreeCache<>(stats);
+    CacheStatistics.register(name, stats, cache, WeakLockFreeCache::size);
+    return cache;
+  }
+
+  /**
+   * Returns new unbounded cache that needs less memory per entry than {@link #weak()}, at the cost
+   * of locking on writes. Prefer this for caches that can grow to many entries, such as the
+   * storage of {@code VirtualField}s that could not be implemented as a real field.
+   *
+   * <p>Keys are referenced weakly and compared using identity comparison, not {@link
+   * Object#equals(Object)}.
+   */
+  static <K, V> Cache<K, V> compactWeak() {
+    return new CompactWeakCache<>();
+  }
+
   /**
    * Returns new bounded cache.
    *
@@ -38,6 +68,103 @@ public interface Cache<K, V> {
     return new MapBackedCache<>(map);
   }
 
+  /**
+   * Returns new bounded cache that evicts the least recently used entries once the total weight of
+   * the cached entries, as computed by the {@code weigher}, exceeds {@code maximumWeight}. The
+   * weigher must return at least {@code 1} for every entry.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> Cache<K, V> bounded(
+      long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+    ConcurrentLinkedHashMap<K, V> map =
+        new ConcurrentLinkedHashMap.Builder<K, V>()
+            .maximumWeightedCapacity(maximumWeight)
+            .weigher(weigher::applyAsInt)
+            .build();
+    return new MapBackedCache<>(map);
+  }
+
+  /**
+   * Returns new bounded cache whose statistics are recorded under the given {@code name}, see
+   * {@link CacheStatistics}.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> Cache<K, V> bounded(String name, int capacity) {
+    StatsCounter stats = CacheStatistics.newStatsCounter();
+    if (stats == null) {
+      return bounded(capacity);
+    }
+    ConcurrentLinkedHashMap<K, V> map =
+        new ConcurrentLinkedHashMap.Builder<K, V>()
+            .maximumWeightedCapacity(capacity)
+            .listener(stats.evictionListener())
+            .build();
+    MapBackedCache<K, V> cache = new MapBackedCache<>(map, stats);
+    CacheStatistics.register(name, stats, cache, MapBackedCache::size);
+    return cache;
+  }
+
+  /**
+   * Returns new bounded cache whose capacity can be changed later, and whose statistics are
+   * recorded under the given {@code name}, see {@link CacheStatistics}.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> ResizableCache<K, V> resizable(String name, int capacity) {
+    StatsCounter stats = CacheStatistics.newStatsCounter();
+    ConcurrentLinkedHashMap.Builder<K, V> builder =
+        new ConcurrentLinkedHashMap.Builder<K, V>().maximumWeightedCapacity(capacity);
+    if (stats != null) {
+      builder.listener(stats.evictionListener());
+    }
+    ResizableMapBackedCache<K, V> cache = new ResizableMapBackedCache<>(builder.build(), stats);
+    if (stats != null) {
+      CacheStatistics.register(name, stats, cache, ResizableMapBackedCache::size);
+    }
+    return cache;
+  }
+
+  /**
+   * Returns new bounded cache that uses frequency based admission instead of plain LRU eviction.
+   * Prefer this over {@link #bounded(int)} for caches whose keys include a long tail of values that
+   * are seen only once, such as SQL statements or URLs, since a scan of those keys will not evict
+   * the frequently used entries.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> Cache<K, V> boundedByFrequency(int capacity) {
+    return new TinyLfuCache<>(capacity, (key, value) -> 1, null);
+  }
+
+  /**
+   * Returns new bounded cache that uses frequency based admission instead of plain LRU eviction,
+   * and whose statistics are recorded under the given {@code name}, see {@link CacheStatistics}.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> Cache<K, V> boundedByFrequency(String name, int capacity) {
+    StatsCounter stats = CacheStatistics.newStatsCounter();
+    TinyLfuCache<K, V> cache = new TinyLfuCache<>(capacity, (key, value) -> 1, stats);
+    if (stats != null) {
+      CacheStatistics.register(name, stats, cache, TinyLfuCache::size);
+    }
+    return cache;
+  }
+
+  /**
+   * Returns new bounded cache that uses frequency based admission instead of plain LRU eviction,
+   * and evicts entries once the total weight of the cached entries, as computed by the {@code
+   * weigher}, exceeds {@code maximumWeight}.
+   *
+   * <p>Both keys and values are strongly referenced.
+   */
+  static <K, V> Cache<K, V> boundedByFrequency(
+      long maximumWeight, ToIntBiFunction<? super K, ? super V> weigher) {
+    return new TinyLfuCache<>(maximumWeight, weigher, null);
+  }
+
   /**
    * Returns the cached value associated with the provided {@code key}. If no value is cached yet,
    * computes the value using {@code mappingFunction}, stores the result, and returns it.
@@ -0,0 +1,137 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.common.Attributes;
+import io.opentelemetry.api.metrics.Meter;
+import io.opentelemetry.api.metrics.ObservableLongMeasurement;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import java.lang.ref.WeakReference;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.ToIntFunction;
+import java.util.function.ToLongFunction;
+import javax.annotation.Nullable;
+
+/**
+ * Registry of the statistics of named {@link Cache} instances. Statistics are only recorded when
+ * {@code otel.javaagent.experimental.cache-statistics.enabled} is set, otherwise named caches
+ * behave exactly like unnamed ones.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class CacheStatistics {
+
+  private static final AttributeKey<String> CACHE_NAME = AttributeKey.stringKey("cache.name");
+
+  private static final boolean enabled =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.javaagent.experimental.cache-statistics.enabled", false);
+
+  private static final List<RegisteredCache> caches = new CopyOnWriteArrayList<>();
+
+  /** Returns a new {@link StatsCounter}, or {@code null} if cache statistics are disabled. */
+  @Nullable
+  static StatsCounter newStatsCounter() {
+    return enabled ? new StatsCounter() : null;
+  }
+
+  /**
+   * Makes the statistics of the cache visible to {@link #registerMetrics(OpenTelemetry)}. The cache
+   * is referenced weakly, so that caches that are not static, e.g. the ones of a class loader, are
+   * dropped from the registry once they are garbage collected. The {@code size} function must not
+   * capture the cache. Several caches can be registered with the same name, e.g. a static cache of
+   * a class that is loaded by several class loaders, their statistics are then reported together.
+   */
+  static <C> void register(String name, StatsCounter stats, C cache, ToIntFunction<C> size) {
+    caches.add(new RegisteredCache(name, stats, cache, size));
+  }
+
+  // Visible for testing
+  static int registeredCount() {
+    caches.removeIf(cache -> cache.cache.get() == null);
+    return caches.size();
+  }
+
+  /**
+   * Exposes the statistics of all named caches as {@code otel.javaagent.supportability.cache.*}
+   * metrics of the given {@link OpenTelemetry} instance. Does nothing unless cache statistics are
+   * enabled.
+   */
+  public static void registerMetrics(OpenTelemetry openTelemetry) {
+    if (!enabled) {
+      return;
+    }
+    registerMetrics(openTelemetry.getMeter("io.opentelemetry.javaagent.supportability"));
+  }
+
+  // Visible for testing
+  static void registerMetrics(Meter meter) {
+    meter
+        .counterBuilder("otel.javaagent.supportability.cache.hits")
+        .setDescription("The number of cache lookups that found a cached value.")
+        .setUnit("{lookup}")
+        .buildWithCallback(measurement -> record(measurement, cache -> cache.stats.hitCount()));
+    meter
+        .counterBuilder("otel.javaagent.supportability.cache.misses")
+        .setDescription("The number of cache lookups that did not find a cached value.")
+        .setUnit("{lookup}")
+        .buildWithCallback(measurement -> record(measurement, cache -> cache.stats.missCount()));
+    meter
+        .counterBuilder("otel.javaagent.supportability.cache.evictions")
+        .setDescription("The number of entries evicted from the cache because of its size limit.")
+        .setUnit("{entry}")
+        .buildWithCallback(
+            measurement -> record(measurement, cache -> cache.stats.evictionCount()));
+    meter
+        .upDownCounterBuilder("otel.javaagent.supportability.cache.size")
+        .setDescription("The number of entries in the cache.")
+        .setUnit("{entry}")
+        .buildWithCallback(measurement -> record(measurement, RegisteredCache::size));
+  }
+
+  private static void record(
+      ObservableLongMeasurement measurement, ToLongFunction<RegisteredCache> value) {
+    // the same attributes must be recorded only once per collection, so caches with the same name
+    // are summed up
+    Map<Attributes, Long> values = new LinkedHashMap<>();
+    for (RegisteredCache cache : caches) {
+      if (cache.cache.get() == null) {
+        caches.remove(cache);
+      } else {
+        values.merge(cache.attributes, value.applyAsLong(cache), Long::sum);
+      }
+    }
+    values.forEach((attributes, total) -> measurement.record(total, attributes));
+  }
+
+  private static final class RegisteredCache {
+    final Attributes attributes;
+    final StatsCounter stats;
+    final WeakReference<Object> cache;
+    private final ToIntFunction<Object> size;
+
+    @SuppressWarnings("unchecked") // the size function is only applied to the registered cache
+    <C> RegisteredCache(String name, StatsCounter stats, C cache, ToIntFunction<C> size) {
+      this.attributes = Attributes.of(CACHE_NAME, name);
+      this.stats = stats;
+      this.cache = new WeakReference<>(cache);
+      this.size = (ToIntFunction<Object>) size;
+    }
+
+    long size() {
+      Object cache = this.cache.get();
+      return cache == null ? 0 : size.applyAsInt(cache);
+    }
+  }
+
+  private CacheStatistics() {}
+}
@@ -0,0 +1,347 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import static java.util.Objects.requireNonNull;
+
+import io.opentelemetry.instrumentation.api.internal.cache.weaklockfree.WeakConcurrentMapCleaner;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link Cache} with weak keys that are compared by identity, which stores its entries in open
+ * addressing tables instead of using one map node per entry. An entry costs one weak reference and
+ * two table slots, while {@link WeakLockFreeCache} also needs a map node and a lookup key. Lookups
+ * don't lock, writes lock one of the segments of the cache.
+ *
+ * <p>Entries whose keys were garbage collected are removed in batches by the next write, and by the
+ * {@link WeakConcurrentMapCleaner} thread when it is running. Like with {@link WeakLockFreeCache},
+ * a value that strongly references its key keeps the entry alive.
+ *
+ * <p>Keys must not be {@code null}, a {@code null} key would match the entries whose keys were
+ * garbage collected.
+ */
+final class CompactWeakCache<K, V> implements Cache<K, V> {
+
+  private static final int SEGMENT_BITS = 4;
+  // the capacity of a table in entries, it has two slots per entry
+  private static final int INITIAL_CAPACITY = 8;
+  private static final Object TOMBSTONE = new Object();
+
+  private static final Queue<WeakReference<CompactWeakCache<?, ?>>> caches =
+      new ConcurrentLinkedQueue<>();
+
+  static {
+    WeakConcurrentMapCleaner.addCleanup(CompactWeakCache::expungeAllStaleEntries);
+  }
+
+  private final ReferenceQueue<Object> queue = new ReferenceQueue<>();
+  private final Segment[] segments = new Segment[1 << SEGMENT_BITS];
+
+  CompactWeakCache() {
+    for (int i = 0; i < segments.length; i++) {
+      segments[i] = new Segment();
+    }
+    caches.add(new WeakReference<>(this));
+  }
+
+  @Override
+  @SuppressWarnings("unchecked") // only values of type V are put into the segments
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    requireNonNull(key);
+    int hash = hash(key);
+    Segment segment = segmentFor(hash);
+    Object value = segment.get(key, hash);
+    if (value != null) {
+      return (V) value;
+    }
+    expungeStaleEntries();
+    return (V) segment.computeIfAbsent(key, hash, unused -> mappingFunction.apply(key), queue);
+  }
+
+  @Override
+  @Nullable
+  @SuppressWarnings("unchecked") // only values of type V are put into the segments
+  public V get(K key) {
+    requireNonNull(key);
+    int hash = hash(key);
+    return (V) segmentFor(hash).get(key, hash);
+  }
+
+  @Override
+  public void put(K key, V value) {
+    requireNonNull(key);
+    expungeStaleEntries();
+    int hash = hash(key);
+    segmentFor(hash).put(key, hash, value, queue);
+  }
+
+  @Override
+  public void remove(K key) {
+    requireNonNull(key);
+    expungeStaleEntries();
+    int hash = hash(key);
+    segmentFor(hash).remove(key, hash);
+  }
+
+  // Visible for testing
+  int size() {
+    expungeStaleEntries();
+    int size = 0;
+    for (Segment segment : segments) {
+      size += segment.size();
+    }
+    return size;
+  }
+
+  private static int hash(Object key) {
+    // spread the identity hash codes, the high bits select the segment
+    return System.identityHashCode(key) * 0x9E3779B9;
+  }
+
+  private Segment segmentFor(int hash) {
+    return segments[hash >>> (32 - SEGMENT_BITS)];
+  }
+
+  private void expungeStaleEntries() {
+    Reference<?> reference;
+    while ((reference = queue.poll()) != null) {
+      WeakKey weakKey = (WeakKey) reference;
+      segmentFor(weakKey.hash).removeStale(weakKey);
+    }
+  }
+
+  private static void expungeAllStaleEntries() {
+    for (Iterator<WeakReference<CompactWeakCache<?, ?>>> i = caches.iterator(); i.hasNext(); ) {
+      CompactWeakCache<?, ?> cache = i.next().get();
+      if (cache == null) {
+        i.remove();
+      } else {
+        cache.expungeStaleEntries();
+      }
+    }
+  }
+
+  private static final class WeakKey extends WeakReference<Object> {
+    // fits into the padding of the reference object on 64-bit jvms
+    final int hash;
+
+    WeakKey(Object key, int hash, ReferenceQueue<Object> queue) {
+      super(key, queue);
+      this.hash = hash;
+    }
+  }
+
+  /**
+   * An open addressing table with linear probing. The even slots hold the {@link WeakKey} of an
+   * entry, or {@link #TOMBSTONE} when the entry was removed, and the odd slots hold the value.
+   * Writers never change the key of a slot without changing it to a new {@link WeakKey} instance,
+   * and they replace the whole table when rehashing, so that readers can detect concurrent
+   * removals without locking.
+   */
+  private static final class Segment {
+    @Nullable private volatile AtomicReferenceArray<Object> table;
+    // the number of keys that were not removed, including the garbage collected ones
+    private int size;
+    // the number of slots that are not empty, including the removed ones
+    private int used;
+
+    @Nullable
+    Object get(Object key, int hash) {
+      AtomicReferenceArray<Object> table = this.table;
+      if (table == null) {
+        return null;
+      }
+      int mask = (table.length() >> 1) - 1;
+      for (int i = hash & mask; ; i = (i + 1) & mask) {
+        Object weakKey = table.get(2 * i);
+        if (weakKey == null) {
+          return null;
+        }
+        if (weakKey != TOMBSTONE && ((WeakKey) weakKey).get() == key) {
+          Object value = table.get(2 * i + 1);
+          // the entry was removed while reading the value if the slot holds another key now
+          return table.get(2 * i) == weakKey ? value : null;
+        }
+      }
+    }
+
+    @Nullable
+    synchronized Object computeIfAbsent(
+        Object key, int hash, Function<Object, ?> mappingFunction, ReferenceQueue<Object> queue) {
+      AtomicReferenceArray<Object> table = this.table;
+      if (table != null) {
+        int slot = find(table, key, hash);
+        if (slot >= 0) {
+          return table.get(2 * slot + 1);
+        }
+      }
+      Object value = mappingFunction.apply(key);
+      if (value == null) {
+        return null;
+      }
+      // the mapping function could have changed this segment
+      table = this.table;
+      if (table != null) {
+        int slot = find(table, key, hash);
+        if (slot >= 0) {
+          return table.get(2 * slot + 1);
+        }
+      }
+      insert(key, hash, value, queue);
+      return value;
+    }
+
+    synchronized void put(Object key, int hash, Object value, ReferenceQueue<Object> queue) {
+      AtomicReferenceArray<Object> table = this.table;
+      if (table != null) {
+        int slot = find(table, key, hash);
+        if (slot >= 0) {
+          table.set(2 * slot + 1, value);
+          return;
+        }
+      }
+      insert(key, hash, value, queue);
+    }
+
+    synchronized void remove(Object key, int hash) {
+      AtomicReferenceArray<Object> table = this.table;
+      if (table == null) {
+        return;
+      }
+      int slot = find(table, key, hash);
+      if (slot >= 0) {
+        clear(table, slot);
+      }
+    }
+
+    synchronized void removeStale(WeakKey weakKey) {
+      AtomicReferenceArray<Object> table = this.table;
+      if (table == null) {
+        return;
+      }
+      // the entry is gone already if its slot was reused or the table was rehashed without it
+      int mask = (table.length() >> 1) - 1;
+      for (int i = weakKey.hash & mask; ; i = (i + 1) & mask) {
+        Object slotKey = table.get(2 * i);
+        if (slotKey == null) {
+          return;
+        }
+        if (slotKey == weakKey) {
+          clear(table, i);
+          return;
+        }
+      }
+    }
+
+    synchronized int size() {
+      return size;
+    }
+
+    // returns the slot of the key if it is present, or -1 - the slot where it can be inserted
+    private static int find(AtomicReferenceArray<Object> table, Object key, int hash) {
+      int mask = (table.length() >> 1) - 1;
+      int free = -1;
+      for (int i = hash & mask; ; i = (i + 1) & mask) {
+        Object weakKey = table.get(2 * i);
+        if (weakKey == null) {
+          return -1 - (free == -1 ? i : free);
+        }
+        if (weakKey == TOMBSTONE) {
+          if (free == -1) {
+            free = i;
+          }
+        } else {
+          Object slotKey = ((WeakKey) weakKey).get();
+          if (slotKey == key) {
+            return i;
+          }
+          // the slots of garbage collected keys can be reused right away
+          if (slotKey == null && free == -1) {
+            free = i;
+          }
+        }
+      }
+    }
+
+    private void insert(Object key, int hash, Object value, ReferenceQueue<Object> queue) {
+      AtomicReferenceArray<Object> table = this.table;
+      if (table == null) {
+        table = rehash(null);
+      }
+      int slot = -1 - find(table, key, hash);
+      Object previous = table.get(2 * slot);
+      if (previous == null && used + 1 > (table.length() >> 1) * 3 / 4) {
+        table = rehash(table);
+        slot = -1 - find(table, key, hash);
+        previous = null;
+      }
+      if (previous == null) {
+        used++;
+      }
+      if (previous == null || previous == TOMBSTONE) {
+        size++;
+      }
+      // publish the value before the key, so that readers that find the key also find the value
+      table.set(2 * slot + 1, value);
+      table.set(2 * slot, new WeakKey(key, hash, queue));
+    }
+
+    private void clear(AtomicReferenceArray<Object> table, int slot) {
+      table.set(2 * slot, TOMBSTONE);
+      table.set(2 * slot + 1, null);
+      size--;
+    }
+
+    // copies the live entries to a new table that is at most half full, dropping the removed and
+    // garbage collected ones, the old table is left as is for concurrent readers
+    private AtomicReferenceArray<Object> rehash(@Nullable AtomicReferenceArray<Object> table) {
+      int live = 0;
+      if (table != null) {
+        for (int i = 0; i < table.length(); i += 2) {
+          Object weakKey = table.get(i);
+          if (weakKey != null && weakKey != TOMBSTONE && ((WeakKey) weakKey).get() != null) {
+            live++;
+          }
+        }
+      }
+      int capacity = INITIAL_CAPACITY;
+      while (capacity / 2 < live + 1) {
+        capacity <<= 1;
+      }
+
+      AtomicReferenceArray<Object> newTable = new AtomicReferenceArray<>(2 * capacity);
+      int mask = capacity - 1;
+      int count = 0;
+      if (table != null) {
+        for (int i = 0; i < table.length(); i += 2) {
+          Object weakKey = table.get(i);
+          if (weakKey == null || weakKey == TOMBSTONE || ((WeakKey) weakKey).get() == null) {
+            continue;
+          }
+          int slot = ((WeakKey) weakKey).hash & mask;
+          while (newTable.get(2 * slot) != null) {
+            slot = (slot + 1) & mask;
+          }
+          newTable.set(2 * slot + 1, table.get(i + 1));
+          newTable.set(2 * slot, weakKey);
+          count++;
+        }
+      }
+      size = count;
+      used = count;
+      this.table = newTable;
+      return newTable;
+    }
+  }
+}
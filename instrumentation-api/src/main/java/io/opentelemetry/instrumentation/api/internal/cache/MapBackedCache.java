@@ -9,23 +9,47 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.function.Function;
 import javax.annotation.Nullable;
 
-final class MapBackedCache<K, V> implements Cache<K, V> {
+class MapBackedCache<K, V> implements Cache<K, V> {
 
   private final ConcurrentMap<K, V> delegate;
+  @Nullable private final StatsCounter stats;
 
   MapBackedCache(ConcurrentMap<K, V> delegate) {
+    this(delegate, null);
+  }
+
+  MapBackedCache(ConcurrentMap<K, V> delegate, @Nullable StatsCounter stats) {
     this.delegate = delegate;
+    this.stats = stats;
   }
 
   @Override
   public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
-    return delegate.computeIfAbsent(key, mappingFunction);
+    if (stats == null) {
+      return delegate.computeIfAbsent(key, mappingFunction);
+    }
+    MissRecordingFunction<K, V> recordingFunction = new MissRecordingFunction<>(mappingFunction);
+    V value = delegate.computeIfAbsent(key, recordingFunction);
+    if (recordingFunction.missed) {
+      stats.recordMiss();
+    } else {
+      stats.recordHit();
+    }
+    return value;
   }
 
   @Nullable
   @Override
   public V get(K key) {
-    return delegate.get(key);
+    V value = delegate.get(key);
+    if (stats != null) {
+      if (value != null) {
+        stats.recordHit();
+      } else {
+        stats.recordMiss();
+      }
+    }
+    return value;
   }
 
   @Override
@@ -0,0 +1,24 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import java.util.function.Function;
+
+// records whether the map had to compute the value, so that a lookup is counted once
+final class MissRecordingFunction<K, V> implements Function<K, V> {
+  private final Function<? super K, ? extends V> mappingFunction;
+  boolean missed;
+
+  MissRecordingFunction(Function<? super K, ? extends V> mappingFunction) {
+    this.mappingFunction = mappingFunction;
+  }
+
+  @Override
+  public V apply(K key) {
+    missed = true;
+    return mappingFunction.apply(key);
+  }
+}
@@ -0,0 +1,24 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+/**
+ * A bounded {@link Cache} whose capacity can be changed after it was created.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public interface ResizableCache<K, V> extends Cache<K, V> {
+
+  /** Returns the maximum number of entries the cache can hold. */
+  int capacity();
+
+  /**
+   * Sets the maximum number of entries the cache can hold. If the cache currently holds more
+   * entries, the least recently used ones are evicted.
+   */
+  void setCapacity(int capacity);
+}
@@ -0,0 +1,30 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import io.opentelemetry.instrumentation.api.internal.cache.concurrentlinkedhashmap.ConcurrentLinkedHashMap;
+import javax.annotation.Nullable;
+
+final class ResizableMapBackedCache<K, V> extends MapBackedCache<K, V>
+    implements ResizableCache<K, V> {
+
+  private final ConcurrentLinkedHashMap<K, V> map;
+
+  ResizableMapBackedCache(ConcurrentLinkedHashMap<K, V> map, @Nullable StatsCounter stats) {
+    super(map, stats);
+    this.map = map;
+  }
+
+  @Override
+  public int capacity() {
+    return (int) map.capacity();
+  }
+
+  @Override
+  public void setCapacity(int capacity) {
+    map.setCapacity(capacity);
+  }
+}
@@ -0,0 +1,374 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.api.internal.cache;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.function.ToIntBiFunction;
+import javax.annotation.Nullable;
+
+/**
+ * A bounded cache with frequency based admission, a simplified version of the W-TinyLFU policy.
+ *
+ * <p>New entries are first added to a small LRU admission window. When the window overflows its
+ * least recently used entry becomes a candidate for the main LRU region, and is only admitted if
+ * the {@link FrequencySketch} estimates that it was accessed more often than the entry it would
+ * replace. This keeps a scan of keys that are seen only once, e.g. ad-hoc SQL or unique URLs, from
+ * flushing the frequently used entries out of the cache, which is what happens with a plain LRU.
+ *
+ * <p>Reads don't take a lock: they are recorded in striped, lossy ring buffers that are replayed
+ * against the eviction policy when one of them fills up or on the next write. Writes update the
+ * policy under a lock.
+ */
+final class TinyLfuCache<K, V> implements Cache<K, V> {
+
+  private static final int READ_BUFFER_STRIPES =
+      FrequencySketch.ceilingPowerOfTwo(
+          Math.min(4 * Runtime.getRuntime().availableProcessors(), 64));
+  private static final int READ_BUFFER_SIZE = 16;
+  private static final int READ_BUFFER_MASK = READ_BUFFER_SIZE - 1;
+
+  private final ConcurrentHashMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+  private final ToIntBiFunction<? super K, ? super V> weigher;
+  @Nullable private final StatsCounter stats;
+  private final ReadBuffer[] readBuffers = new ReadBuffer[READ_BUFFER_STRIPES];
+  private final ReentrantLock evictionLock = new ReentrantLock();
+
+  // all fields below are guarded by evictionLock
+  private final FrequencySketch sketch;
+  private final AccessOrderQueue<K, V> window = new AccessOrderQueue<>();
+  private final AccessOrderQueue<K, V> main = new AccessOrderQueue<>();
+  private final long windowMaximum;
+  private final long mainMaximum;
+  private long windowWeight;
+  private long mainWeight;
+
+  TinyLfuCache(
+      long maximumWeight,
+      ToIntBiFunction<? super K, ? super V> weigher,
+      @Nullable StatsCounter stats) {
+    if (maximumWeight < 1) {
+      throw new IllegalArgumentException("maximumWeight must be positive: " + maximumWeight);
+    }
+    this.weigher = weigher;
+    this.stats = stats;
+    this.windowMaximum = Math.max(1, maximumWeight / 100);
+    this.mainMaximum = maximumWeight - windowMaximum;
+    this.sketch = new FrequencySketch(maximumWeight);
+    for (int i = 0; i < readBuffers.length; i++) {
+      readBuffers[i] = new ReadBuffer();
+    }
+  }
+
+  @Override
+  public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
+    Node<K, V> node = data.get(key);
+    if (node != null) {
+      afterRead(node);
+      return node.value;
+    }
+    if (stats != null) {
+      stats.recordMiss();
+    }
+
+    @SuppressWarnings({"rawtypes", "unchecked"})
+    Node<K, V>[] created = new Node[1];
+    node =
+        data.computeIfAbsent(
+            key,
+            k -> {
+              V value = mappingFunction.apply(k);
+              if (value == null) {
+                return null;
+              }
+              created[0] = new Node<>(k, value, weigher.applyAsInt(k, value));
+              return created[0];
+            });
+    if (node == null) {
+      // CHM does not store null values, neither does this cache
+      return null;
+    }
+    if (node == created[0]) {
+      afterWrite(node, null);
+    } else {
+      afterRead(node);
+    }
+    return node.value;
+  }
+
+  @Nullable
+  @Override
+  public V get(K key) {
+    Node<K, V> node = data.get(key);
+    if (node == null) {
+      if (stats != null) {
+        stats.recordMiss();
+      }
+      return null;
+    }
+    afterRead(node);
+    return node.value;
+  }
+
+  @Override
+  public void put(K key, V value) {
+    Node<K, V> node = new Node<>(key, value, weigher.applyAsInt(key, value));
+    Node<K, V> prior = data.put(key, node);
+    afterWrite(node, prior);
+  }
+
+  @Override
+  public void remove(K key) {
+    Node<K, V> node = data.remove(key);
+    if (node != null) {
+      evictionLock.lock();
+      try {
+        retire(node);
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  // Visible for tests
+  int size() {
+    return data.size();
+  }
+
+  private void afterRead(Node<K, V> node) {
+    if (stats != null) {
+      stats.recordHit();
+    }
+    ReadBuffer buffer =
+        readBuffers[
+            (System.identityHashCode(Thread.currentThread()) * 0x9E3779B9 >>> 16)
+                & (READ_BUFFER_STRIPES - 1)];
+    if (!buffer.offer(node) && evictionLock.tryLock()) {
+      try {
+        drainReadBuffers();
+      } finally {
+        evictionLock.unlock();
+      }
+    }
+  }
+
+  private void afterWrite(Node<K, V> node, @Nullable Node<K, V> prior) {
+    evictionLock.lock();
+    try {
+      drainReadBuffers();
+      if (prior != null) {
+        retire(prior);
+      }
+      if (node.queue == Node.RETIRED) {
+        // removed by a concurrent remove() before this write got the lock
+        return;
+      }
+      sketch.increment(node.key);
+      node.queue = Node.WINDOW;
+      window.addLast(node);
+      windowWeight += node.weight;
+      evict();
+    } finally {
+      evictionLock.unlock();
+    }
+  }
+
+  // guarded by evictionLock
+  @SuppressWarnings("unchecked")
+  private void drainReadBuffers() {
+    for (ReadBuffer buffer : readBuffers) {
+      Object node;
+      while ((node = buffer.poll()) != null) {
+        onAccess((Node<K, V>) node);
+      }
+    }
+  }
+
+  // guarded by evictionLock
+  private void onAccess(Node<K, V> node) {
+    if (node.queue == Node.WINDOW) {
+      window.moveToLast(node);
+    } else if (node.queue == Node.MAIN) {
+      main.moveToLast(node);
+    } else {
+      // not yet added to the policy or already removed from the cache
+      return;
+    }
+    sketch.increment(node.key);
+  }
+
+  // guarded by evictionLock
+  private void evict() {
+    while (windowWeight > windowMaximum) {
+      Node<K, V> candidate = window.first();
+      if (candidate == null) {
+        break;
+      }
+      window.remove(candidate);
+      windowWeight -= candidate.weight;
+      admit(candidate);
+    }
+  }
+
+  // guarded by evictionLock
+  private void admit(Node<K, V> candidate) {
+    if (candidate.weight > mainMaximum) {
+      evictEntry(candidate);
+      return;
+    }
+    while (mainWeight + candidate.weight > mainMaximum) {
+      Node<K, V> victim = main.first();
+      if (victim == null) {
+        break;
+      }
+      if (sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+        main.remove(victim);
+        mainWeight -= victim.weight;
+        evictEntry(victim);
+      } else {
+        evictEntry(candidate);
+        return;
+      }
+    }
+    candidate.queue = Node.MAIN;
+    main.addLast(candidate);
+    mainWeight += candidate.weight;
+  }
+
+  // guarded by evictionLock, node must already be unlinked from its queue
+  private void evictEntry(Node<K, V> node) {
+    node.queue = Node.RETIRED;
+    data.remove(node.key, node);
+    if (stats != null) {
+      stats.recordEviction();
+    }
+  }
+
+  // guarded by evictionLock
+  private void retire(Node<K, V> node) {
+    if (node.queue == Node.WINDOW) {
+      window.remove(node);
+      windowWeight -= node.weight;
+    } else if (node.queue == Node.MAIN) {
+      main.remove(node);
+      mainWeight -= node.weight;
+    }
+    node.queue = Node.RETIRED;
+  }
+
+  private static final class Node<K, V> {
+    static final int NEW = 0;
+    static final int WINDOW = 1;
+    static final int MAIN = 2;
+    static final int RETIRED = 3;
+
+    final K key;
+    final V value;
+    final int weight;
+
+    // all fields below are guarded by evictionLock
+    int queue = NEW;
+    @Nullable Node<K, V> prev;
+    @Nullable Node<K, V> next;
+
+    Node(K key, V value, int weight) {
+      this.key = key;
+      this.value = value;
+      this.weight = weight;
+    }
+  }
+
+  /** A doubly linked list of nodes, least recently used first. Not thread safe. */
+  private static final class AccessOrderQueue<K, V> {
+    @Nullable private Node<K, V> first;
+    @Nullable private Node<K, V> last;
+
+    @Nullable
+    Node<K, V> first() {
+      return first;
+    }
+
+    void addLast(Node<K, V> node) {
+      node.prev = last;
+      node.next = null;
+      if (last == null) {
+        first = node;
+      } else {
+        last.next = node;
+      }
+      last = node;
+    }
+
+    void remove(Node<K, V> node) {
+      Node<K, V> prev = node.prev;
+      Node<K, V> next = node.next;
+      if (prev == null) {
+        first = next;
+      } else {
+        prev.next = next;
+      }
+      if (next == null) {
+        last = prev;
+      } else {
+        next.prev = prev;
+      }
+      node.prev = null;
+      node.next = null;
+    }
+
+    void moveToLast(Node<K, V> node) {
+      if (node != last) {
+        remove(node);
+        addLast(node);
+      }
+    }
+  }
+
+  /**
+   * A bounded ring buffer of recorded reads. Any number of threads may offer, only the thread
+   * holding the eviction lock polls. Reads offered to a full buffer are dropped, losing some
+   * accesses only makes the recency and frequency information slightly less precise.
+   */
+  private static final class ReadBuffer {
+    private final AtomicReferenceArray<Object> buffer =
+        new AtomicReferenceArray<>(READ_BUFFER_SIZE);
+    private final AtomicLong writeCounter = new AtomicLong();
+    private volatile long readCounter;
+
+    /** Returns {@code false} if the buffer is full and should be drained. */
+    boolean offer(Object node) {
+      long head = readCounter;
+      long tail = writeCounter.get();
+      if (tail - head >= READ_BUFFER_SIZE) {
+        return false;
+      }
+      if (writeCounter.compareAndSet(tail, tail + 1)) {
+        buffer.lazySet((int) (tail & READ_BUFFER_MASK), node);
+      }
+      return true;
+    }
+
+    @Nullable
+    Object poll() {
+      long head = readCounter;
+      if (head == writeCounter.get()) {
+        return null;
+      }
+      int index = (int) (head & READ_BUFFER_MASK);
+      Object node = buffer.get(index);
+      if (node == null) {
+        // the slot was claimed but not yet written, try again on the next drain
+        return null;
+      }
+      buffer.lazySet(index, null);
+      readCounter = head + 1;
+      return node;
+    }
+  }
+}
@@ -12,20 +12,45 @@ import javax.annotation.Nullable;
 final class WeakLockFreeCache<K, V> implements Cache<K, V> {
 
   private final WeakConcurrentMap<K, V> delegate;
+  // evictions are not counted, entries are only removed when their keys are garbage collected
+  @Nullable private final StatsCounter stats;
 
   WeakLockFreeCache() {
+    this(null);
+  }
+
+  WeakLockFreeCache(@Nullable StatsCounter stats) {
     this.delegate = new WeakConcurrentMap.WithInlinedExpunction<>();
+    this.stats = stats;
   }
 
   @Override
   public V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction) {
-    return delegate.computeIfAbsent(key, mappingFunction);
+    if (stats == null) {
+      return delegate.computeIfAbsent(key, mappingFunction);
+    }
+    MissRecordingFunction<K, V> recordingFunction = new MissRecordingFunction<>(mappingFunction);
+    V value = delegate.computeIfAbsent(key, recordingFunction);
+    if (recordingFunction.missed) {
+      stats.recordMiss();
+    } else {
+      stats.recordHit();
+    }
+    return value;
   }
 
   @Override
   @Nullable
   public V get(K key) {
-    return delegate.getIfPresent(key);
+    V value = delegate.getIfPresent(key);
+    if (stats != null) {
+      if (value != null) {
+        stats.recordHit();
+      } else {
+        stats.recordMiss();
+      }
+    }
+    return value;
   }
 
   @Override
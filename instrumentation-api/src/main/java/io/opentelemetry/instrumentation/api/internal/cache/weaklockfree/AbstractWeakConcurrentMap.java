@@ -259,16 +259,15 @@ abstract class AbstractWeakConcurrentMap<K, V, L> implements Iterable<Map.Entry<
     return target.size();
   }
 
-  static void runCleanup() {
-    try {
-      while (!Thread.interrupted()) {
-        Reference<?> reference = REFERENCE_QUEUE.remove();
-        if (reference != null) {
-          removeWeakKey((WeakKey<?>) reference);
-        }
-      }
-    } catch (InterruptedException ignored) {
-      // do nothing
+  /**
+   * Waits at most {@code timeoutMillis} for a reference to be cleared and then cleans all unused
+   * references.
+   */
+  static void expungeStaleEntries(long timeoutMillis) throws InterruptedException {
+    Reference<?> reference = REFERENCE_QUEUE.remove(timeoutMillis);
+    while (reference != null) {
+      removeWeakKey((WeakKey<?>) reference);
+      reference = REFERENCE_QUEUE.poll();
     }
   }
 
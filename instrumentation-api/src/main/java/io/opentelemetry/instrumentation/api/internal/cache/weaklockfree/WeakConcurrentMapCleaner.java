@@ -5,6 +5,9 @@
 
 package io.opentelemetry.instrumentation.api.internal.cache.weaklockfree;
 
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
 import javax.annotation.Nullable;
 
 /**
@@ -12,6 +15,10 @@ import javax.annotation.Nullable;
  * any time.
  */
 public final class WeakConcurrentMapCleaner {
+  private static final long CLEANUP_INTERVAL_MILLIS = 1000;
+
+  private static final List<Runnable> cleanups = new CopyOnWriteArrayList<>();
+
   @Nullable private static Thread thread;
 
   private WeakConcurrentMapCleaner() {}
@@ -21,7 +28,7 @@ public final class WeakConcurrentMapCleaner {
       return;
     }
 
-    thread = new Thread(AbstractWeakConcurrentMap::runCleanup, "weak-ref-cleaner");
+    thread = new Thread(WeakConcurrentMapCleaner::runCleanup, "weak-ref-cleaner");
     thread.setDaemon(true);
     thread.setContextClassLoader(null);
     thread.start();
@@ -36,4 +43,31 @@ public final class WeakConcurrentMapCleaner {
     thread.interrupt();
     thread = null;
   }
+
+  /**
+   * Adds a cleanup that the cleaner thread runs about once every second, for weak maps that batch
+   * the removal of their stale entries instead of using the reference queue of {@link
+   * WeakConcurrentMap}. The cleanup must not throw.
+   */
+  public static void addCleanup(Runnable cleanup) {
+    cleanups.add(cleanup);
+  }
+
+  private static void runCleanup() {
+    long lastCleanup = System.nanoTime();
+    try {
+      while (!Thread.interrupted()) {
+        AbstractWeakConcurrentMap.expungeStaleEntries(CLEANUP_INTERVAL_MILLIS);
+        long now = System.nanoTime();
+        if (now - lastCleanup >= TimeUnit.MILLISECONDS.toNanos(CLEANUP_INTERVAL_MILLIS)) {
+          lastCleanup = now;
+          for (Runnable cleanup : cleanups) {
+            cleanup.run();
+          }
+        }
+      }
+    } catch (InterruptedException ignored) {
+      // do nothing
+    }
+  }
 }
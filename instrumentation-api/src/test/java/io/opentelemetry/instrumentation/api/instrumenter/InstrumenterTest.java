@@ -567,6 +567,43 @@ class InstrumenterTest {
         .containsEntry("resp3", "resp3_value");
   }
 
+  @Test
+  void operationListenerAttributesAreNotAddedToContextCustomizerAttributes() {
+    AtomicReference<Attributes> customizerAttributes = new AtomicReference<>();
+
+    InstrumenterBuilder<Map<String, String>, Map<String, String>> builder =
+        Instrumenter.<Map<String, String>, Map<String, String>>builder(
+                otelTesting.getOpenTelemetry(), "test", unused -> "span")
+            .addContextCustomizer(
+                (context, request, startAttributes) -> {
+                  customizerAttributes.set(startAttributes);
+                  return context;
+                })
+            .addOperationListener(
+                new OperationListener() {
+                  @Override
+                  public Context onStart(
+                      Context context, Attributes startAttributes, long startNanos) {
+                    return context;
+                  }
+
+                  @Override
+                  public void onEnd(Context context, Attributes endAttributes, long endNanos) {}
+                })
+            .addAttributesExtractor(new AttributesExtractor1());
+    Experimental.addOperationListenerAttributesExtractor(builder, new AttributesExtractor2());
+    Instrumenter<Map<String, String>, Map<String, String>> instrumenter =
+        builder.buildServerInstrumenter(new MapGetter());
+
+    Context context = instrumenter.start(Context.root(), REQUEST);
+    instrumenter.end(context, REQUEST, RESPONSE, null);
+
+    assertThat(customizerAttributes.get())
+        .hasSize(2)
+        .containsEntry("req1", "req1_value")
+        .containsEntry("req2", "req2_value");
+  }
+
   @Test
   void shouldNotAddInvalidLink() {
     // given
@@ -767,6 +804,115 @@ class InstrumenterTest {
     assertThatSpanKeyWasStored(SpanKey.HTTP_CLIENT, context);
   }
 
+  @Test
+  void constantAttributesKeepExtractorOrder() {
+    AttributeKey<String> key = AttributeKey.stringKey("key");
+    Instrumenter<String, String> instrumenter =
+        Instrumenter.<String, String>builder(
+                otelTesting.getOpenTelemetry(), "test", request -> "span")
+            .addAttributesExtractor(AttributesExtractor.constant(key, "first"))
+            .addAttributesExtractor(AttributesExtractor.constant(AttributeKey.stringKey("a"), "a"))
+            .addAttributesExtractor(
+                new AttributesExtractor<String, String>() {
+                  @Override
+                  public void onStart(
+                      AttributesBuilder attributes, Context parentContext, String request) {
+                    attributes.put(key, request);
+                  }
+
+                  @Override
+                  public void onEnd(
+                      AttributesBuilder attributes,
+                      Context context,
+                      String request,
+                      @Nullable String response,
+                      @Nullable Throwable error) {}
+                })
+            .addAttributesExtractor(AttributesExtractor.constant(AttributeKey.stringKey("b"), "b"))
+            .buildInstrumenter();
+
+    Context context = instrumenter.start(Context.root(), "request");
+    instrumenter.end(context, "request", "response", null);
+
+    otelTesting
+        .assertTraces()
+        .hasTracesSatisfyingExactly(
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("span")
+                            .hasAttributesSatisfyingExactly(
+                                equalTo(key, "request"),
+                                equalTo(AttributeKey.stringKey("a"), "a"),
+                                equalTo(AttributeKey.stringKey("b"), "b"))));
+  }
+
+  @Test
+  void nestedAndSequentialCallsDoNotShareAttributes() {
+    Instrumenter<String, String> inner =
+        Instrumenter.<String, String>builder(
+                otelTesting.getOpenTelemetry(), "test", request -> "inner")
+            .addAttributesExtractor(
+                AttributesExtractor.constant(AttributeKey.stringKey("inner"), "value"))
+            .buildInstrumenter();
+    Instrumenter<String, String> outer =
+        Instrumenter.<String, String>builder(
+                otelTesting.getOpenTelemetry(), "test", request -> "outer")
+            .addAttributesExtractor(
+                new AttributesExtractor<String, String>() {
+                  @Override
+                  public void onStart(
+                      AttributesBuilder attributes, Context parentContext, String request) {
+                    attributes.put("outer", request);
+                    // an instrumented call made from inside an extractor
+                    Context context = inner.start(parentContext, request);
+                    inner.end(context, request, null, null);
+                  }
+
+                  @Override
+                  public void onEnd(
+                      AttributesBuilder attributes,
+                      Context context,
+                      String request,
+                      @Nullable String response,
+                      @Nullable Throwable error) {}
+                })
+            .buildInstrumenter();
+
+    Context first = outer.start(Context.root(), "first");
+    outer.end(first, "first", null, null);
+    Context second = outer.start(Context.root(), "second");
+    outer.end(second, "second", null, null);
+
+    otelTesting
+        .assertTraces()
+        .hasTracesSatisfyingExactly(
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("inner")
+                            .hasAttributesSatisfyingExactly(
+                                equalTo(AttributeKey.stringKey("inner"), "value"))),
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("outer")
+                            .hasAttributesSatisfyingExactly(
+                                equalTo(AttributeKey.stringKey("outer"), "first"))),
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("inner")
+                            .hasAttributesSatisfyingExactly(
+                                equalTo(AttributeKey.stringKey("inner"), "value"))),
+            trace ->
+                trace.hasSpansSatisfyingExactly(
+                    span ->
+                        span.hasName("outer")
+                            .hasAttributesSatisfyingExactly(
+                                equalTo(AttributeKey.stringKey("outer"), "second"))));
+  }
+
   private static void assertThatSpanKeyWasStored(SpanKey spanKey, Context context) {
     Span span = Span.fromContext(context);
     assertThat(span).isNotNull();
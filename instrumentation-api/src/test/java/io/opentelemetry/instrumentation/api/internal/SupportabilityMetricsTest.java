@@ -5,9 +5,14 @@
 
 package io.opentelemetry.instrumentation.api.internal;
 
-import static org.assertj.core.api.Assertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.assertThat;
+import static io.opentelemetry.sdk.testing.assertj.OpenTelemetryAssertions.equalTo;
 
+import io.opentelemetry.api.common.AttributeKey;
 import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.OpenTelemetrySdk;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
 import java.util.ArrayList;
 import java.util.List;
 import org.junit.jupiter.api.Test;
@@ -71,4 +76,72 @@ class SupportabilityMetricsTest {
             "Suppressed Spans by 'favoriteInstrumentation' (CLIENT) : 1",
             "Counter 'some counter' : 1");
   }
+
+  @Test
+  void countsThroughHandles() {
+    List<String> reports = new ArrayList<>();
+    SupportabilityMetrics metrics = new SupportabilityMetrics(true, reports::add);
+
+    SupportabilityMetrics.SuppressedSpansCounter suppressed =
+        metrics.suppressedSpansCounter("favoriteInstrumentation");
+    suppressed.increment(SpanKind.CLIENT);
+    suppressed.increment(SpanKind.CLIENT);
+    SupportabilityMetrics.Counter counter = metrics.counter("some counter");
+    counter.increment();
+    metrics.incrementCounter("some counter");
+
+    metrics.report();
+
+    assertThat(reports)
+        .containsExactlyInAnyOrder(
+            "Suppressed Spans by 'favoriteInstrumentation' (CLIENT) : 2",
+            "Counter 'some counter' : 2");
+  }
+
+  @Test
+  void exportsMetrics() {
+    InMemoryMetricReader metricReader = InMemoryMetricReader.create();
+    SdkMeterProvider meterProvider =
+        SdkMeterProvider.builder().registerMetricReader(metricReader).build();
+    SupportabilityMetrics metrics = new SupportabilityMetrics(false, true, unused -> {});
+    metrics.registerMetrics(OpenTelemetrySdk.builder().setMeterProvider(meterProvider).build());
+
+    metrics.recordSuppressedSpan(SpanKind.CLIENT, "favoriteInstrumentation");
+    metrics.incrementCounter("some counter");
+    metrics.incrementCounter("some counter");
+
+    assertThat(metricReader.collectAllMetrics())
+        .satisfiesExactlyInAnyOrder(
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.javaagent.supportability.suppressed_spans")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.isMonotonic()
+                                .hasPointsSatisfying(
+                                    point ->
+                                        point
+                                            .hasValue(1)
+                                            .hasAttributesSatisfyingExactly(
+                                                equalTo(
+                                                    AttributeKey.stringKey("instrumentation.name"),
+                                                    "favoriteInstrumentation"),
+                                                equalTo(
+                                                    AttributeKey.stringKey("span.kind"),
+                                                    "CLIENT")))),
+            metric ->
+                assertThat(metric)
+                    .hasName("otel.javaagent.supportability.counter")
+                    .hasLongSumSatisfying(
+                        sum ->
+                            sum.isMonotonic()
+                                .hasPointsSatisfying(
+                                    point ->
+                                        point
+                                            .hasValue(2)
+                                            .hasAttributesSatisfyingExactly(
+                                                equalTo(
+                                                    AttributeKey.stringKey("counter.name"),
+                                                    "some counter")))));
+  }
 }
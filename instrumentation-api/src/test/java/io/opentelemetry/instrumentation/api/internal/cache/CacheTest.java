@@ -6,8 +6,18 @@
 package io.opentelemetry.instrumentation.api.internal.cache;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.awaitility.Awaitility.await;
 
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.sdk.metrics.SdkMeterProvider;
+import io.opentelemetry.sdk.metrics.data.LongPointData;
+import io.opentelemetry.sdk.metrics.data.MetricData;
+import io.opentelemetry.sdk.testing.exporter.InMemoryMetricReader;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
@@ -35,6 +45,199 @@ class CacheTest {
       assertThat(mapBackedCache.size()).isEqualTo(1);
       assertThat(cache.computeIfAbsent("cat", unused -> "purr")).isEqualTo("purr");
     }
+
+    @Test
+    void weighted() {
+      Cache<String, String> cache = Cache.bounded(10, (key, value) -> value.length());
+
+      cache.put("a", "12345");
+      cache.put("b", "12345");
+      assertThat(cache.get("a")).isEqualTo("12345");
+      cache.put("c", "12345");
+
+      MapBackedCache<?, ?> mapBackedCache = ((MapBackedCache<?, ?>) cache);
+      assertThat(mapBackedCache.size()).isEqualTo(2);
+      assertThat(cache.get("a")).isEqualTo("12345");
+      assertThat(cache.get("b")).isNull();
+
+      cache.put("d", "12345678901");
+      assertThat(cache.get("d")).isNull();
+    }
+  }
+
+  @Nested
+  @SuppressWarnings("ClassCanBeStatic")
+  class FrequencyBounded {
+    @Test
+    void bounded() {
+      Cache<String, String> cache = Cache.boundedByFrequency(1);
+
+      assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
+      cache.remove("bear");
+
+      TinyLfuCache<?, ?> tinyLfuCache = ((TinyLfuCache<?, ?>) cache);
+      assertThat(cache.computeIfAbsent("cat", unused -> "meow")).isEqualTo("meow");
+      assertThat(tinyLfuCache.size()).isEqualTo(1);
+
+      assertThat(cache.computeIfAbsent("cat", unused -> "bark")).isEqualTo("meow");
+      assertThat(tinyLfuCache.size()).isEqualTo(1);
+
+      cache.put("dog", "bark");
+      assertThat(cache.get("dog")).isEqualTo("bark");
+      assertThat(tinyLfuCache.size()).isEqualTo(1);
+      assertThat(cache.computeIfAbsent("cat", unused -> "purr")).isEqualTo("purr");
+    }
+
+    @Test
+    void keepsFrequentlyUsedEntriesDuringScan() {
+      Cache<String, String> cache = Cache.boundedByFrequency(100);
+
+      for (int i = 0; i < 50; i++) {
+        cache.computeIfAbsent("hot" + i, key -> key);
+      }
+      for (int round = 0; round < 10; round++) {
+        for (int i = 0; i < 50; i++) {
+          cache.get("hot" + i);
+        }
+      }
+      for (int i = 0; i < 300; i++) {
+        cache.computeIfAbsent("scan" + i, key -> key);
+      }
+
+      int hotEntries = 0;
+      for (int i = 0; i < 50; i++) {
+        if (cache.get("hot" + i) != null) {
+          hotEntries++;
+        }
+      }
+      assertThat(hotEntries).isGreaterThanOrEqualTo(45);
+      assertThat(((TinyLfuCache<?, ?>) cache).size()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void weighted() {
+      Cache<String, String> cache = Cache.boundedByFrequency(10, (key, value) -> value.length());
+
+      cache.put("a", "12345");
+      cache.put("b", "12345");
+      cache.put("c", "12345");
+
+      TinyLfuCache<?, ?> tinyLfuCache = ((TinyLfuCache<?, ?>) cache);
+      assertThat(tinyLfuCache.size()).isLessThanOrEqualTo(2);
+
+      cache.put("d", "12345678901");
+      assertThat(cache.get("d")).isNull();
+    }
+  }
+
+  @Nested
+  @SuppressWarnings("ClassCanBeStatic")
+  class Statistics {
+    @Test
+    void mapBacked() {
+      StatsCounter stats = new StatsCounter();
+      Cache<String, String> cache = new MapBackedCache<>(new ConcurrentHashMap<>(), stats);
+
+      assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
+      assertThat(cache.computeIfAbsent("bear", unused -> "grr")).isEqualTo("roar");
+      assertThat(cache.get("bear")).isEqualTo("roar");
+      assertThat(cache.get("cat")).isNull();
+
+      assertThat(stats.hitCount()).isEqualTo(2);
+      assertThat(stats.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void weakLockFree() {
+      StatsCounter stats = new StatsCounter();
+      Cache<String, String> cache = new WeakLockFreeCache<>(stats);
+
+      assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
+      assertThat(cache.computeIfAbsent("bear", unused -> "grr")).isEqualTo("roar");
+      assertThat(cache.get("bear")).isEqualTo("roar");
+      assertThat(cache.get("cat")).isNull();
+
+      assertThat(stats.hitCount()).isEqualTo(2);
+      assertThat(stats.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void cachesWithTheSameNameAreReportedTogether() {
+      int registered = CacheStatistics.registeredCount();
+      Cache<String, String> first = new MapBackedCache<>(new ConcurrentHashMap<>());
+      StatsCounter firstStats = new StatsCounter();
+      firstStats.recordHit();
+      CacheStatistics.register("same-name", firstStats, first, unused -> 1);
+      Cache<String, String> second = new MapBackedCache<>(new ConcurrentHashMap<>());
+      StatsCounter secondStats = new StatsCounter();
+      secondStats.recordHit();
+      secondStats.recordHit();
+      CacheStatistics.register("same-name", secondStats, second, unused -> 2);
+
+      InMemoryMetricReader reader = InMemoryMetricReader.create();
+      try (SdkMeterProvider meterProvider =
+          SdkMeterProvider.builder().registerMetricReader(reader).build()) {
+        CacheStatistics.registerMetrics(meterProvider.get("test"));
+        Collection<MetricData> metrics = reader.collectAllMetrics();
+
+        assertThat(points(metrics, "otel.javaagent.supportability.cache.hits"))
+            .extracting(LongPointData::getValue)
+            .containsExactly(3L);
+        assertThat(points(metrics, "otel.javaagent.supportability.cache.size"))
+            .extracting(LongPointData::getValue)
+            .containsExactly(3L);
+      }
+      // keep the caches reachable until the metrics were collected
+      assertThat(first).isNotSameAs(second);
+
+      first = null;
+      second = null;
+      System.gc();
+      await()
+          .untilAsserted(
+              () -> assertThat(CacheStatistics.registeredCount()).isEqualTo(registered));
+    }
+
+    private List<LongPointData> points(Collection<MetricData> metrics, String name) {
+      return metrics.stream()
+          .filter(metric -> metric.getName().equals(name))
+          .flatMap(metric -> metric.getLongSumData().getPoints().stream())
+          .filter(
+              point ->
+                  "same-name"
+                      .equals(point.getAttributes().get(AttributeKey.stringKey("cache.name"))))
+          .collect(Collectors.toList());
+    }
+
+    @Test
+    void registryDropsCollectedCaches() {
+      int registered = CacheStatistics.registeredCount();
+      Cache<String, String> cache = new MapBackedCache<>(new ConcurrentHashMap<>());
+      CacheStatistics.register("test", new StatsCounter(), cache, unused -> 0);
+      assertThat(CacheStatistics.registeredCount()).isEqualTo(registered + 1);
+
+      cache = null;
+      System.gc();
+      // Wait for GC to be reflected.
+      await()
+          .untilAsserted(
+              () -> assertThat(CacheStatistics.registeredCount()).isEqualTo(registered));
+    }
+
+    @Test
+    void frequencyBoundedEvictions() {
+      StatsCounter stats = new StatsCounter();
+      Cache<String, String> cache = new TinyLfuCache<>(1, (key, value) -> 1, stats);
+
+      cache.put("bear", "roar");
+      cache.put("cat", "meow");
+      assertThat(cache.get("cat")).isEqualTo("meow");
+      assertThat(cache.get("bear")).isNull();
+
+      assertThat(stats.hitCount()).isEqualTo(1);
+      assertThat(stats.missCount()).isEqualTo(1);
+      assertThat(stats.evictionCount()).isEqualTo(1);
+    }
   }
 
   @Nested
@@ -75,4 +278,78 @@ class CacheTest {
       await().untilAsserted(() -> assertThat(weakLockFreeCache.size()).isEqualTo(0));
     }
   }
+
+  @Nested
+  @SuppressWarnings("ClassCanBeStatic")
+  class CompactWeakKeys {
+    @SuppressWarnings("StringOperationCanBeSimplified")
+    @Test
+    void unbounded() {
+      Cache<String, String> cache = Cache.compactWeak();
+
+      assertThat(cache.computeIfAbsent("bear", unused -> "roar")).isEqualTo("roar");
+      cache.remove("bear");
+
+      CompactWeakCache<?, ?> compactWeakCache = ((CompactWeakCache<?, ?>) cache);
+      String cat = new String("cat");
+      String dog = new String("dog");
+      assertThat(cache.computeIfAbsent(cat, unused -> "meow")).isEqualTo("meow");
+      assertThat(compactWeakCache.size()).isEqualTo(1);
+
+      assertThat(cache.computeIfAbsent(cat, unused -> "bark")).isEqualTo("meow");
+      assertThat(compactWeakCache.size()).isEqualTo(1);
+
+      cache.put(dog, "bark");
+      assertThat(cache.get(dog)).isEqualTo("bark");
+      assertThat(cache.get(cat)).isEqualTo("meow");
+      assertThat(cache.get(new String("dog"))).isNull();
+      assertThat(compactWeakCache.size()).isEqualTo(2);
+      assertThat(cache.computeIfAbsent(cat, unused -> "meow")).isEqualTo("meow");
+
+      cat = null;
+      System.gc();
+      // Wait for GC to be reflected.
+      await().untilAsserted(() -> assertThat(compactWeakCache.size()).isEqualTo(1));
+      assertThat(cache.computeIfAbsent(dog, unused -> "bark")).isEqualTo("bark");
+      dog = null;
+      System.gc();
+      // Wait for GC to be reflected.
+      await().untilAsserted(() -> assertThat(compactWeakCache.size()).isEqualTo(0));
+    }
+
+    @Test
+    void growsAndReusesRemovedSlots() {
+      Cache<Object, Integer> cache = Cache.compactWeak();
+      Object[] keys = new Object[1_000];
+      for (int i = 0; i < keys.length; i++) {
+        keys[i] = new Object();
+        cache.put(keys[i], i);
+      }
+      for (int i = 0; i < keys.length; i += 2) {
+        cache.remove(keys[i]);
+      }
+      for (int i = 0; i < keys.length; i += 2) {
+        keys[i] = new Object();
+        cache.put(keys[i], -i);
+      }
+
+      for (int i = 0; i < keys.length; i++) {
+        assertThat(cache.get(keys[i])).isEqualTo(i % 2 == 0 ? -i : i);
+      }
+      assertThat(((CompactWeakCache<?, ?>) cache).size()).isEqualTo(keys.length);
+    }
+
+    @Test
+    void rejectsNullKeys() {
+      Cache<Object, String> cache = Cache.compactWeak();
+
+      assertThatThrownBy(() -> cache.get(null)).isInstanceOf(NullPointerException.class);
+      assertThatThrownBy(() -> cache.put(null, "value"))
+          .isInstanceOf(NullPointerException.class);
+      assertThatThrownBy(() -> cache.computeIfAbsent(null, unused -> "value"))
+          .isInstanceOf(NullPointerException.class);
+      assertThatThrownBy(() -> cache.remove(null)).isInstanceOf(NullPointerException.class);
+      assertThat(((CompactWeakCache<?, ?>) cache).size()).isEqualTo(0);
+    }
+  }
 }
@@ -1,3 +1,7 @@
 plugins {
   id("otel.javaagent-bootstrap")
 }
+
+dependencies {
+  compileOnly(project(":javaagent-extension-api"))
+}
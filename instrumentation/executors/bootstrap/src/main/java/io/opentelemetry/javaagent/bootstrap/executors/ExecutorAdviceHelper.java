@@ -5,11 +5,17 @@
 
 package io.opentelemetry.javaagent.bootstrap.executors;
 
+import static java.util.logging.Level.FINE;
+
 import io.opentelemetry.context.Context;
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
 import io.opentelemetry.instrumentation.api.internal.ContextPropagationDebug;
 import io.opentelemetry.instrumentation.api.util.VirtualField;
 import io.opentelemetry.javaagent.bootstrap.InstrumentedTaskClasses;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.logging.Logger;
 import javax.annotation.Nullable;
 
 /**
@@ -17,6 +23,12 @@ import javax.annotation.Nullable;
  */
 public final class ExecutorAdviceHelper {
 
+  private static final Logger logger = Logger.getLogger(ExecutorAdviceHelper.class.getName());
+
+  private static final boolean FORK_JOIN_ROOT_ONLY =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.instrumentation.executors.experimental-fork-join-root-only", false);
+
   private static final ThreadLocal<Boolean> propagationDisabled = new ThreadLocal<>();
 
   /**
@@ -59,6 +71,46 @@ public final class ExecutorAdviceHelper {
     return InstrumentedTaskClasses.canInstrumentTaskClass(task.getClass());
   }
 
+  /**
+   * Check if {@code context} should be propagated to a {@code task} that is submitted to a java
+   * executor. Like {@link #shouldPropagateContext(Context, Object)}, but the registered {@link
+   * ExecutorContextPropagationPolicy} can also skip the context. The other instrumentations that
+   * use this class, e.g. the ones for akka or okhttp dispatchers, always propagate the context.
+   */
+  public static boolean shouldPropagateContextToExecutorTask(
+      Context context, @Nullable Object task) {
+    return shouldPropagateContext(context, task)
+        && ExecutorContextPropagationPolicyHolder.getPolicy().shouldPropagate(context);
+  }
+
+  /**
+   * Check if {@code context} should be propagated to the passed {@link ForkJoinTask} when it is
+   * forked. Like {@link #shouldPropagateContextToExecutorTask(Context, Object)}, but when only the
+   * root tasks of fork-join computations get the context, the tasks that are forked by pool threads
+   * are skipped. These are e.g. the many small tasks that parallel streams split their work into.
+   */
+  public static boolean shouldPropagateContextToFork(Context context, ForkJoinTask<?> task) {
+    if (FORK_JOIN_ROOT_ONLY && Thread.currentThread() instanceof ForkJoinWorkerThread) {
+      return false;
+    }
+    return shouldPropagateContextToExecutorTask(context, task);
+  }
+
+  /**
+   * Makes the threads that the current thread starts inherit its current context, until {@link
+   * #endContextInheritance()} is called, when the context storage supports that, see {@link
+   * ContextInheritance}. Returns whether the threads inherit the context, otherwise it has to be
+   * attached to the tasks that they run.
+   */
+  public static boolean beginContextInheritance() {
+    return ContextInheritanceHolder.getInheritance().beginInheritance();
+  }
+
+  /** Stops the context inheritance that was started by {@link #beginContextInheritance()}. */
+  public static void endContextInheritance() {
+    ContextInheritanceHolder.getInheritance().endInheritance();
+  }
+
   /**
    * Associate {@code context} with passed {@code task} using {@code virtualField}. Once the context
    * is attached, {@link TaskAdviceHelper} can be used to make that context current during {@code
@@ -72,21 +124,26 @@ public final class ExecutorAdviceHelper {
     // that happening - in the event of this happening one of those tasks would lose the original
     // context anyway
     PropagatedContext propagatedContext = virtualField.get(task);
-    if (propagatedContext == null) {
-      propagatedContext = new PropagatedContext();
+    Context propagated = propagatedContext != null ? propagatedContext.get() : null;
+    if (propagated == null) {
+      propagatedContext =
+          new PropagatedContext(ContextPropagationDebug.addDebugInfo(context, task));
       virtualField.set(task, propagatedContext);
-    } else {
-      Context propagated = propagatedContext.get();
-      // if task already has the requested context then we might be inside a nested call to execute
-      // where an outer call already attached state
-      if (propagated != null
-          && (propagated == context || ContextPropagationDebug.unwrap(propagated) == context)) {
-        return null;
-      }
+      return propagatedContext;
     }
 
-    context = ContextPropagationDebug.addDebugInfo(context, task);
-    propagatedContext.setContext(context);
+    // if task already has the requested context then we might be inside a nested call to execute
+    // where an outer call already attached state
+    if (propagated == context || ContextPropagationDebug.unwrap(propagated) == context) {
+      return null;
+    }
+
+    if (logger.isLoggable(FINE)) {
+      logger.log(
+          FINE,
+          "Failed to propagate context because previous propagated context is already set; new: {0}, old: {1}",
+          new Object[] {context, propagated});
+    }
     return propagatedContext;
   }
 
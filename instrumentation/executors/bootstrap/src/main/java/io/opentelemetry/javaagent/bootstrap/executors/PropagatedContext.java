@@ -5,48 +5,34 @@
 
 package io.opentelemetry.javaagent.bootstrap.executors;
 
-import static java.util.logging.Level.FINE;
-
 import io.opentelemetry.context.Context;
-import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
-import java.util.logging.Logger;
-
-/** Represents a {@link Context} attached to a concurrent task instance. */
+import javax.annotation.Nullable;
+
+/**
+ * Represents a {@link Context} attached to a concurrent task instance.
+ *
+ * <p>The context is written once when the task is submitted and read once when the task runs. The
+ * executor's handoff of the task makes the write visible to the thread that runs it, so neither
+ * needs a volatile or atomic access. A carrier is never set again: a task that is submitted after
+ * its context was cleared gets a new carrier. Clearing only drops the reference to the context
+ * early, e.g. for cancelled tasks that stay in the executor's queue. A thread that already read the
+ * context still makes it current, so a task that runs on two threads at the same time can run with
+ * the context on both.
+ */
 public final class PropagatedContext {
 
-  private static final Logger logger = Logger.getLogger(PropagatedContext.class.getName());
-
-  private static final AtomicReferenceFieldUpdater<PropagatedContext, Context> contextUpdater =
-      AtomicReferenceFieldUpdater.newUpdater(PropagatedContext.class, Context.class, "context");
+  @Nullable private Context context;
 
-  // Used by AtomicReferenceFieldUpdater
-  @SuppressWarnings("UnusedVariable")
-  private volatile Context context;
-
-  PropagatedContext() {}
-
-  void setContext(Context context) {
-    boolean result = contextUpdater.compareAndSet(this, null, context);
-    if (!result) {
-      Context currentPropagatedContext = contextUpdater.get(this);
-      if (currentPropagatedContext != context && logger.isLoggable(FINE)) {
-        logger.log(
-            FINE,
-            "Failed to propagate context because previous propagated context is already set; new: {0}, old: {1}",
-            new Object[] {context, currentPropagatedContext});
-      }
-    }
+  PropagatedContext(Context context) {
+    this.context = context;
   }
 
   void clear() {
-    contextUpdater.set(this, null);
-  }
-
-  Context getAndClear() {
-    return contextUpdater.getAndSet(this, null);
+    context = null;
   }
 
+  @Nullable
   Context get() {
-    return contextUpdater.get(this);
+    return context;
   }
 }
@@ -24,8 +24,10 @@ public final class TaskAdviceHelper {
     if (propagatedContext != null) {
       // setting the field to null removes it from the fallback map
       virtualField.set(task, null);
-      Context context = propagatedContext.getAndClear();
+      Context context = propagatedContext.get();
       if (context != null) {
+        // the carrier can still be referenced by the task's future
+        propagatedContext.clear();
         return context.makeCurrent();
       }
     }
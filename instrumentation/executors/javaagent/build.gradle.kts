@@ -46,7 +46,37 @@ testing {
 }
 
 tasks {
+  val testForkJoinRootOnly by registering(Test::class) {
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    filter {
+      includeTestsMatching("ForkJoinRootOnlyTest")
+    }
+    jvmArgs("-Dotel.instrumentation.executors.experimental-fork-join-root-only=true")
+  }
+
+  val testSkipUnsampledContext by registering(Test::class) {
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    filter {
+      includeTestsMatching("SkipUnsampledContextTest")
+    }
+    jvmArgs("-Dotel.instrumentation.executors.experimental-skip-unsampled-context=true")
+  }
+
   withType<Test>().configureEach {
+    // these tests need experimental options and only run in their dedicated tasks
+    if (name != testForkJoinRootOnly.name) {
+      filter {
+        excludeTestsMatching("ForkJoinRootOnlyTest")
+      }
+    }
+    if (name != testSkipUnsampledContext.name) {
+      filter {
+        excludeTestsMatching("SkipUnsampledContextTest")
+      }
+    }
+
     // needed for VirtualThreadTest on jdk21
     jvmArgs("--add-opens=java.base/java.lang=ALL-UNNAMED")
     jvmArgs("-XX:+IgnoreUnrecognizedVMOptions")
@@ -59,6 +89,6 @@ tasks {
   }
 
   check {
-    dependsOn(testing.suites)
+    dependsOn(testing.suites, testForkJoinRootOnly, testSkipUnsampledContext)
   }
 }
@@ -118,7 +118,7 @@ public class JavaExecutorInstrumentation implements TypeInstrumentation {
           return new ExecuteRunnableAdviceScope(callDepth, null, task);
         }
         Context context = Context.current();
-        if (!ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
+        if (!ExecutorAdviceHelper.shouldPropagateContextToExecutorTask(context, task)) {
           return new ExecuteRunnableAdviceScope(callDepth, null, task);
         }
         if (ContextPropagatingRunnable.shouldDecorateRunnable(task)) {
@@ -165,7 +165,7 @@ public class JavaExecutorInstrumentation implements TypeInstrumentation {
     @Advice.OnMethodEnter(suppress = Throwable.class)
     public static PropagatedContext enterJobSubmit(@Advice.Argument(0) ForkJoinTask<?> task) {
       Context context = Java8BytecodeBridge.currentContext();
-      if (ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
+      if (ExecutorAdviceHelper.shouldPropagateContextToExecutorTask(context, task)) {
         return ExecutorAdviceHelper.attachContextToTask(
             context, FORKJOINTASK_PROPAGATED_CONTEXT, task);
       }
@@ -206,7 +206,7 @@ public class JavaExecutorInstrumentation implements TypeInstrumentation {
           return new SubmitRunnableAdviceScope(callDepth, null, task);
         }
         Context context = Context.current();
-        if (!ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
+        if (!ExecutorAdviceHelper.shouldPropagateContextToExecutorTask(context, task)) {
           return new SubmitRunnableAdviceScope(callDepth, null, task);
         }
         if (ContextPropagatingRunnable.shouldDecorateRunnable(task)) {
@@ -270,7 +270,7 @@ public class JavaExecutorInstrumentation implements TypeInstrumentation {
           return new CallableAdviceScope(callDepth, null, task);
         }
         Context context = Context.current();
-        if (!ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
+        if (!ExecutorAdviceHelper.shouldPropagateContextToExecutorTask(context, task)) {
           return new CallableAdviceScope(callDepth, null, task);
         }
         if (ContextPropagatingCallable.shouldDecorateCallable(task)) {
@@ -347,7 +347,7 @@ public class JavaExecutorInstrumentation implements TypeInstrumentation {
         // first, go through the list and wrap all Callables that need to be wrapped
         List<Callable<?>> list = null;
         for (Callable<?> task : tasks) {
-          if (!ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
+          if (!ExecutorAdviceHelper.shouldPropagateContextToExecutorTask(context, task)) {
             continue;
           }
           if (ContextPropagatingCallable.shouldDecorateCallable(task)) {
@@ -360,7 +360,7 @@ public class JavaExecutorInstrumentation implements TypeInstrumentation {
         }
 
         for (Callable<?> task : tasks) {
-          if (ExecutorAdviceHelper.shouldPropagateContext(context, task)
+          if (ExecutorAdviceHelper.shouldPropagateContextToExecutorTask(context, task)
               && !ContextPropagatingCallable.shouldDecorateCallable(task)) {
             ExecutorAdviceHelper.attachContextToTask(context, CALLABLE_PROPAGATED_CONTEXT, task);
             // if there are wrapped Callables, we need to add the unwrapped ones as well
@@ -106,7 +106,7 @@ public class JavaForkJoinTaskInstrumentation implements TypeInstrumentation {
     @Advice.OnMethodEnter(suppress = Throwable.class)
     public static PropagatedContext enterFork(@Advice.This ForkJoinTask<?> task) {
       Context context = Java8BytecodeBridge.currentContext();
-      if (ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
+      if (ExecutorAdviceHelper.shouldPropagateContextToFork(context, task)) {
         return ExecutorAdviceHelper.attachContextToTask(
             context, FORKJOINTASK_PROPAGATED_CONTEXT, task);
       }
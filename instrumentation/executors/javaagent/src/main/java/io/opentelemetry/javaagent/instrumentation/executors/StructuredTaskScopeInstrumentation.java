@@ -44,10 +44,14 @@ public class StructuredTaskScopeInstrumentation implements TypeInstrumentation {
     @Advice.OnMethodEnter(suppress = Throwable.class)
     public static PropagatedContext enterCallableFork(@Advice.Argument(0) Callable<?> task) {
       Context context = Java8BytecodeBridge.currentContext();
-      if (ExecutorAdviceHelper.shouldPropagateContext(context, task)) {
-        return ExecutorAdviceHelper.attachContextToTask(context, CALLABLE_PROPAGATED_CONTEXT, task);
+      if (!ExecutorAdviceHelper.shouldPropagateContextToExecutorTask(context, task)) {
+        return null;
       }
-      return null;
+      // fork starts the thread that runs the task, which can inherit the context instead
+      if (ExecutorAdviceHelper.beginContextInheritance()) {
+        return null;
+      }
+      return ExecutorAdviceHelper.attachContextToTask(context, CALLABLE_PROPAGATED_CONTEXT, task);
     }
 
     @Advice.OnMethodExit(onThrowable = Throwable.class, suppress = Throwable.class)
@@ -55,6 +59,7 @@ public class StructuredTaskScopeInstrumentation implements TypeInstrumentation {
         @Advice.Argument(0) Callable<?> task,
         @Advice.Enter PropagatedContext propagatedContext,
         @Advice.Thrown Throwable throwable) {
+      ExecutorAdviceHelper.endContextInheritance();
       ExecutorAdviceHelper.cleanUpAfterSubmit(
           propagatedContext, throwable, CALLABLE_PROPAGATED_CONTEXT, task);
     }
@@ -0,0 +1,66 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+// runs with otel.instrumentation.executors.experimental-fork-join-root-only=true
+class ForkJoinRootOnlyTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = AgentInstrumentationExtension.create();
+
+  private static final ForkJoinPool pool = new ForkJoinPool(2);
+
+  @AfterAll
+  static void tearDown() {
+    pool.shutdown();
+  }
+
+  @Test
+  void propagatesToTaskForkedOutsideOfPool() {
+    ForkJoinTask<?> forked =
+        testing.runWithSpan(
+            "parent",
+            () -> ForkJoinTask.adapt(() -> testing.runWithSpan("forked", () -> {})).fork());
+    forked.join();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("parent").hasNoParent(),
+                span -> span.hasName("forked").hasParent(trace.getSpan(0))));
+  }
+
+  @Test
+  void skipsTaskForkedByPoolThread() throws Exception {
+    ForkJoinTask<?> forked =
+        testing.runWithSpan(
+            "parent",
+            () ->
+                pool.submit(
+                        () -> {
+                          testing.runWithSpan("root", () -> {});
+                          return ForkJoinTask.adapt(() -> testing.runWithSpan("forked", () -> {}))
+                              .fork();
+                        })
+                    .get());
+    forked.join();
+
+    testing.waitAndAssertTraces(
+        trace ->
+            trace.hasSpansSatisfyingExactly(
+                span -> span.hasName("parent").hasNoParent(),
+                span -> span.hasName("root").hasParent(trace.getSpan(0))),
+        trace -> trace.hasSpansSatisfyingExactly(span -> span.hasName("forked").hasNoParent()));
+  }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
+import io.opentelemetry.instrumentation.testing.junit.AgentInstrumentationExtension;
+import io.opentelemetry.instrumentation.testing.junit.InstrumentationExtension;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.RegisterExtension;
+
+// runs with otel.instrumentation.executors.experimental-skip-unsampled-context=true
+class SkipUnsampledContextTest {
+
+  @RegisterExtension
+  static final InstrumentationExtension testing = AgentInstrumentationExtension.create();
+
+  private static final Span unsampledSpan =
+      Span.wrap(
+          SpanContext.create(
+              "ff01020304050600ff0a0b0c0d0e0f00",
+              "090a0b0c0d0e0f00",
+              TraceFlags.getDefault(),
+              TraceState.getDefault()));
+
+  private static final ExecutorService executor = Executors.newSingleThreadExecutor();
+
+  @AfterAll
+  static void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  void skipsUnsampledSpanStartedByInstrumenter() throws Exception {
+    Instrumenter<String, Void> instrumenter =
+        Instrumenter.<String, Void>builder(testing.getOpenTelemetry(), "test", name -> name)
+            .buildInstrumenter();
+    // the parent based sampler doesn't sample the children of an unsampled parent
+    Context context = instrumenter.start(Context.root().with(unsampledSpan), "parent");
+
+    SpanContext taskSpanContext;
+    try (Scope ignored = context.makeCurrent()) {
+      assertThat(Span.current().getSpanContext().isValid()).isTrue();
+      assertThat(Span.current().getSpanContext().isSampled()).isFalse();
+      taskSpanContext = executor.submit(() -> Span.current().getSpanContext()).get();
+    } finally {
+      instrumenter.end(context, "parent", null, null);
+    }
+
+    assertThat(taskSpanContext.isValid()).isFalse();
+  }
+
+  @Test
+  void skipsUnsampledApiSpan() throws Exception {
+    SpanContext taskSpanContext;
+    try (Scope ignored = unsampledSpan.makeCurrent()) {
+      taskSpanContext = executor.submit(() -> Span.current().getSpanContext()).get();
+    }
+
+    assertThat(taskSpanContext.isValid()).isFalse();
+  }
+
+  @Test
+  void propagatesUnsampledSpanWithBaggage() throws Exception {
+    Baggage baggage = Baggage.builder().put("key", "value").build();
+
+    SpanContext taskSpanContext;
+    String taskBaggageValue;
+    try (Scope ignored = Context.current().with(unsampledSpan).with(baggage).makeCurrent()) {
+      taskSpanContext = executor.submit(() -> Span.current().getSpanContext()).get();
+      taskBaggageValue = executor.submit(() -> Baggage.current().getEntryValue("key")).get();
+    }
+
+    assertThat(taskSpanContext).isEqualTo(unsampledSpan.getSpanContext());
+    assertThat(taskBaggageValue).isEqualTo("value");
+  }
+
+  @Test
+  void propagatesSampledSpan() throws Exception {
+    SpanContext[] spanContexts =
+        testing.runWithSpan(
+            "parent",
+            () ->
+                new SpanContext[] {
+                  Span.current().getSpanContext(),
+                  executor.submit(() -> Span.current().getSpanContext()).get()
+                });
+
+    assertThat(spanContexts[1]).isEqualTo(spanContexts[0]);
+  }
+}
@@ -2,6 +2,7 @@ import kotlin.math.max
 
 plugins {
   id("otel.javaagent-testing")
+  id("otel.jmh-conventions")
 }
 
 dependencies {
@@ -9,6 +10,9 @@ dependencies {
 
   testCompileOnly(project(":instrumentation:executors:bootstrap"))
   testImplementation(project(":instrumentation:executors:testing"))
+
+  jmhImplementation(project(":javaagent-extension-api"))
+  jmhImplementation(project(":javaagent-tooling"))
 }
 
 otelJava {
@@ -37,3 +41,19 @@ tasks.withType<Test>().configureEach {
   // needed for structured concurrency test
   jvmArgs("--enable-preview")
 }
+
+tasks {
+  val testContextHolderStorage by registering(Test::class) {
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+    // forks inherit the context from the holder storage instead of propagating it to the task
+    filter {
+      includeTestsMatching("StructuredTaskScopeTest")
+    }
+    jvmArgs("-Dotel.javaagent.experimental.context-holder-storage.enabled=true")
+  }
+
+  check {
+    dependsOn(testContextHolderStorage)
+  }
+}
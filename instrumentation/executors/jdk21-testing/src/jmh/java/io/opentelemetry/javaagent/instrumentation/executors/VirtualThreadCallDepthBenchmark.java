@@ -0,0 +1,56 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import io.opentelemetry.javaagent.bootstrap.CallDepth;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+// run with -prof gc (the default for jmh here) and compare the gc.alloc.rate.norm with
+// VirtualThreadCompactCallDepthBenchmark: for virtualThread it is the memory that a short-lived
+// virtual thread needs for its call depths on top of the thread itself, for nestedCalls it shows
+// what a thread that already has its call depths allocates per request
+@Fork(1)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@BenchmarkMode(Mode.AverageTime)
+public class VirtualThreadCallDepthBenchmark {
+
+  // stand-ins for the classes of the instrumentations that a request passes through, e.g. a
+  // servlet, an http client and a jdbc driver
+  private static final Class<?>[] instrumentedClasses = {
+    Runnable.class,
+    Thread.class,
+    String.class,
+    Integer.class,
+    Long.class,
+    Object.class,
+    Class.class,
+    ClassLoader.class
+  };
+
+  @Benchmark
+  public void virtualThread() throws InterruptedException {
+    Thread.ofVirtual().start(VirtualThreadCallDepthBenchmark::nestedCalls).join();
+  }
+
+  @Benchmark
+  public void nestedCalls() {
+    for (Class<?> instrumentedClass : instrumentedClasses) {
+      CallDepth.forClass(instrumentedClass).getAndIncrement();
+    }
+    for (Class<?> instrumentedClass : instrumentedClasses) {
+      CallDepth.forClass(instrumentedClass).decrementAndGet();
+    }
+  }
+}
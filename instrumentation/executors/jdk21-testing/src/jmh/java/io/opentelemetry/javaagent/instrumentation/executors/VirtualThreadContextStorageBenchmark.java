@@ -0,0 +1,78 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.instrumentation.executors;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.ContextStorage;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.javaagent.tooling.ContextHolderStorage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+// every invocation runs a million virtual threads that each make a few nested contexts current,
+// like the spans of a request that passes through several instrumentations. Compare the run time
+// and the gc.alloc.rate.norm of the thread local storage with the holder storage that can be
+// enabled with -Dotel.javaagent.experimental.context-holder-storage.enabled=true
+@Fork(1)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@BenchmarkMode(Mode.SingleShotTime)
+@State(org.openjdk.jmh.annotations.Scope.Benchmark)
+public class VirtualThreadContextStorageBenchmark {
+
+  private static final int VIRTUAL_THREADS = 1_000_000;
+  private static final int NESTED_CONTEXTS = 4;
+  private static final ContextKey<Integer> KEY = ContextKey.named("depth");
+
+  @Param({"threadLocal", "holder"})
+  public String storageType;
+
+  private ContextStorage storage;
+  private Context[] contexts;
+
+  @Setup
+  public void setUp() {
+    storage =
+        storageType.equals("holder") ? new ContextHolderStorage() : ContextStorage.defaultStorage();
+    contexts = new Context[NESTED_CONTEXTS];
+    Context context = Context.root();
+    for (int i = 0; i < NESTED_CONTEXTS; i++) {
+      context = context.with(KEY, i);
+      contexts[i] = context;
+    }
+  }
+
+  @Benchmark
+  public void virtualThreads() {
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < VIRTUAL_THREADS; i++) {
+        executor.execute(() -> makeCurrent(0));
+      }
+    }
+  }
+
+  private void makeCurrent(int depth) {
+    if (depth == NESTED_CONTEXTS) {
+      return;
+    }
+    try (Scope ignored = storage.attach(contexts[depth])) {
+      makeCurrent(depth + 1);
+    }
+  }
+}
@@ -33,22 +33,26 @@ public class JdbcAdviceScope {
   }
 
   public static JdbcAdviceScope startBatch(CallDepth callDepth, Statement statement) {
-    return start(callDepth, () -> createBatchRequest(statement));
+    return start(callDepth, () -> createBatchRequest(statement), null);
   }
 
   public static JdbcAdviceScope startStatement(
       CallDepth callDepth, String sql, Statement statement) {
-    return start(callDepth, () -> DbRequest.create(statement, sql));
+    return start(callDepth, () -> DbRequest.create(statement, sql), null);
   }
 
   public static JdbcAdviceScope startPreparedStatement(
       CallDepth callDepth, PreparedStatement preparedStatement) {
     return start(
         callDepth,
-        () -> DbRequest.create(preparedStatement, JdbcData.getParameters(preparedStatement)));
+        () -> DbRequest.create(preparedStatement, JdbcData.getParameters(preparedStatement)),
+        preparedStatement);
   }
 
-  private static JdbcAdviceScope start(CallDepth callDepth, Supplier<DbRequest> requestSupplier) {
+  private static JdbcAdviceScope start(
+      CallDepth callDepth,
+      Supplier<DbRequest> requestSupplier,
+      @Nullable PreparedStatement preparedStatement) {
     // Connection#getMetaData() may execute a Statement or PreparedStatement to retrieve DB info
     // this happens before the DB CLIENT span is started (and put in the current context), so this
     // instrumentation runs again and the shouldStartSpan() check always returns true - and so on
@@ -66,6 +70,9 @@ public class JdbcAdviceScope {
       return new JdbcAdviceScope(callDepth, null, null, null);
     }
 
+    if (preparedStatement != null) {
+      JdbcData.putSanitizedPreparedStatement(preparedStatement);
+    }
     Context context = statementInstrumenter().start(parentContext, request);
     return new JdbcAdviceScope(callDepth, request, context, context.makeCurrent());
   }
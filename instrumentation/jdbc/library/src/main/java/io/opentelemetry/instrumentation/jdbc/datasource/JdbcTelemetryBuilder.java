@@ -7,6 +7,7 @@ package io.opentelemetry.instrumentation.jdbc.datasource;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
 import io.opentelemetry.api.OpenTelemetry;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlStatementSanitizer;
 import io.opentelemetry.instrumentation.api.incubator.semconv.db.internal.SqlCommenter;
 import io.opentelemetry.instrumentation.api.incubator.semconv.db.internal.SqlCommenterBuilder;
 import io.opentelemetry.instrumentation.api.instrumenter.Instrumenter;
@@ -26,9 +27,15 @@ public final class JdbcTelemetryBuilder {
   private boolean transactionInstrumenterEnabled = false;
   private boolean captureQueryParameters = false;
   private final SqlCommenterBuilder sqlCommenterBuilder = SqlCommenter.builder();
+  private int statementSanitizerCacheSize = 0;
+  private int statementSanitizerLargeStatementThreshold = 0;
 
   static {
     Experimental.internalSetSqlCommenterBuilder(builder -> builder.sqlCommenterBuilder);
+    Experimental.internalSetStatementSanitizerCacheSize(
+        (builder, cacheSize) -> builder.statementSanitizerCacheSize = cacheSize);
+    Experimental.internalSetStatementSanitizerLargeStatementThreshold(
+        (builder, threshold) -> builder.statementSanitizerLargeStatementThreshold = threshold);
   }
 
   JdbcTelemetryBuilder(OpenTelemetry openTelemetry) {
@@ -78,6 +85,9 @@ public final class JdbcTelemetryBuilder {
 
   /** Returns a new {@link JdbcTelemetry} with the settings of this {@link JdbcTelemetryBuilder}. */
   public JdbcTelemetry build() {
+    SqlStatementSanitizer.ensureCacheCapacity(statementSanitizerCacheSize);
+    SqlStatementSanitizer.ensureLargeStatementThreshold(statementSanitizerLargeStatementThreshold);
+
     Instrumenter<DataSource, DbInfo> dataSourceInstrumenter =
         JdbcInstrumenterFactory.createDataSourceInstrumenter(
             openTelemetry, dataSourceInstrumenterEnabled);
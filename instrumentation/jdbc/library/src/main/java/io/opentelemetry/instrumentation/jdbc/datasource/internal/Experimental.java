@@ -8,6 +8,7 @@ package io.opentelemetry.instrumentation.jdbc.datasource.internal;
 import io.opentelemetry.context.propagation.TextMapPropagator;
 import io.opentelemetry.instrumentation.api.incubator.semconv.db.internal.SqlCommenterBuilder;
 import io.opentelemetry.instrumentation.jdbc.datasource.JdbcTelemetryBuilder;
+import java.util.function.BiConsumer;
 import java.util.function.Function;
 import javax.annotation.Nullable;
 
@@ -21,6 +22,13 @@ public final class Experimental {
   @Nullable
   private static volatile Function<JdbcTelemetryBuilder, SqlCommenterBuilder> sqlCommenterBuilder;
 
+  @Nullable
+  private static volatile BiConsumer<JdbcTelemetryBuilder, Integer> setStatementCacheSize;
+
+  @Nullable
+  private static volatile BiConsumer<JdbcTelemetryBuilder, Integer>
+      setStatementCacheLargeStatementThreshold;
+
   /**
    * Sets whether to augment sql query with comment containing the tracing information. See <a
    * href="https://google.github.io/sqlcommenter/">sqlcommenter</a> for more info.
@@ -65,10 +73,43 @@ public final class Experimental {
     }
   }
 
+  /**
+   * Sets the minimum number of sanitized statements that are cached. The cache is shared by all
+   * JDBC instrumentations in the application, so the largest configured size wins. Default is 1000.
+   */
+  public static void setStatementSanitizerCacheSize(JdbcTelemetryBuilder builder, int cacheSize) {
+    if (setStatementCacheSize != null) {
+      setStatementCacheSize.accept(builder, cacheSize);
+    }
+  }
+
+  /**
+   * Sets the length in characters up to which sanitized statements are cached, longer statements
+   * are sanitized on every execution. The threshold is shared by all JDBC instrumentations in the
+   * application, so the largest configured value wins. Default is 10240.
+   */
+  public static void setStatementSanitizerLargeStatementThreshold(
+      JdbcTelemetryBuilder builder, int threshold) {
+    if (setStatementCacheLargeStatementThreshold != null) {
+      setStatementCacheLargeStatementThreshold.accept(builder, threshold);
+    }
+  }
+
   public static void internalSetSqlCommenterBuilder(
       Function<JdbcTelemetryBuilder, SqlCommenterBuilder> sqlCommenterBuilder) {
     Experimental.sqlCommenterBuilder = sqlCommenterBuilder;
   }
 
+  public static void internalSetStatementSanitizerCacheSize(
+      BiConsumer<JdbcTelemetryBuilder, Integer> setStatementCacheSize) {
+    Experimental.setStatementCacheSize = setStatementCacheSize;
+  }
+
+  public static void internalSetStatementSanitizerLargeStatementThreshold(
+      BiConsumer<JdbcTelemetryBuilder, Integer> setStatementCacheLargeStatementThreshold) {
+    Experimental.setStatementCacheLargeStatementThreshold =
+        setStatementCacheLargeStatementThreshold;
+  }
+
   private Experimental() {}
 }
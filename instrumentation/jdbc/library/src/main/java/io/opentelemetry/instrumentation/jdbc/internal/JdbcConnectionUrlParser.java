@@ -6,15 +6,20 @@
 package io.opentelemetry.instrumentation.jdbc.internal;
 
 import static io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo.DEFAULT;
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.logging.Level.FINE;
 import static java.util.regex.Pattern.CASE_INSENSITIVE;
 
 import com.google.errorprone.annotations.CanIgnoreReturnValue;
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
 import java.io.UnsupportedEncodingException;
 import java.net.URI;
 import java.net.URLDecoder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Arrays;
+import java.util.Base64;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -25,6 +30,7 @@ import java.util.Properties;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import javax.annotation.Nullable;
 
 /**
  * Structured as an enum instead of a class hierarchy to allow iterating through the parsers
@@ -995,6 +1001,16 @@ public enum JdbcConnectionUrlParser {
 
   private static final Map<String, JdbcConnectionUrlParser> typeParsers = new HashMap<>();
 
+  // connection properties that are copied into the parsed DbInfo, see populateStandardProperties()
+  private static final String[] STANDARD_PROPERTIES = {
+    "user", "databasename", "databaseName", "servername", "serverName", "portnumber", "portNumber"
+  };
+
+  // parse results by a digest of the url and standard properties, so that opening a connection
+  // doesn't re-parse the same url over and over
+  private static final Cache<String, DbInfo> parsedUrls =
+      Cache.bounded("jdbc-connection-urls", 100);
+
   static {
     for (JdbcConnectionUrlParser parser : JdbcConnectionUrlParser.values()) {
       for (String key : parser.typeKeys) {
@@ -1017,6 +1033,50 @@ public enum JdbcConnectionUrlParser {
     if (connectionUrl == null) {
       return DEFAULT;
     }
+    String cacheKey = cacheKey(connectionUrl, props);
+    if (cacheKey == null) {
+      return parseImpl(connectionUrl, props);
+    }
+    return parsedUrls.computeIfAbsent(cacheKey, unused -> parseImpl(connectionUrl, props));
+  }
+
+  /**
+   * Returns a key that identifies the parse result: a digest of the url and the values of the
+   * standard properties. The url may contain credentials, e.g. {@code user:password@host} or a
+   * {@code password} parameter, so only the digest is kept in the cache, never the url itself.
+   * Returns {@code null} if the properties can't be part of a key.
+   */
+  // Visible for testing
+  @Nullable
+  static String cacheKey(String connectionUrl, @Nullable Properties props) {
+    if (props == null || props.isEmpty()) {
+      return digest(connectionUrl);
+    }
+    StringBuilder key = new StringBuilder(connectionUrl);
+    for (String name : STANDARD_PROPERTIES) {
+      key.append('\u0000');
+      Object value = props.get(name);
+      if (value instanceof String) {
+        key.append(name).append('=').append((String) value);
+      } else if (value != null) {
+        return null;
+      }
+    }
+    return digest(key.toString());
+  }
+
+  @Nullable
+  private static String digest(String key) {
+    MessageDigest digest;
+    try {
+      digest = MessageDigest.getInstance("SHA-256");
+    } catch (NoSuchAlgorithmException e) {
+      return null;
+    }
+    return Base64.getEncoder().encodeToString(digest.digest(key.getBytes(UTF_8)));
+  }
+
+  private static DbInfo parseImpl(String connectionUrl, Properties props) {
     // Make this easier and ignore case.
     connectionUrl = connectionUrl.toLowerCase(Locale.ROOT);
 
@@ -5,9 +5,11 @@
 
 package io.opentelemetry.instrumentation.jdbc.internal;
 
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlStatementInfo;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlStatementSanitizer;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.internal.SanitizedStatements;
 import io.opentelemetry.instrumentation.api.util.VirtualField;
 import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
-import java.lang.ref.WeakReference;
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.Statement;
@@ -17,7 +19,6 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.WeakHashMap;
 
 /**
  * Holds info associated with JDBC connections and prepared statements.
@@ -27,11 +28,14 @@ import java.util.WeakHashMap;
  */
 public final class JdbcData {
 
-  private static final Map<DbInfo, WeakReference<DbInfo>> dbInfos = new WeakHashMap<>();
+  private static final WeakInterner<DbInfo> dbInfos = new WeakInterner<>();
   public static final VirtualField<Connection, DbInfo> connectionInfo =
       VirtualField.find(Connection.class, DbInfo.class);
   public static final VirtualField<PreparedStatement, String> preparedStatement =
       VirtualField.find(PreparedStatement.class, String.class);
+  private static final VirtualField<PreparedStatement, SanitizedPreparedStatement>
+      sanitizedPreparedStatement =
+          VirtualField.find(PreparedStatement.class, SanitizedPreparedStatement.class);
   private static final VirtualField<Statement, StatementBatchInfo> statementBatch =
       VirtualField.find(Statement.class, StatementBatchInfo.class);
   private static final VirtualField<PreparedStatement, PreparedStatementBatchInfo>
@@ -40,6 +44,8 @@ public final class JdbcData {
   private static final VirtualField<PreparedStatement, Map<String, String>> parameters =
       VirtualField.find(PreparedStatement.class, Map.class);
 
+  private static final SqlStatementSanitizer sanitizer = SqlStatementSanitizer.create(true);
+
   private JdbcData() {}
 
   /**
@@ -51,16 +57,34 @@ public final class JdbcData {
    *     and a different instance later if the original interned instance was garbage collected.
    */
   public static DbInfo intern(DbInfo dbInfo) {
-    synchronized (dbInfos) {
-      WeakReference<DbInfo> reference = dbInfos.get(dbInfo);
-      if (reference != null) {
-        DbInfo result = reference.get();
-        if (result != null) {
-          return result;
-        }
-      }
-      dbInfos.put(dbInfo, new WeakReference<>(dbInfo));
-      return dbInfo;
+    return dbInfos.intern(dbInfo);
+  }
+
+  /**
+   * Returns the sanitized form of the SQL the statement was prepared with. It is computed on first
+   * use and then kept on the statement, so repeated executions of the same prepared statement don't
+   * need to look it up in the sanitizer cache.
+   */
+  public static SqlStatementInfo getSanitizedPreparedStatement(
+      PreparedStatement statement, String sql) {
+    SanitizedPreparedStatement sanitized = sanitizedPreparedStatement.get(statement);
+    // drivers may reuse statement instances, make sure the sql is still the same
+    if (sanitized == null || !sanitized.sql.equals(sql)) {
+      sanitized = new SanitizedPreparedStatement(sql, sanitizer.sanitize(sql));
+      sanitizedPreparedStatement.set(statement, sanitized);
+    }
+    return sanitized.info;
+  }
+
+  /**
+   * Hands the memoized sanitized SQL of the statement to the sql extractors of the next {@code
+   * Instrumenter.start()} on the current thread. Only call this once {@code shouldStart()} returned
+   * true, the value is not cleared until {@code start()} runs.
+   */
+  public static void putSanitizedPreparedStatement(PreparedStatement statement) {
+    String sql = preparedStatement.get(statement);
+    if (sql != null) {
+      SanitizedStatements.put(sql, getSanitizedPreparedStatement(statement, sql));
     }
   }
 
@@ -106,6 +130,7 @@ public final class JdbcData {
     if (statement instanceof PreparedStatement) {
       PreparedStatement prepared = (PreparedStatement) statement;
       preparedStatement.set(prepared, null);
+      sanitizedPreparedStatement.set(prepared, null);
       preparedStatementBatch.set(prepared, null);
       parameters.set(prepared, null);
     }
@@ -153,6 +178,16 @@ public final class JdbcData {
     }
   }
 
+  private static final class SanitizedPreparedStatement {
+    final String sql;
+    final SqlStatementInfo info;
+
+    SanitizedPreparedStatement(String sql, SqlStatementInfo info) {
+      this.sql = sql;
+      this.info = info;
+    }
+  }
+
   private static final class PreparedStatementBatchInfo {
     private long batchSize;
 
@@ -0,0 +1,80 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.annotation.Nullable;
+
+/**
+ * Interns values by equality without keeping them alive and without a global lock. Unlike the
+ * weak caches in instrumentation-api, which compare keys by identity, this compares the interned
+ * values with {@link Object#equals(Object)}.
+ */
+final class WeakInterner<T> {
+
+  private final ConcurrentHashMap<WeakElement<T>, WeakElement<T>> elements =
+      new ConcurrentHashMap<>();
+  private final ReferenceQueue<T> queue = new ReferenceQueue<>();
+
+  T intern(T value) {
+    expungeStaleElements();
+
+    WeakElement<T> element = new WeakElement<>(value, queue);
+    while (true) {
+      WeakElement<T> existing = elements.putIfAbsent(element, element);
+      if (existing == null) {
+        return value;
+      }
+      T result = existing.get();
+      if (result != null) {
+        return result;
+      }
+      // collected but not yet expunged, replace it
+      elements.remove(existing, existing);
+    }
+  }
+
+  // visible for testing
+  int size() {
+    expungeStaleElements();
+    return elements.size();
+  }
+
+  private void expungeStaleElements() {
+    Object reference;
+    while ((reference = queue.poll()) != null) {
+      elements.remove(reference, reference);
+    }
+  }
+
+  private static final class WeakElement<T> extends WeakReference<T> {
+    private final int hashCode;
+
+    WeakElement(T referent, ReferenceQueue<? super T> queue) {
+      super(referent, queue);
+      this.hashCode = referent.hashCode();
+    }
+
+    @Override
+    public int hashCode() {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(@Nullable Object obj) {
+      if (obj == this) {
+        return true;
+      }
+      if (!(obj instanceof WeakElement)) {
+        return false;
+      }
+      Object referent = get();
+      return referent != null && referent.equals(((WeakElement<?>) obj).get());
+    }
+  }
+}
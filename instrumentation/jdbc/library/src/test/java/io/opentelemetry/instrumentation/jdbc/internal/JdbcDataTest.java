@@ -0,0 +1,54 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.SqlStatementInfo;
+import io.opentelemetry.instrumentation.api.incubator.semconv.db.internal.SanitizedStatements;
+import io.opentelemetry.instrumentation.api.internal.InstrumenterContext;
+import java.sql.PreparedStatement;
+import java.util.Collections;
+import org.junit.jupiter.api.Test;
+
+class JdbcDataTest {
+
+  @Test
+  void sanitizedPreparedStatementIsMemoized() {
+    PreparedStatement statement = mock(PreparedStatement.class);
+    String sql = "SELECT * FROM users WHERE id = 1";
+
+    SqlStatementInfo info = JdbcData.getSanitizedPreparedStatement(statement, sql);
+    assertThat(info.getFullStatement()).isEqualTo("SELECT * FROM users WHERE id = ?");
+    assertThat(info.getMainIdentifier()).isEqualTo("users");
+    assertThat(JdbcData.getSanitizedPreparedStatement(statement, sql)).isSameAs(info);
+
+    // statement reused for a different query
+    SqlStatementInfo other =
+        JdbcData.getSanitizedPreparedStatement(statement, "DELETE FROM orders WHERE id = 2");
+    assertThat(other.getMainIdentifier()).isEqualTo("orders");
+  }
+
+  @Test
+  void sanitizedPreparedStatementIsOnlySharedWhenPut() {
+    PreparedStatement statement = mock(PreparedStatement.class);
+    String sql = "SELECT * FROM users WHERE id = 1";
+    JdbcData.preparedStatement.set(statement, sql);
+
+    try {
+      // creating the request must not leave anything behind in case the span is not started
+      DbRequest.create(statement, Collections.emptyMap());
+      assertThat(SanitizedStatements.sanitizedStatements()).isEmpty();
+
+      JdbcData.putSanitizedPreparedStatement(statement);
+      assertThat(SanitizedStatements.sanitizedStatements())
+          .containsEntry(sql, JdbcData.getSanitizedPreparedStatement(statement, sql));
+    } finally {
+      InstrumenterContext.reset();
+    }
+  }
+}
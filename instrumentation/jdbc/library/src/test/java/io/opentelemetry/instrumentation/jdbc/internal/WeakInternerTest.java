@@ -0,0 +1,43 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.instrumentation.jdbc.internal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.instrumentation.jdbc.internal.dbinfo.DbInfo;
+import io.opentelemetry.instrumentation.test.utils.GcUtils;
+import java.lang.ref.WeakReference;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+
+class WeakInternerTest {
+
+  @Test
+  void internsEqualValues() {
+    WeakInterner<DbInfo> interner = new WeakInterner<>();
+    DbInfo first = DbInfo.builder().system("postgresql").host("db").port(5432).build();
+    DbInfo second = DbInfo.builder().system("postgresql").host("db").port(5432).build();
+    DbInfo other = DbInfo.builder().system("postgresql").host("other").port(5432).build();
+
+    assertThat(interner.intern(first)).isSameAs(first);
+    assertThat(interner.intern(second)).isSameAs(first);
+    assertThat(interner.intern(other)).isSameAs(other);
+    assertThat(interner.size()).isEqualTo(2);
+  }
+
+  @Test
+  void doesNotRetainValues() throws Exception {
+    WeakInterner<DbInfo> interner = new WeakInterner<>();
+    DbInfo value = DbInfo.builder().system("h2").host("memory").build();
+    interner.intern(value);
+    WeakReference<DbInfo> reference = new WeakReference<>(value);
+    value = null;
+
+    GcUtils.awaitGc(reference, Duration.ofSeconds(10));
+
+    assertThat(interner.size()).isZero();
+  }
+}
@@ -68,7 +68,8 @@ public final class LoggingEventMapper {
   private static final boolean supportsLogstashMarkers = supportsLogstashMarkers();
   private static final boolean supportsLogstashStructuredArguments =
       supportsLogstashStructuredArguments();
-  private static final Cache<String, AttributeKey<String>> attributeKeys = Cache.bounded(100);
+  private static final Cache<String, AttributeKey<String>> attributeKeys =
+      Cache.bounded("logback-attribute-keys", 100);
 
   private static final AttributeKey<List<String>> LOG_MARKER =
       AttributeKey.stringArrayKey("logback.marker");
@@ -95,10 +95,41 @@ public final class OpenTelemetryAgent {
     // after premain execution completes
     JarFile agentJar = new JarFile(javaagentFile, false);
     verifyJarManifestMainClassIsThis(javaagentFile, agentJar);
-    inst.appendToBootstrapClassLoaderSearch(agentJar);
+    if (isOnBootClassPath(javaagentFile)) {
+      agentJar.close();
+    } else {
+      inst.appendToBootstrapClassLoaderSearch(agentJar);
+    }
     return javaagentFile;
   }
 
+  // the agent jar can also be put on the boot class path with -Xbootclasspath/a, this is needed
+  // for class data sharing because the JVM stops using the shared archive for application classes
+  // once the boot class path is appended at runtime
+  private static boolean isOnBootClassPath(File javaagentFile) {
+    // jdk.boot.class.path.append is set on java 9+, sun.boot.class.path on java 8
+    String bootClassPath =
+        System.getProperty("jdk.boot.class.path.append", System.getProperty("sun.boot.class.path"));
+    if (bootClassPath == null) {
+      return false;
+    }
+    File agentFile = canonicalFile(javaagentFile);
+    for (String entry : bootClassPath.split(File.pathSeparator)) {
+      if (!entry.isEmpty() && canonicalFile(new File(entry)).equals(agentFile)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static File canonicalFile(File file) {
+    try {
+      return file.getCanonicalFile();
+    } catch (IOException e) {
+      return file.getAbsoluteFile();
+    }
+  }
+
   // this protects against the case where someone adds the contents of opentelemetry-javaagent.jar
   // by mistake to their application's "uber.jar"
   //
@@ -16,6 +16,7 @@ import java.net.URL;
 import java.net.URLClassLoader;
 import java.net.URLConnection;
 import java.net.URLStreamHandler;
+import java.nio.ByteBuffer;
 import java.security.AllPermission;
 import java.security.CodeSource;
 import java.security.Permission;
@@ -46,6 +47,10 @@ public class AgentClassLoader extends URLClassLoader {
   private static final String AGENT_INITIALIZER_JAR =
       System.getProperty("otel.javaagent.experimental.initializer.jar", "");
 
+  private static final boolean CLASS_DATA_ARCHIVE_ENABLED =
+      Boolean.parseBoolean(
+          System.getProperty("otel.javaagent.experimental.class-data-archive.enabled", "true"));
+
   private static final String META_INF = "META-INF/";
   private static final String META_INF_VERSIONS = META_INF + "versions/";
 
@@ -68,6 +73,7 @@ public class AgentClassLoader extends URLClassLoader {
   private final CodeSource codeSource;
   private final boolean isSecurityManagerSupportEnabled;
   private final Manifest manifest;
+  @Nullable private final ClassDataArchive classDataArchive;
 
   // Used by tests
   public AgentClassLoader(File javaagentFile) {
@@ -127,6 +133,10 @@ public class AgentClassLoader extends URLClassLoader {
           new URL("x-internal-jar", null, 0, "/", new AgentClassLoaderUrlStreamHandler(jarFile));
       codeSource = new CodeSource(javaagentFile.toURI().toURL(), (Certificate[]) null);
       manifest = jarFile.getManifest();
+      classDataArchive =
+          CLASS_DATA_ARCHIVE_ENABLED
+              ? ClassDataArchive.open(javaagentFile, jarEntryPrefix + ClassDataArchive.ENTRY_NAME)
+              : null;
     } catch (IOException e) {
       throw new IllegalStateException("Unable to open agent jar", e);
     }
@@ -189,6 +199,15 @@ public class AgentClassLoader extends URLClassLoader {
   }
 
   private Class<?> findAgentClass(String name) throws ClassNotFoundException {
+    if (classDataArchive != null) {
+      // classes that have a multi release jar version are not in the archive
+      ByteBuffer bytes = classDataArchive.get(name.replace('.', '/') + ".class");
+      if (bytes != null) {
+        definePackageIfNeeded(name);
+        return defineClass(name, bytes, codeSource);
+      }
+    }
+
     AgentJarResource jarResource = findAgentJarResource(name.replace('.', '/') + ".class");
     if (jarResource != null) {
       byte[] bytes;
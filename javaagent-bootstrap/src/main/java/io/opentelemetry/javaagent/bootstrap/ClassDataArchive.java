@@ -0,0 +1,177 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import javax.annotation.Nullable;
+
+/**
+ * An uncompressed copy of the agent classes that is stored in the agent jar next to the {@code
+ * .classdata} entries, and that is memory mapped so that classes can be defined without inflating
+ * their jar entries. It is only present when the agent jar was built with {@code
+ * -PagentClassDataArchive=true}.
+ *
+ * <p>The archive starts with the magic number, the format version and the number of classes,
+ * followed by an index entry for every class that is sorted by the class resource name, then the
+ * names and then the class files. An index entry consists of the offset and length of the name and
+ * of the class file, relative to the start of the archive. All numbers are big endian ints and the
+ * names are ASCII.
+ */
+final class ClassDataArchive {
+
+  static final String ENTRY_NAME = "classdata.bin";
+
+  private static final int MAGIC = 0x4F544344;
+  private static final int VERSION = 1;
+  private static final int HEADER_SIZE = 12;
+  private static final int INDEX_ENTRY_SIZE = 16;
+
+  private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+  private static final int CENTRAL_DIRECTORY_ENTRY = 0x02014b50;
+  private static final int LOCAL_FILE_HEADER = 0x04034b50;
+  private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+  private static final int CENTRAL_DIRECTORY_ENTRY_SIZE = 46;
+  private static final int LOCAL_FILE_HEADER_SIZE = 30;
+  private static final int ZIP64_MARKER = 0xFFFFFFFF;
+
+  private final ByteBuffer archive;
+  private final int count;
+
+  private ClassDataArchive(ByteBuffer archive) {
+    this.archive = archive;
+    this.count = archive.getInt(8);
+  }
+
+  /**
+   * Returns the archive stored in the given entry of the jar, or {@code null} if the jar doesn't
+   * contain it uncompressed.
+   */
+  @Nullable
+  static ClassDataArchive open(File jar, String entryName) throws IOException {
+    ByteBuffer zip;
+    try (FileChannel channel = FileChannel.open(jar.toPath(), StandardOpenOption.READ)) {
+      // the mapping stays valid after the channel is closed
+      zip = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    }
+    ByteBuffer archive = findStoredEntry(zip.order(ByteOrder.LITTLE_ENDIAN), entryName);
+    if (archive == null
+        || archive.remaining() < HEADER_SIZE
+        || archive.getInt(0) != MAGIC
+        || archive.getInt(4) != VERSION) {
+      return null;
+    }
+    return new ClassDataArchive(archive);
+  }
+
+  @Nullable
+  private static ByteBuffer findStoredEntry(ByteBuffer zip, String entryName) {
+    int endOfCentralDirectory = findEndOfCentralDirectory(zip);
+    if (endOfCentralDirectory == -1) {
+      return null;
+    }
+    int centralDirectorySize = zip.getInt(endOfCentralDirectory + 12);
+    int centralDirectoryOffset = zip.getInt(endOfCentralDirectory + 16);
+    if (centralDirectorySize == ZIP64_MARKER || centralDirectoryOffset == ZIP64_MARKER) {
+      return null;
+    }
+
+    byte[] name = entryName.getBytes(StandardCharsets.UTF_8);
+    int position = centralDirectoryOffset;
+    int end = centralDirectoryOffset + centralDirectorySize;
+    while (position + CENTRAL_DIRECTORY_ENTRY_SIZE <= end
+        && zip.getInt(position) == CENTRAL_DIRECTORY_ENTRY) {
+      int nameLength = zip.getShort(position + 28) & 0xFFFF;
+      int extraLength = zip.getShort(position + 30) & 0xFFFF;
+      int commentLength = zip.getShort(position + 32) & 0xFFFF;
+      int nameOffset = position + CENTRAL_DIRECTORY_ENTRY_SIZE;
+      if (nameLength == name.length && nameEquals(zip, nameOffset, name)) {
+        boolean stored = zip.getShort(position + 10) == 0;
+        int size = zip.getInt(position + 20);
+        int localHeader = zip.getInt(position + 42);
+        if (!stored || size == ZIP64_MARKER || zip.getInt(localHeader) != LOCAL_FILE_HEADER) {
+          return null;
+        }
+        int dataOffset =
+            localHeader
+                + LOCAL_FILE_HEADER_SIZE
+                + (zip.getShort(localHeader + 26) & 0xFFFF)
+                + (zip.getShort(localHeader + 28) & 0xFFFF);
+        ByteBuffer data = zip.duplicate();
+        data.position(dataOffset).limit(dataOffset + size);
+        // slice() resets the byte order to big endian
+        return data.slice();
+      }
+      position = nameOffset + nameLength + extraLength + commentLength;
+    }
+    return null;
+  }
+
+  private static int findEndOfCentralDirectory(ByteBuffer zip) {
+    // the end of central directory record is followed by a comment of at most 64k
+    int last = zip.limit() - END_OF_CENTRAL_DIRECTORY_SIZE;
+    int first = Math.max(0, last - 0xFFFF);
+    for (int position = last; position >= first; position--) {
+      if (zip.getInt(position) == END_OF_CENTRAL_DIRECTORY) {
+        return position;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean nameEquals(ByteBuffer buffer, int offset, byte[] bytes) {
+    for (int i = 0; i < bytes.length; i++) {
+      if (buffer.get(offset + i) != bytes[i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Returns the class file for the given resource name, e.g. {@code java/lang/Object.class}, or
+   * {@code null} if the archive doesn't contain it. The returned buffer shares the memory of the
+   * archive.
+   */
+  @Nullable
+  ByteBuffer get(String resourceName) {
+    int low = 0;
+    int high = count - 1;
+    while (low <= high) {
+      int middle = (low + high) >>> 1;
+      int indexEntry = HEADER_SIZE + middle * INDEX_ENTRY_SIZE;
+      int comparison =
+          compare(resourceName, archive.getInt(indexEntry), archive.getInt(indexEntry + 4));
+      if (comparison > 0) {
+        low = middle + 1;
+      } else if (comparison < 0) {
+        high = middle - 1;
+      } else {
+        int dataOffset = archive.getInt(indexEntry + 8);
+        ByteBuffer data = archive.duplicate();
+        data.position(dataOffset).limit(dataOffset + archive.getInt(indexEntry + 12));
+        return data.slice();
+      }
+    }
+    return null;
+  }
+
+  private int compare(String name, int nameOffset, int nameLength) {
+    int length = Math.min(name.length(), nameLength);
+    for (int i = 0; i < length; i++) {
+      int difference = name.charAt(i) - (archive.get(nameOffset + i) & 0xFF);
+      if (difference != 0) {
+        return difference;
+      }
+    }
+    return name.length() - nameLength;
+  }
+}
@@ -6,15 +6,33 @@
 package io.opentelemetry.javaagent.bootstrap;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 
 import io.opentelemetry.sdk.OpenTelemetrySdk;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.lang.reflect.Method;
 import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
 import java.util.concurrent.Phaser;
+import java.util.jar.Attributes;
+import java.util.jar.JarEntry;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+import java.util.zip.CRC32;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.condition.DisabledOnOs;
 import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
 
 class AgentClassLoaderTest {
   private static final Method getClassLoadingLockMethod;
@@ -120,4 +138,92 @@ class AgentClassLoaderTest {
       assertThat(result.length > 0).isNotEqualTo(jdk8);
     }
   }
+
+  @Test
+  void loadsClassesFromClassDataArchive(@TempDir Path tempDir) throws Exception {
+    String resourceName = ArchivedClass.class.getName().replace('.', '/') + ".class";
+    byte[] bytecode;
+    try (InputStream in = ArchivedClass.class.getClassLoader().getResourceAsStream(resourceName)) {
+      bytecode = readAll(in);
+    }
+    SortedMap<String, byte[]> classes = new TreeMap<>();
+    classes.put("a/First.class", new byte[] {1});
+    classes.put(resourceName, bytecode);
+    classes.put("z/Last.class", new byte[] {2, 3});
+    File agentJar = tempDir.resolve("agent.jar").toFile();
+    writeAgentJar(agentJar, classDataArchive(classes));
+
+    ClassDataArchive archive =
+        ClassDataArchive.open(agentJar, "inst/" + ClassDataArchive.ENTRY_NAME);
+    assertThat(archive).isNotNull();
+    ByteBuffer last = archive.get("z/Last.class");
+    assertThat(last).isNotNull();
+    assertThat(last.remaining()).isEqualTo(2);
+    assertThat(last.get(1)).isEqualTo((byte) 3);
+    assertThat(archive.get("a/Missing.class")).isNull();
+
+    try (AgentClassLoader loader = new AgentClassLoader(agentJar, "inst", false)) {
+      // the jar has no classdata entry for the class, it can only come from the archive
+      Class<?> clazz = loader.loadClass(ArchivedClass.class.getName());
+      assertThat(clazz.getClassLoader()).isEqualTo(loader);
+      assertThatThrownBy(() -> loader.loadClass("a.Missing"))
+          .isInstanceOf(ClassNotFoundException.class);
+    }
+  }
+
+  private static byte[] classDataArchive(SortedMap<String, byte[]> classes) throws IOException {
+    ByteArrayOutputStream archive = new ByteArrayOutputStream();
+    try (DataOutputStream out = new DataOutputStream(archive)) {
+      out.writeInt(0x4F544344);
+      out.writeInt(1);
+      out.writeInt(classes.size());
+      int nameOffset = 12 + 16 * classes.size();
+      int dataOffset = nameOffset + classes.keySet().stream().mapToInt(String::length).sum();
+      for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+        out.writeInt(nameOffset);
+        out.writeInt(entry.getKey().length());
+        out.writeInt(dataOffset);
+        out.writeInt(entry.getValue().length);
+        nameOffset += entry.getKey().length();
+        dataOffset += entry.getValue().length;
+      }
+      for (String name : classes.keySet()) {
+        out.writeBytes(name);
+      }
+      for (byte[] bytes : classes.values()) {
+        out.write(bytes);
+      }
+    }
+    return archive.toByteArray();
+  }
+
+  private static void writeAgentJar(File file, byte[] archive) throws IOException {
+    Manifest manifest = new Manifest();
+    manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+    try (OutputStream fileOut = Files.newOutputStream(file.toPath());
+        JarOutputStream out = new JarOutputStream(fileOut, manifest)) {
+      CRC32 crc = new CRC32();
+      crc.update(archive);
+      JarEntry entry = new JarEntry("inst/" + ClassDataArchive.ENTRY_NAME);
+      entry.setMethod(JarEntry.STORED);
+      entry.setSize(archive.length);
+      entry.setCompressedSize(archive.length);
+      entry.setCrc(crc.getValue());
+      out.putNextEntry(entry);
+      out.write(archive);
+      out.closeEntry();
+    }
+  }
+
+  private static byte[] readAll(InputStream in) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    byte[] buffer = new byte[4096];
+    int read;
+    while ((read = in.read(buffer)) != -1) {
+      out.write(buffer, 0, read);
+    }
+    return out.toByteArray();
+  }
+
+  public static class ArchivedClass {}
 }
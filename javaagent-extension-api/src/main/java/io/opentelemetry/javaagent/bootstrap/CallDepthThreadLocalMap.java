@@ -5,8 +5,19 @@
 
 package io.opentelemetry.javaagent.bootstrap;
 
+import io.opentelemetry.instrumentation.api.internal.ConfigPropertiesUtil;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
 final class CallDepthThreadLocalMap {
 
+  // one thread local per thread that holds the call depths of all classes, instead of one thread
+  // local per class and thread: this saves the thread local map entries, which add up with many
+  // short-lived virtual threads, the CallDepth instances are still created per class and thread
+  private static final boolean COMPACT =
+      ConfigPropertiesUtil.getBoolean(
+          "otel.javaagent.experimental.compact-call-depth.enabled", false);
+
   private static final ClassValue<ThreadLocalDepth> TLS =
       new ClassValue<ThreadLocalDepth>() {
         @Override
@@ -15,7 +26,28 @@ final class CallDepthThreadLocalMap {
         }
       };
 
+  private static final AtomicInteger slotCounter = new AtomicInteger();
+
+  private static final ClassValue<Integer> SLOTS =
+      new ClassValue<Integer>() {
+        @Override
+        protected Integer computeValue(Class<?> type) {
+          return slotCounter.getAndIncrement();
+        }
+      };
+
+  private static final ThreadLocal<CompactCallDepths> COMPACT_TLS =
+      new ThreadLocal<CompactCallDepths>() {
+        @Override
+        protected CompactCallDepths initialValue() {
+          return new CompactCallDepths();
+        }
+      };
+
   static CallDepth getCallDepth(Class<?> k) {
+    if (COMPACT) {
+      return COMPACT_TLS.get().get(SLOTS.get(k));
+    }
     return TLS.get(k).get();
   }
 
@@ -26,5 +58,34 @@ final class CallDepthThreadLocalMap {
     }
   }
 
+  /**
+   * The call depths of a thread, stored together with the slot of their class. Threads typically
+   * use only a few classes, so these are found with a linear scan.
+   */
+  static final class CompactCallDepths {
+    private int[] slots = new int[4];
+    private CallDepth[] callDepths = new CallDepth[4];
+    private int size;
+
+    CallDepth get(int slot) {
+      int[] slots = this.slots;
+      for (int i = 0; i < size; i++) {
+        if (slots[i] == slot) {
+          return callDepths[i];
+        }
+      }
+      if (size == slots.length) {
+        slots = Arrays.copyOf(slots, size * 2);
+        this.slots = slots;
+        callDepths = Arrays.copyOf(callDepths, size * 2);
+      }
+      CallDepth callDepth = new CallDepth();
+      slots[size] = slot;
+      callDepths[size] = callDepth;
+      size++;
+      return callDepth;
+    }
+  }
+
   private CallDepthThreadLocalMap() {}
 }
@@ -0,0 +1,26 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap.executors;
+
+/**
+ * {@link ContextInheritance} makes the threads that are started by the current thread inherit its
+ * current context. It is implemented by context storages that support it. The structured task scope
+ * instrumentation uses it for the threads that run the forked tasks, so that these tasks don't need
+ * a propagated context of their own. Threads that are created by a factory that doesn't let them
+ * inherit the inheritable thread locals of their parent don't inherit the context either.
+ */
+public interface ContextInheritance {
+
+  /**
+   * Makes the threads that the current thread starts inherit its current context, until {@link
+   * #endInheritance()} is called. Returns {@code false} when the threads don't inherit the context,
+   * e.g. because the current thread has no context that they could inherit.
+   */
+  boolean beginInheritance();
+
+  /** Stops the threads that the current thread starts from inheriting its current context. */
+  void endInheritance();
+}
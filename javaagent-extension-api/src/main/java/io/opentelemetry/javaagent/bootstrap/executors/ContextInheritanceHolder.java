@@ -0,0 +1,37 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap.executors;
+
+/**
+ * Holds the {@link ContextInheritance} of the context storage that the agent uses. This is set
+ * during agent initialization when the context storage supports it. It is intended to be used
+ * directly from the executor instrumentations, which is why this package is inside the bootstrap
+ * package that gets loaded in the bootstrap classloader.
+ */
+public final class ContextInheritanceHolder {
+  private static volatile ContextInheritance inheritance = new NoInheritance();
+
+  public static void setInheritance(ContextInheritance inheritance) {
+    ContextInheritanceHolder.inheritance = inheritance;
+  }
+
+  public static ContextInheritance getInheritance() {
+    return inheritance;
+  }
+
+  private ContextInheritanceHolder() {}
+
+  private static class NoInheritance implements ContextInheritance {
+
+    @Override
+    public boolean beginInheritance() {
+      return false;
+    }
+
+    @Override
+    public void endInheritance() {}
+  }
+}
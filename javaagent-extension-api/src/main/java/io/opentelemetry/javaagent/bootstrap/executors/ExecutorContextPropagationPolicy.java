@@ -0,0 +1,33 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap.executors;
+
+import io.opentelemetry.context.Context;
+
+/**
+ * {@link ExecutorContextPropagationPolicy} can be used to skip the propagation of the current
+ * context to tasks that are submitted to executors, for contexts that don't carry anything worth
+ * propagating. Tasks that the context is not propagated to run without it, so spans created by
+ * those tasks start a new root trace, which a parent based sampler samples independently of the
+ * trace that submitted the task.
+ *
+ * <p>Only the instrumentation of the {@code java.util.concurrent} executors, fork-join tasks and
+ * structured task scopes asks the policy. Other instrumentations that propagate the context to
+ * tasks, e.g. the ones for akka dispatchers or okhttp, are not affected.
+ *
+ * <p>This is a service provider interface that requires implementations to be registered in a
+ * provider-configuration file stored in the {@code META-INF/services} resource directory. The
+ * context is only propagated when all registered policies allow it.
+ */
+public interface ExecutorContextPropagationPolicy {
+
+  /**
+   * Returns whether the {@code context}, which is never the root context, should be propagated to
+   * a task that is submitted to an executor. This is called for every submitted task and should be
+   * cheap.
+   */
+  boolean shouldPropagate(Context context);
+}
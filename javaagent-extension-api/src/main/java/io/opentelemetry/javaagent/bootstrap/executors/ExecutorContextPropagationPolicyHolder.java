@@ -0,0 +1,37 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap.executors;
+
+import io.opentelemetry.context.Context;
+
+/**
+ * Holds the currently active executor context propagation policy. This is set during agent
+ * initialization to an instance that calls each {@link ExecutorContextPropagationPolicy} found in
+ * the agent classpath. It is intended to be used directly from the executor instrumentations, which
+ * is why this package is inside the bootstrap package that gets loaded in the bootstrap
+ * classloader.
+ */
+public final class ExecutorContextPropagationPolicyHolder {
+  private static volatile ExecutorContextPropagationPolicy policy = new AlwaysPropagate();
+
+  public static void setPolicy(ExecutorContextPropagationPolicy policy) {
+    ExecutorContextPropagationPolicyHolder.policy = policy;
+  }
+
+  public static ExecutorContextPropagationPolicy getPolicy() {
+    return policy;
+  }
+
+  private ExecutorContextPropagationPolicyHolder() {}
+
+  private static class AlwaysPropagate implements ExecutorContextPropagationPolicy {
+
+    @Override
+    public boolean shouldPropagate(Context context) {
+      return true;
+    }
+  }
+}
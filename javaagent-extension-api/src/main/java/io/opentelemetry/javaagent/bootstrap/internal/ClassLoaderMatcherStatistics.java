@@ -0,0 +1,54 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.bootstrap.internal;
+
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.CLASS_LOADER_MATCHER_CACHED_RESOURCE_LOOKUP;
+import static io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics.CounterNames.CLASS_LOADER_MATCHER_RESOURCE_LOOKUP;
+
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts the class presence checks that the {@code hasClassesNamed} class loader matchers make, to
+ * show how many {@code ClassLoader.getResource()} calls were avoided by sharing the results between
+ * instrumentation modules. The counts are reported by the startup profiler, and also exported as
+ * {@code otel.javaagent.supportability.counter} metrics when the supportability metrics are
+ * enabled.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ClassLoaderMatcherStatistics {
+
+  private static final LongAdder resourceLookups = new LongAdder();
+  private static final LongAdder cachedResourceLookups = new LongAdder();
+  private static final SupportabilityMetrics.Counter resourceLookupCounter =
+      SupportabilityMetrics.instance().counter(CLASS_LOADER_MATCHER_RESOURCE_LOOKUP);
+  private static final SupportabilityMetrics.Counter cachedResourceLookupCounter =
+      SupportabilityMetrics.instance().counter(CLASS_LOADER_MATCHER_CACHED_RESOURCE_LOOKUP);
+
+  private ClassLoaderMatcherStatistics() {}
+
+  /** Records a {@code ClassLoader.getResource()} call made by a class loader matcher. */
+  public static void recordResourceLookup() {
+    resourceLookups.increment();
+    resourceLookupCounter.increment();
+  }
+
+  /** Records a class presence check that was answered from the cache. */
+  public static void recordCachedResourceLookup() {
+    cachedResourceLookups.increment();
+    cachedResourceLookupCounter.increment();
+  }
+
+  public static long getResourceLookups() {
+    return resourceLookups.sum();
+  }
+
+  public static long getCachedResourceLookups() {
+    return cachedResourceLookups.sum();
+  }
+}
@@ -7,8 +7,11 @@ package io.opentelemetry.javaagent.extension.matcher;
 
 import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import io.opentelemetry.javaagent.bootstrap.internal.ClassLoaderMatcherCacheHolder;
+import io.opentelemetry.javaagent.bootstrap.internal.ClassLoaderMatcherStatistics;
 import io.opentelemetry.javaagent.bootstrap.internal.InClassLoaderMatcher;
 import java.util.BitSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 import java.util.concurrent.locks.ReentrantReadWriteLock;
@@ -19,15 +22,25 @@ class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.Abstract
   // this field is set via reflection from ClassLoaderMatcher
   static boolean useCache = true;
   private static final AtomicInteger counter = new AtomicInteger();
+  // many modules check for the same classes, each distinct resource gets a unique index that is
+  // used for caching whether a class loader has it, so that the result is shared between matchers
+  private static final ConcurrentMap<String, Integer> resourceIndexByName =
+      new ConcurrentHashMap<>();
+  private static final AtomicInteger resourceCounter = new AtomicInteger();
 
   private final String[] resources;
+  private final int[] resourceIndexes;
   // each matcher gets a unique index that is used for caching the matching status
   private final int index = counter.getAndIncrement();
 
   ClassLoaderHasClassesNamedMatcher(String... classNames) {
     resources = classNames;
+    resourceIndexes = new int[resources.length];
     for (int i = 0; i < resources.length; i++) {
       resources[i] = resources[i].replace(".", "/") + ".class";
+      resourceIndexes[i] =
+          resourceIndexByName.computeIfAbsent(
+              resources[i], unused -> resourceCounter.getAndIncrement());
     }
   }
 
@@ -60,9 +73,7 @@ class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.Abstract
 
   private static class Manager {
     static final Manager INSTANCE = new Manager();
-    // each matcher gets a two bits in BitSet, that first bit indicates whether current matcher has
-    // been run for given class loader and the second whether it matched or not
-    private final Cache<ClassLoader, BitSet> enabled = Cache.weak();
+    private final Cache<ClassLoader, LoaderState> enabled = Cache.weak();
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
     private final Lock readLock = lock.readLock();
     private final Lock writeLock = lock.writeLock();
@@ -72,36 +83,94 @@ class ClassLoaderHasClassesNamedMatcher extends ElementMatcher.Junction.Abstract
     }
 
     boolean match(ClassLoaderHasClassesNamedMatcher matcher, ClassLoader cl) {
-      BitSet set = enabled.computeIfAbsent(cl, (unused) -> new BitSet(counter.get() * 2));
+      LoaderState state = enabled.computeIfAbsent(cl, (unused) -> new LoaderState());
       int matcherRunBit = 2 * matcher.index;
       int matchedBit = matcherRunBit + 1;
+      String[] resources = matcher.resources;
+      int[] resourceIndexes = matcher.resourceIndexes;
+
+      // resources that were not yet looked up in this class loader by any matcher, only allocated
+      // once the matcher result is known not to be cached
+      BitSet unknownResources = null;
+      boolean matches = true;
       readLock.lock();
       try {
-        if (!set.get(matcherRunBit)) {
-          // read lock needs to be released before upgrading to write lock
-          readLock.unlock();
-          // we do the resource presence check outside the lock to keep the time we need to hold
-          // the write lock minimal
-          boolean matches = hasResources(cl, matcher.resources);
-          writeLock.lock();
-          try {
-            if (!set.get(matcherRunBit)) {
-              if (matches) {
-                set.set(matchedBit);
-              }
-              set.set(matcherRunBit);
+        if (state.matchers.get(matcherRunBit)) {
+          return state.matchers.get(matchedBit);
+        }
+        for (int i = 0; i < resources.length && matches; i++) {
+          int lookedUpBit = 2 * resourceIndexes[i];
+          if (state.resources.get(lookedUpBit)) {
+            ClassLoaderMatcherStatistics.recordCachedResourceLookup();
+            // a single missing class decides the result, there is no need to look up the others
+            matches = state.resources.get(lookedUpBit + 1);
+          } else {
+            if (unknownResources == null) {
+              unknownResources = new BitSet(resources.length);
             }
-          } finally {
-            // downgrading the write lock to the read lock
-            readLock.lock();
-            writeLock.unlock();
+            unknownResources.set(i);
           }
         }
-
-        return set.get(matchedBit);
       } finally {
         readLock.unlock();
       }
+
+      // we do the resource presence check outside the lock to keep the time we need to hold the
+      // write lock minimal, all the resources that are still unknown are looked up in one go
+      BitSet lookedUpResources = null;
+      BitSet foundResources = null;
+      if (matches && unknownResources != null) {
+        lookedUpResources = new BitSet(resources.length);
+        foundResources = new BitSet(resources.length);
+        boolean priorValue = InClassLoaderMatcher.getAndSet(true);
+        try {
+          for (int i = unknownResources.nextSetBit(0);
+              i >= 0 && matches;
+              i = unknownResources.nextSetBit(i + 1)) {
+            ClassLoaderMatcherStatistics.recordResourceLookup();
+            lookedUpResources.set(i);
+            matches = cl.getResource(resources[i]) != null;
+            if (matches) {
+              foundResources.set(i);
+            }
+          }
+        } finally {
+          InClassLoaderMatcher.set(priorValue);
+        }
+      }
+
+      writeLock.lock();
+      try {
+        if (lookedUpResources != null) {
+          for (int i = lookedUpResources.nextSetBit(0);
+              i >= 0;
+              i = lookedUpResources.nextSetBit(i + 1)) {
+            int lookedUpBit = 2 * resourceIndexes[i];
+            if (foundResources.get(i)) {
+              state.resources.set(lookedUpBit + 1);
+            }
+            state.resources.set(lookedUpBit);
+          }
+        }
+        if (!state.matchers.get(matcherRunBit)) {
+          if (matches) {
+            state.matchers.set(matchedBit);
+          }
+          state.matchers.set(matcherRunBit);
+        }
+        return state.matchers.get(matchedBit);
+      } finally {
+        writeLock.unlock();
+      }
     }
   }
+
+  private static class LoaderState {
+    // each matcher gets two bits, the first bit indicates whether the matcher has been run for the
+    // class loader and the second whether it matched or not
+    final BitSet matchers = new BitSet(counter.get() * 2);
+    // each resource gets two bits, the first bit indicates whether the resource has been looked up
+    // in the class loader and the second whether it was found or not
+    final BitSet resources = new BitSet(resourceCounter.get() * 2);
+  }
 }
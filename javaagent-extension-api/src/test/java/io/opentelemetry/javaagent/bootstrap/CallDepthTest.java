@@ -28,4 +28,21 @@ class CallDepthTest {
     assertThat(CallDepth.forClass(Double.class).getAndIncrement()).isZero();
     assertThat(CallDepth.forClass(Double.class).decrementAndGet()).isZero();
   }
+
+  @Test
+  void compactCallDepths() {
+    CallDepthThreadLocalMap.CompactCallDepths depths =
+        new CallDepthThreadLocalMap.CompactCallDepths();
+    // more slots than fit into the initial arrays
+    for (int slot = 0; slot < 10; slot++) {
+      assertThat(depths.get(slot).getAndIncrement()).isZero();
+    }
+    for (int slot = 0; slot < 10; slot++) {
+      CallDepth callDepth = depths.get(slot);
+      assertThat(depths.get(slot)).isSameAs(callDepth);
+      assertThat(callDepth.getAndIncrement()).isOne();
+      assertThat(callDepth.decrementAndGet()).isOne();
+      assertThat(callDepth.decrementAndGet()).isZero();
+    }
+  }
 }
@@ -0,0 +1,55 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.extension.matcher;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+class ClassLoaderHasClassesNamedMatcherTest {
+
+  @Test
+  void sharesLookupsBetweenMatchers() {
+    RecordingClassLoader classLoader = new RecordingClassLoader();
+
+    assertThat(new ClassLoaderHasClassesNamedMatcher("test.Present", "test.Missing"))
+        .returns(false, matcher -> matcher.matches(classLoader));
+    // both results are already known from the first matcher
+    assertThat(new ClassLoaderHasClassesNamedMatcher("test.Missing", "test.Other"))
+        .returns(false, matcher -> matcher.matches(classLoader));
+    assertThat(new ClassLoaderHasClassesNamedMatcher("test.Present"))
+        .returns(true, matcher -> matcher.matches(classLoader));
+
+    assertThat(classLoader.lookups).containsExactly("test/Present.class", "test/Missing.class");
+  }
+
+  @Test
+  void doesNotMatchBootstrapClassLoader() {
+    assertThat(new ClassLoaderHasClassesNamedMatcher("java.lang.String").matches(null)).isFalse();
+  }
+
+  private static class RecordingClassLoader extends ClassLoader {
+    final List<String> lookups = new ArrayList<>();
+
+    RecordingClassLoader() {
+      super(null);
+    }
+
+    @Override
+    @Nullable
+    public URL getResource(String name) {
+      lookups.add(name);
+      return name.equals("test/Present.class")
+          ? ClassLoaderHasClassesNamedMatcherTest.class.getResource(
+              "ClassLoaderHasClassesNamedMatcherTest.class")
+          : null;
+    }
+  }
+}
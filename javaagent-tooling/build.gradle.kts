@@ -12,6 +12,7 @@ dependencies {
   implementation(project(":javaagent-bootstrap"))
   implementation(project(":javaagent-extension-api"))
   implementation(project(":javaagent-tooling:javaagent-tooling-java9"))
+  implementation(project(":javaagent-tooling:javaagent-tooling-jfr"))
   implementation(project(":instrumentation-api"))
   implementation(project(":instrumentation-api-incubator"))
   implementation(project(":instrumentation-annotations-support"))
@@ -0,0 +1,21 @@
+plugins {
+  id("otel.java-conventions")
+  id("otel.publish-conventions")
+}
+
+group = "io.opentelemetry.javaagent"
+
+dependencies {
+  implementation(project(":javaagent-extension-api"))
+
+  implementation("net.bytebuddy:byte-buddy-dep")
+
+  // Used by byte-buddy but not brought in as a transitive dependency.
+  compileOnly("com.google.code.findbugs:annotations")
+}
+
+otelJava {
+  // jdk.jfr is only available to compile against starting from java 11, the agent only loads the
+  // classes of this module when it runs on java 11 or later
+  minJavaVersionSupported.set(JavaVersion.VERSION_11)
+}
@@ -0,0 +1,15 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.jfr;
+
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+
+abstract class AbstractInstrumentationEvent extends Event {
+
+  @Label("Instrumentation Name")
+  String instrumentationName;
+}
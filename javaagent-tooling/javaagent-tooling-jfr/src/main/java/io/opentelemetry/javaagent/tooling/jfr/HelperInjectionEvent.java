@@ -0,0 +1,26 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("io.opentelemetry.javaagent.HelperInjection")
+@Label("Helper Injection")
+@Description("Time spent injecting the helper classes and resources of an instrumentation")
+@Category({"OpenTelemetry", "Java Agent"})
+@StackTrace(false)
+// helpers are injected once per class loader, later calls only hit the cache
+@Threshold("20 us")
+final class HelperInjectionEvent extends AbstractInstrumentationEvent {
+
+  @Label("Class Loader")
+  String classLoader;
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.jfr;
+
+import io.opentelemetry.javaagent.extension.matcher.internal.DelegatingMatcher;
+import java.util.function.BooleanSupplier;
+import javax.annotation.Nullable;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * Emits JFR events about the overhead of the agent's own instrumentation work: type matching,
+ * transformation, helper injection and muzzle checks.
+ *
+ * <p>The classes of this module are compiled for Java 11, callers must check that the JVM they run
+ * on supports JFR before using this class.
+ */
+public final class JfrInstrumentationEvents {
+
+  // the transformation of the class that is currently transformed on this thread
+  private static final ThreadLocal<PendingTransformation> pendingTransformation =
+      ThreadLocal.withInitial(PendingTransformation::new);
+
+  /** Returns a type matcher that emits {@code io.opentelemetry.javaagent.TypeMatching} events. */
+  public static ElementMatcher<TypeDescription> typeMatcher(
+      String instrumentationName, ElementMatcher<TypeDescription> matcher) {
+    return new TypeMatchingEventMatcher<>(instrumentationName, "type", matcher);
+  }
+
+  /**
+   * Returns a class loader matcher that emits {@code io.opentelemetry.javaagent.TypeMatching}
+   * events.
+   */
+  public static ElementMatcher<ClassLoader> classLoaderMatcher(
+      String instrumentationName, ElementMatcher<ClassLoader> matcher) {
+    return new TypeMatchingEventMatcher<>(instrumentationName, "class loader", matcher);
+  }
+
+  /**
+   * Runs the muzzle check and emits a {@code io.opentelemetry.javaagent.MuzzleCheck} event for it.
+   */
+  public static boolean muzzleCheck(
+      String instrumentationName, ClassLoader classLoader, BooleanSupplier check) {
+    MuzzleCheckEvent event = new MuzzleCheckEvent();
+    if (!event.isEnabled()) {
+      return check.getAsBoolean();
+    }
+    event.begin();
+    boolean matched = check.getAsBoolean();
+    event.end();
+    if (event.shouldCommit()) {
+      event.instrumentationName = instrumentationName;
+      event.classLoader = String.valueOf(classLoader);
+      event.matched = matched;
+      event.commit();
+    }
+    return matched;
+  }
+
+  /**
+   * Returns a transformer that emits {@code io.opentelemetry.javaagent.HelperInjection} events.
+   */
+  public static AgentBuilder.Transformer helperInjector(
+      String instrumentationName, AgentBuilder.Transformer helperInjector) {
+    return (builder, typeDescription, classLoader, module, protectionDomain) -> {
+      HelperInjectionEvent event = new HelperInjectionEvent();
+      if (!event.isEnabled()) {
+        return helperInjector.transform(
+            builder, typeDescription, classLoader, module, protectionDomain);
+      }
+      event.begin();
+      DynamicType.Builder<?> result =
+          helperInjector.transform(builder, typeDescription, classLoader, module, protectionDomain);
+      event.end();
+      if (event.shouldCommit()) {
+        event.instrumentationName = instrumentationName;
+        event.classLoader = String.valueOf(classLoader);
+        event.commit();
+      }
+      return result;
+    };
+  }
+
+  /**
+   * Returns a transformer that has to be the first transformer of a type instrumentation. ByteBuddy
+   * only runs transformers once all matchers are done, so the first call marks the start of the
+   * transformation of the class, which ends when the {@link #listener()} is notified.
+   */
+  public static AgentBuilder.Transformer transformationStarted(
+      String instrumentationName, String typeInstrumentationName) {
+    return (builder, typeDescription, classLoader, module, protectionDomain) -> {
+      pendingTransformation.get().start(instrumentationName, typeInstrumentationName);
+      return builder;
+    };
+  }
+
+  /** Returns the listener that emits {@code io.opentelemetry.javaagent.Transformation} events. */
+  public static AgentBuilder.Listener listener() {
+    return new AgentBuilder.Listener.Adapter() {
+      @Override
+      public void onTransformation(
+          TypeDescription typeDescription,
+          @Nullable ClassLoader classLoader,
+          @Nullable JavaModule module,
+          boolean loaded,
+          DynamicType dynamicType) {
+        pendingTransformation.get().commit(typeDescription.getName());
+      }
+
+      @Override
+      public void onComplete(
+          String typeName,
+          @Nullable ClassLoader classLoader,
+          @Nullable JavaModule module,
+          boolean loaded) {
+        pendingTransformation.get().clear();
+      }
+    };
+  }
+
+  /**
+   * Implements {@link DelegatingMatcher} so that {@code AgentBuilderUtil} can still decompose the
+   * wrapped type matcher into the class names it matches.
+   */
+  private static final class TypeMatchingEventMatcher<T>
+      implements ElementMatcher<T>, DelegatingMatcher {
+    private final String instrumentationName;
+    private final String matcherName;
+    private final ElementMatcher<T> delegate;
+
+    TypeMatchingEventMatcher(
+        String instrumentationName, String matcherName, ElementMatcher<T> delegate) {
+      this.instrumentationName = instrumentationName;
+      this.matcherName = matcherName;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean matches(T target) {
+      TypeMatchingEvent event = new TypeMatchingEvent();
+      if (!event.isEnabled()) {
+        return delegate.matches(target);
+      }
+      event.begin();
+      boolean matched = delegate.matches(target);
+      event.end();
+      if (event.shouldCommit()) {
+        event.instrumentationName = instrumentationName;
+        event.matcher = matcherName;
+        if (target instanceof TypeDescription) {
+          event.typeName = ((TypeDescription) target).getName();
+        }
+        event.matched = matched;
+        event.commit();
+      }
+      return matched;
+    }
+
+    @Override
+    public ElementMatcher<?> getDelegate() {
+      return delegate;
+    }
+
+    @Override
+    public String toString() {
+      return delegate.toString();
+    }
+  }
+
+  private static final class PendingTransformation {
+    @Nullable private TransformationEvent event;
+    @Nullable private String lastInstrumentationName;
+    private final StringBuilder instrumentationNames = new StringBuilder();
+    private final StringBuilder typeInstrumentations = new StringBuilder();
+
+    void start(String instrumentationName, String typeInstrumentationName) {
+      if (event == null) {
+        TransformationEvent newEvent = new TransformationEvent();
+        if (!newEvent.isEnabled()) {
+          return;
+        }
+        newEvent.begin();
+        event = newEvent;
+      }
+      // the type instrumentations of a module are chained one after the other
+      if (!instrumentationName.equals(lastInstrumentationName)) {
+        append(instrumentationNames, instrumentationName);
+        lastInstrumentationName = instrumentationName;
+      }
+      append(typeInstrumentations, typeInstrumentationName);
+    }
+
+    void commit(String typeName) {
+      TransformationEvent currentEvent = event;
+      if (currentEvent == null) {
+        return;
+      }
+      currentEvent.end();
+      if (currentEvent.shouldCommit()) {
+        currentEvent.instrumentationName = instrumentationNames.toString();
+        currentEvent.typeInstrumentations = typeInstrumentations.toString();
+        currentEvent.typeName = typeName;
+        currentEvent.commit();
+      }
+      clear();
+    }
+
+    void clear() {
+      event = null;
+      lastInstrumentationName = null;
+      instrumentationNames.setLength(0);
+      typeInstrumentations.setLength(0);
+    }
+
+    private static void append(StringBuilder names, String name) {
+      if (names.length() != 0) {
+        names.append(',');
+      }
+      names.append(name);
+    }
+  }
+
+  private JfrInstrumentationEvents() {}
+}
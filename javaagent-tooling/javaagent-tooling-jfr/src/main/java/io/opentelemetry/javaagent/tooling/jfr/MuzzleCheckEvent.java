@@ -0,0 +1,26 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("io.opentelemetry.javaagent.MuzzleCheck")
+@Label("Muzzle Check")
+@Description("Time spent checking that the references of an instrumentation match a class loader")
+@Category({"OpenTelemetry", "Java Agent"})
+@StackTrace(false)
+final class MuzzleCheckEvent extends AbstractInstrumentationEvent {
+
+  @Label("Class Loader")
+  String classLoader;
+
+  @Label("Matched")
+  boolean matched;
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("io.opentelemetry.javaagent.Transformation")
+@Label("Transformation")
+@Description(
+    "Time spent transforming a class after type matching, attributed to the instrumentations that"
+        + " matched it")
+@Category({"OpenTelemetry", "Java Agent"})
+@StackTrace(false)
+final class TransformationEvent extends AbstractInstrumentationEvent {
+
+  @Label("Type Instrumentations")
+  @Description("The comma separated type instrumentations that transformed the class")
+  String typeInstrumentations;
+
+  @Label("Type Name")
+  String typeName;
+}
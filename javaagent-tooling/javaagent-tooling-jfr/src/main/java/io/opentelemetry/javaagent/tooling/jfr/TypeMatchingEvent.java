@@ -0,0 +1,33 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+@Name("io.opentelemetry.javaagent.TypeMatching")
+@Label("Type Matching")
+@Description("Time spent deciding whether a type instrumentation applies to a class")
+@Category({"OpenTelemetry", "Java Agent"})
+@StackTrace(false)
+// matchers run for every loaded class and every type instrumentation, only the slow ones are kept
+@Threshold("20 us")
+final class TypeMatchingEvent extends AbstractInstrumentationEvent {
+
+  @Label("Matcher")
+  @Description("Either type or class loader")
+  String matcher;
+
+  @Label("Type Name")
+  String typeName;
+
+  @Label("Matched")
+  boolean matched;
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.javaagent.extension.matcher.internal.DelegatingMatcher;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class JfrInstrumentationEventsTest {
+
+  private static final TypeDescription TYPE = TypeDescription.ForLoadedType.of(String.class);
+
+  @TempDir Path tempDir;
+
+  @Test
+  void matchersExposeDelegate() {
+    ElementMatcher<TypeDescription> typeMatcher = ElementMatchers.named("java.lang.String");
+    ElementMatcher<ClassLoader> classLoaderMatcher = ElementMatchers.any();
+
+    ElementMatcher<TypeDescription> wrappedTypeMatcher =
+        JfrInstrumentationEvents.typeMatcher("jdbc", typeMatcher);
+    ElementMatcher<ClassLoader> wrappedClassLoaderMatcher =
+        JfrInstrumentationEvents.classLoaderMatcher("jdbc", classLoaderMatcher);
+
+    assertThat(wrappedTypeMatcher).isInstanceOf(DelegatingMatcher.class);
+    assertThat(((DelegatingMatcher) wrappedTypeMatcher).getDelegate()).isSameAs(typeMatcher);
+    assertThat(wrappedClassLoaderMatcher).isInstanceOf(DelegatingMatcher.class);
+    assertThat(((DelegatingMatcher) wrappedClassLoaderMatcher).getDelegate())
+        .isSameAs(classLoaderMatcher);
+  }
+
+  @Test
+  void emitsEvents() throws Exception {
+    List<RecordedEvent> events;
+    try (Recording recording = new Recording()) {
+      recording.enable("io.opentelemetry.javaagent.TypeMatching").withThreshold(Duration.ZERO);
+      recording.enable("io.opentelemetry.javaagent.MuzzleCheck");
+      recording.enable("io.opentelemetry.javaagent.Transformation");
+      recording.start();
+
+      assertThat(
+              JfrInstrumentationEvents.typeMatcher("jdbc", ElementMatchers.named("java.lang.String"))
+                  .matches(TYPE))
+          .isTrue();
+      assertThat(
+              JfrInstrumentationEvents.muzzleCheck(
+                  "jdbc", JfrInstrumentationEventsTest.class.getClassLoader(), () -> false))
+          .isFalse();
+      JfrInstrumentationEvents.transformationStarted("jdbc", "ConnectionInstrumentation")
+          .transform(null, TYPE, null, null, null);
+      JfrInstrumentationEvents.transformationStarted("jdbc", "StatementInstrumentation")
+          .transform(null, TYPE, null, null, null);
+      JfrInstrumentationEvents.transformationStarted("executors", "ExecutorInstrumentation")
+          .transform(null, TYPE, null, null, null);
+      AgentBuilder.Listener listener = JfrInstrumentationEvents.listener();
+      listener.onTransformation(TYPE, null, null, false, null);
+      listener.onComplete(TYPE.getName(), null, null, false);
+
+      recording.stop();
+      Path file = tempDir.resolve("recording.jfr");
+      recording.dump(file);
+      events =
+          RecordingFile.readAllEvents(file).stream()
+              .filter(e -> e.getEventType().getName().startsWith("io.opentelemetry.javaagent."))
+              .collect(Collectors.toList());
+    }
+
+    assertThat(events).hasSize(3);
+    RecordedEvent typeMatching = event(events, "io.opentelemetry.javaagent.TypeMatching");
+    assertThat(typeMatching.getString("instrumentationName")).isEqualTo("jdbc");
+    assertThat(typeMatching.getString("matcher")).isEqualTo("type");
+    assertThat(typeMatching.getString("typeName")).isEqualTo("java.lang.String");
+    assertThat(typeMatching.getBoolean("matched")).isTrue();
+
+    RecordedEvent muzzleCheck = event(events, "io.opentelemetry.javaagent.MuzzleCheck");
+    assertThat(muzzleCheck.getString("instrumentationName")).isEqualTo("jdbc");
+    assertThat(muzzleCheck.getBoolean("matched")).isFalse();
+
+    RecordedEvent transformation = event(events, "io.opentelemetry.javaagent.Transformation");
+    assertThat(transformation.getString("instrumentationName")).isEqualTo("jdbc,executors");
+    assertThat(transformation.getString("typeInstrumentations"))
+        .isEqualTo("ConnectionInstrumentation,StatementInstrumentation,ExecutorInstrumentation");
+    assertThat(transformation.getString("typeName")).isEqualTo("java.lang.String");
+  }
+
+  private static RecordedEvent event(List<RecordedEvent> events, String name) {
+    return events.stream()
+        .filter(e -> e.getEventType().getName().equals(name))
+        .findFirst()
+        .orElseThrow(AssertionError::new);
+  }
+}
@@ -6,6 +6,7 @@
 package io.opentelemetry.javaagent.tooling.ignore;
 
 import io.opentelemetry.javaagent.tooling.EmptyConfigProperties;
+import io.opentelemetry.javaagent.tooling.util.Trie;
 import java.util.concurrent.TimeUnit;
 import net.bytebuddy.description.type.TypeDescription;
 import net.bytebuddy.matcher.ElementMatcher;
@@ -15,13 +16,21 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
 import org.openjdk.jmh.annotations.Warmup;
 
+// run with -prof gc to compare the memory footprint of the tries, the gc.alloc.rate.norm of the
+// buildTrie benchmark is an upper bound of the size of the trie that it builds, and of the lookup
+// benchmarks shows that they don't allocate
 @Fork(1)
 @Warmup(iterations = 3, time = 1)
 @Measurement(iterations = 10, time = 1)
 @OutputTimeUnit(TimeUnit.MICROSECONDS)
 @BenchmarkMode(Mode.AverageTime)
+@State(Scope.Benchmark)
 public class IgnoredTypesMatcherBenchmark {
 
   private static final TypeDescription springType =
@@ -29,13 +38,19 @@ public class IgnoredTypesMatcherBenchmark {
   private static final TypeDescription testAppType =
       new TypeDescription.Latent("com.example.myapp.Main", 0, null);
 
-  private static final ElementMatcher<TypeDescription> ignoredTypesMatcher;
+  @Param({"node", "compact"})
+  public String trie;
 
-  static {
+  private Trie.Builder<IgnoreAllow> trieBuilder;
+  private ElementMatcher<TypeDescription> ignoredTypesMatcher;
+
+  @Setup
+  public void setUp() {
     IgnoredTypesBuilderImpl builder = new IgnoredTypesBuilderImpl();
     new AdditionalLibraryIgnoredTypesConfigurer()
         .configure(builder, EmptyConfigProperties.INSTANCE);
-    ignoredTypesMatcher = new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie());
+    trieBuilder = builder.ignoredTypesTrieBuilder();
+    ignoredTypesMatcher = new IgnoredTypesMatcher(buildTrie());
   }
 
   @Benchmark
@@ -47,4 +62,9 @@ public class IgnoredTypesMatcherBenchmark {
   public boolean appType() {
     return ignoredTypesMatcher.matches(testAppType);
   }
+
+  @Benchmark
+  public Trie<IgnoreAllow> buildTrie() {
+    return trie.equals("compact") ? trieBuilder.buildCompact() : trieBuilder.build();
+  }
 }
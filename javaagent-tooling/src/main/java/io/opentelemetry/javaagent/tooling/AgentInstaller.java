@@ -19,12 +19,17 @@ import io.opentelemetry.context.Context;
 import io.opentelemetry.context.ContextStorage;
 import io.opentelemetry.context.Scope;
 import io.opentelemetry.instrumentation.api.internal.EmbeddedInstrumentationProperties;
+import io.opentelemetry.instrumentation.api.internal.SupportabilityMetrics;
+import io.opentelemetry.instrumentation.api.internal.cache.CacheStatistics;
 import io.opentelemetry.javaagent.bootstrap.AgentClassLoader;
 import io.opentelemetry.javaagent.bootstrap.BootstrapPackagePrefixesHolder;
 import io.opentelemetry.javaagent.bootstrap.DefineClassHelper;
 import io.opentelemetry.javaagent.bootstrap.InstrumentedTaskClasses;
 import io.opentelemetry.javaagent.bootstrap.LambdaTransformer;
 import io.opentelemetry.javaagent.bootstrap.LambdaTransformerHolder;
+import io.opentelemetry.javaagent.bootstrap.executors.ContextInheritanceHolder;
+import io.opentelemetry.javaagent.bootstrap.executors.ExecutorContextPropagationPolicy;
+import io.opentelemetry.javaagent.bootstrap.executors.ExecutorContextPropagationPolicyHolder;
 import io.opentelemetry.javaagent.bootstrap.http.HttpServerResponseCustomizer;
 import io.opentelemetry.javaagent.bootstrap.http.HttpServerResponseCustomizerHolder;
 import io.opentelemetry.javaagent.bootstrap.http.HttpServerResponseMutator;
@@ -46,6 +51,9 @@ import io.opentelemetry.javaagent.tooling.field.VirtualFieldImplementationInstal
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredClassLoadersMatcher;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesBuilderImpl;
 import io.opentelemetry.javaagent.tooling.ignore.IgnoredTypesMatcher;
+import io.opentelemetry.javaagent.tooling.ignore.MatcherResultCache;
+import io.opentelemetry.javaagent.tooling.instrumentation.JfrEventsConfiguration;
+import io.opentelemetry.javaagent.tooling.jfr.JfrInstrumentationEvents;
 import io.opentelemetry.javaagent.tooling.muzzle.AgentTooling;
 import io.opentelemetry.javaagent.tooling.util.Trie;
 import io.opentelemetry.sdk.autoconfigure.AutoConfiguredOpenTelemetrySdk;
@@ -90,6 +98,12 @@ public class AgentInstaller {
   private static final String FORCE_SYNCHRONOUS_AGENT_LISTENERS_CONFIG =
       "otel.javaagent.experimental.force-synchronous-agent-listeners";
 
+  private static final String EXECUTORS_SKIP_UNSAMPLED_CONTEXT_CONFIG =
+      "otel.instrumentation.executors.experimental-skip-unsampled-context";
+
+  private static final String CONTEXT_HOLDER_STORAGE_CONFIG =
+      "otel.javaagent.experimental.context-holder-storage.enabled";
+
   private static final String STRICT_CONTEXT_STRESSOR_MILLIS =
       "otel.javaagent.testing.strict-context-stressor-millis";
 
@@ -101,6 +115,19 @@ public class AgentInstaller {
       Instrumentation inst, ClassLoader extensionClassLoader, EarlyInitAgentConfig earlyConfig) {
     addByteBuddyRawSetting();
 
+    if (earlyConfig.getBoolean(CONTEXT_HOLDER_STORAGE_CONFIG, false)) {
+      // replaces the default thread local storage, but not a storage from a ContextStorageProvider
+      ContextStorage.addWrapper(
+          storage -> {
+            if (storage != ContextStorage.defaultStorage()) {
+              return storage;
+            }
+            ContextHolderStorage contextHolderStorage = new ContextHolderStorage();
+            ContextInheritanceHolder.setInheritance(contextHolderStorage);
+            return contextHolderStorage;
+          });
+    }
+
     Integer strictContextStressorMillis = Integer.getInteger(STRICT_CONTEXT_STRESSOR_MILLIS);
     if (strictContextStressorMillis != null) {
       io.opentelemetry.context.ContextStorage.addWrapper(
@@ -126,6 +153,7 @@ public class AgentInstaller {
     EmbeddedInstrumentationProperties.setPropertiesLoader(extensionClassLoader);
     setDefineClassHandler();
     FieldBackedImplementationConfiguration.configure(earlyConfig);
+    JfrEventsConfiguration.configure(earlyConfig);
     // preload ThreadLocalRandom to avoid occasional
     // java.lang.ClassCircularityError: java/util/concurrent/ThreadLocalRandom
     // see https://github.com/raphw/byte-buddy/issues/1666 and
@@ -161,10 +189,23 @@ public class AgentInstaller {
               .with(new TransformLoggingListener());
     }
 
+    AgentBuilder.Listener startupProfilerListener = StartupProfiler.listener();
+    if (startupProfilerListener != null) {
+      agentBuilder = agentBuilder.with(startupProfilerListener);
+    }
+    if (JfrEventsConfiguration.isEnabled()) {
+      agentBuilder = agentBuilder.with(JfrInstrumentationEvents.listener());
+    }
+
+    long phaseStart = StartupProfiler.startPhase();
     installEarlyInstrumentation(agentBuilder, inst);
+    StartupProfiler.endPhase("early-instrumentation", phaseStart);
 
+    phaseStart = StartupProfiler.startPhase();
     AutoConfiguredOpenTelemetrySdk autoConfiguredSdk =
         installOpenTelemetrySdk(extensionClassLoader, earlyConfig);
+    SupportabilityMetrics.instance().registerMetrics(autoConfiguredSdk.getOpenTelemetrySdk());
+    CacheStatistics.registerMetrics(autoConfiguredSdk.getOpenTelemetrySdk());
 
     ConfigProperties sdkConfig = AutoConfigureUtil.getConfig(autoConfiguredSdk);
     AgentInstrumentationConfig.internalInitializeConfig(
@@ -175,14 +216,19 @@ public class AgentInstaller {
     setBootstrapPackages(sdkConfig, extensionClassLoader);
     ConfiguredResourceAttributesHolder.initialize(
         SdkAutoconfigureAccess.getResource(autoConfiguredSdk).getAttributes());
+    StartupProfiler.endPhase("sdk-autoconfigure", phaseStart);
 
+    phaseStart = StartupProfiler.startPhase();
     for (BeforeAgentListener agentListener :
         loadOrdered(BeforeAgentListener.class, extensionClassLoader)) {
       agentListener.beforeAgent(autoConfiguredSdk);
     }
+    StartupProfiler.endPhase("before-agent-listeners", phaseStart);
 
+    phaseStart = StartupProfiler.startPhase();
     agentBuilder = agentBuilder.with(new ClassLoadListener());
     agentBuilder = configureIgnoredTypes(sdkConfig, extensionClassLoader, agentBuilder);
+    StartupProfiler.endPhase("ignored-types", phaseStart);
 
     int numberOfLoadedExtensions = 0;
     for (AgentExtension agentExtension : loadOrdered(AgentExtension.class, extensionClassLoader)) {
@@ -193,7 +239,9 @@ public class AgentInstaller {
             new Object[] {agentExtension.extensionName(), agentExtension.getClass().getName()});
       }
       try {
+        phaseStart = StartupProfiler.startPhase();
         agentBuilder = agentExtension.extend(agentBuilder, sdkConfig);
+        StartupProfiler.endPhase("extension:" + agentExtension.extensionName(), phaseStart);
         numberOfLoadedExtensions++;
       } catch (Exception | LinkageError e) {
         logger.log(
@@ -208,8 +256,10 @@ public class AgentInstaller {
     }
     logger.log(FINE, "Installed {0} extension(s)", numberOfLoadedExtensions);
 
+    phaseStart = StartupProfiler.startPhase();
     agentBuilder = AgentBuilderUtil.optimize(agentBuilder);
     ClassFileTransformer transformer = agentBuilder.installOn(inst);
+    StartupProfiler.endPhase("bytebuddy-install", phaseStart);
     LambdaTransformer lambdaTransformer;
     if (JavaModule.isSupported()) {
       // wrapping in a JPMS compliant implementation
@@ -224,8 +274,11 @@ public class AgentInstaller {
 
     addHttpServerResponseCustomizers(extensionClassLoader);
     addSqlCommenterCustomizers(extensionClassLoader);
+    addExecutorContextPropagationPolicies(sdkConfig, extensionClassLoader);
 
+    phaseStart = StartupProfiler.startPhase();
     runAfterAgentListeners(agentListeners, autoConfiguredSdk, sdkConfig);
+    StartupProfiler.endPhase("after-agent-listeners", phaseStart);
   }
 
   private static AgentBuilder newAgentBuilder(ByteBuddy byteBuddy) {
@@ -284,7 +337,11 @@ public class AgentInstaller {
   }
 
   private static void copyNecessaryConfigToSystemProperties(ConfigProperties config) {
-    for (String property : asList("otel.instrumentation.experimental.span-suppression-strategy")) {
+    for (String property :
+        asList(
+            "otel.instrumentation.experimental.span-suppression-strategy",
+            "otel.javaagent.experimental.compact-call-depth.enabled",
+            "otel.instrumentation.executors.experimental-fork-join-root-only")) {
       String value = config.getString(property);
       if (value != null) {
         System.setProperty(property, value);
@@ -317,13 +374,21 @@ public class AgentInstaller {
     Trie<Boolean> ignoredTasksTrie = builder.buildIgnoredTasksTrie();
     InstrumentedTaskClasses.setIgnoredTaskClassesPredicate(ignoredTasksTrie::contains);
 
-    return agentBuilder
-        .ignore(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
-        .or(new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie()))
-        .or(
-            (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) -> {
-              return HelperInjector.isInjectedClass(classLoader, typeDescription.getName());
-            });
+    AgentBuilder.Ignored ignored =
+        agentBuilder
+            .ignore(any(), new IgnoredClassLoadersMatcher(builder.buildIgnoredClassLoadersTrie()))
+            .or(new IgnoredTypesMatcher(builder.buildIgnoredTypesTrie()))
+            .or(
+                (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) -> {
+                  return HelperInjector.isInjectedClass(classLoader, typeDescription.getName());
+                });
+
+    MatcherResultCache matcherResultCache = MatcherResultCache.create(config);
+    if (matcherResultCache == null) {
+      return ignored;
+    }
+    // evaluated after the other ignore matchers, so that only types that pass them are recorded
+    return ignored.or(matcherResultCache).with(matcherResultCache.listener());
   }
 
   private static void addHttpServerResponseCustomizers(ClassLoader extensionClassLoader) {
@@ -355,6 +420,33 @@ public class AgentInstaller {
         });
   }
 
+  private static void addExecutorContextPropagationPolicies(
+      ConfigProperties config, ClassLoader extensionClassLoader) {
+    List<ExecutorContextPropagationPolicy> policies =
+        new ArrayList<>(load(ExecutorContextPropagationPolicy.class, extensionClassLoader));
+    if (config.getBoolean(EXECUTORS_SKIP_UNSAMPLED_CONTEXT_CONFIG, false)) {
+      policies.add(new SkipUnsampledContextPolicy());
+    }
+
+    if (policies.isEmpty()) {
+      // keep the default policy that always propagates
+      return;
+    }
+    if (policies.size() == 1) {
+      ExecutorContextPropagationPolicyHolder.setPolicy(policies.get(0));
+      return;
+    }
+    ExecutorContextPropagationPolicyHolder.setPolicy(
+        context -> {
+          for (ExecutorContextPropagationPolicy policy : policies) {
+            if (!policy.shouldPropagate(context)) {
+              return false;
+            }
+          }
+          return true;
+        });
+  }
+
   private static void runAfterAgentListeners(
       Iterable<AgentListener> agentListeners,
       AutoConfiguredOpenTelemetrySdk autoConfiguredSdk,
@@ -72,7 +72,10 @@ public class AgentStarterImpl implements AgentStarter {
     installTransformers();
 
     EarlyInitAgentConfig earlyConfig = EarlyInitAgentConfig.create();
+    StartupProfiler.configure(earlyConfig);
+    long startNanos = StartupProfiler.startPhase();
     extensionClassLoader = createExtensionClassLoader(getClass().getClassLoader(), earlyConfig);
+    StartupProfiler.endPhase("extension-class-loader", startNanos);
     // allows loading instrumenter customizers from agent and extensions
     ServiceLoaderUtil.setLoadFunction(clazz -> ServiceLoader.load(clazz, extensionClassLoader));
 
@@ -118,6 +121,8 @@ public class AgentStarterImpl implements AgentStarter {
     } else {
       loggingCustomizer.onStartupFailure(startupError);
     }
+    StartupProfiler.endPhase("total", startNanos);
+    StartupProfiler.startupFinished();
   }
 
   private void installTransformers() {
@@ -0,0 +1,119 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextStorage;
+import io.opentelemetry.context.Scope;
+import io.opentelemetry.javaagent.bootstrap.executors.ContextInheritance;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+
+/**
+ * A {@link ContextStorage} that keeps the current context in a mutable holder that is stored in a
+ * thread local once per thread. Attaching a context and closing its scope look up the holder of the
+ * current thread and change it, while the default storage sets the thread local on every attach and
+ * close. This matters most for workloads with many virtual threads, where each thread writes to its
+ * own thread local map.
+ *
+ * <p>The threads that are started while the inheritance is on, e.g. for the tasks that a structured
+ * task scope forks, get a holder with the current context of the thread that started them.
+ *
+ * <p>This class is internal and is hence not for public use. Its APIs are unstable and can change
+ * at any time.
+ */
+public final class ContextHolderStorage implements ContextStorage, ContextInheritance {
+
+  private static final Logger logger = Logger.getLogger(ContextHolderStorage.class.getName());
+
+  private static final ThreadLocal<ContextHolder> holders =
+      new InheritableThreadLocal<ContextHolder>() {
+        @Override
+        @Nullable
+        protected ContextHolder childValue(ContextHolder parent) {
+          // the threads that are started while the inheritance is off get their own holder lazily
+          return parent.inheriting ? new ContextHolder(parent.context) : null;
+        }
+      };
+
+  @Override
+  public Scope attach(Context toAttach) {
+    if (toAttach == null) {
+      return Scope.noop();
+    }
+    ContextHolder holder = holders.get();
+    if (holder == null) {
+      holder = new ContextHolder(null);
+      holders.set(holder);
+    }
+    Context beforeAttach = holder.context;
+    if (toAttach == beforeAttach) {
+      return Scope.noop();
+    }
+    holder.context = toAttach;
+    return new HolderScope(beforeAttach, toAttach);
+  }
+
+  @Override
+  @Nullable
+  public Context current() {
+    // don't create holders for threads that only read the context
+    ContextHolder holder = holders.get();
+    return holder != null ? holder.context : null;
+  }
+
+  @Override
+  public boolean beginInheritance() {
+    ContextHolder holder = holders.get();
+    if (holder == null || holder.context == null) {
+      return false;
+    }
+    holder.inheriting = true;
+    return true;
+  }
+
+  @Override
+  public void endInheritance() {
+    ContextHolder holder = holders.get();
+    if (holder != null) {
+      holder.inheriting = false;
+    }
+  }
+
+  private static final class ContextHolder {
+    @Nullable Context context;
+    boolean inheriting;
+
+    private ContextHolder(@Nullable Context context) {
+      this.context = context;
+    }
+  }
+
+  private static final class HolderScope implements Scope {
+    @Nullable private final Context beforeAttach;
+    private final Context toAttach;
+    private boolean closed;
+
+    private HolderScope(@Nullable Context beforeAttach, Context toAttach) {
+      this.beforeAttach = beforeAttach;
+      this.toAttach = toAttach;
+    }
+
+    @Override
+    public void close() {
+      ContextHolder holder = holders.get();
+      if (!closed && holder != null && holder.context == toAttach) {
+        closed = true;
+        holder.context = beforeAttach;
+      } else {
+        logger.log(
+            Level.FINE,
+            "Trying to close scope which does not represent current context. Ignoring the call.");
+      }
+    }
+  }
+}
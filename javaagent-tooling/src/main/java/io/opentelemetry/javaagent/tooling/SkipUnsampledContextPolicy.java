@@ -0,0 +1,35 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.javaagent.bootstrap.executors.ExecutorContextPropagationPolicy;
+
+/**
+ * Skips the propagation of contexts whose span is neither recording nor sampled and that carry no
+ * baggage, which is most contexts when only a small fraction of the traces is sampled. The decision
+ * is made on the span and the baggage alone: the instrumentations themselves keep values in every
+ * context that holds a span, so other values in the context are not propagated either.
+ *
+ * <p>This changes the sampling of the spans created by the tasks that these contexts are not
+ * propagated to: they have no parent, so they start a new root trace that the sampler decides on
+ * independently. A parent based sampler, the default, can then sample spans whose caller was not
+ * sampled, and these spans are not connected to the trace of the task submitter.
+ */
+final class SkipUnsampledContextPolicy implements ExecutorContextPropagationPolicy {
+
+  @Override
+  public boolean shouldPropagate(Context context) {
+    Span span = Span.fromContextOrNull(context);
+    if (span == null || span.isRecording() || span.getSpanContext().isSampled()) {
+      return true;
+    }
+    Baggage baggage = Baggage.fromContextOrNull(context);
+    return baggage != null && !baggage.isEmpty();
+  }
+}
@@ -0,0 +1,358 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import io.opentelemetry.javaagent.bootstrap.internal.ClassLoaderMatcherStatistics;
+import io.opentelemetry.javaagent.extension.matcher.internal.DelegatingMatcher;
+import io.opentelemetry.javaagent.tooling.config.EarlyInitAgentConfig;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.logging.Logger;
+import javax.annotation.Nullable;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * Records how long the phases of the agent startup take, how much time every instrumentation module
+ * spends matching and transforming classes and how many classes were inspected and transformed.
+ * It also reports how many class presence checks the class loader matchers made and how many of
+ * them were answered from their cache.
+ *
+ * <p>A report is logged as a single line of JSON when the agent has started and again when the JVM
+ * shuts down, the second one also covers the classes that were loaded after startup. Enabled with
+ * {@code otel.javaagent.experimental.startup-profiler.enabled}.
+ */
+public final class StartupProfiler {
+
+  private static final String ENABLED_CONFIG =
+      "otel.javaagent.experimental.startup-profiler.enabled";
+
+  @Nullable private static volatile StartupProfiler instance;
+
+  private final Map<String, Long> phaseNanos = new LinkedHashMap<>();
+  private final Map<String, ModuleStats> moduleStats = new ConcurrentHashMap<>();
+  private final LongAdder inspectedClasses = new LongAdder();
+  private final LongAdder transformedClasses = new LongAdder();
+  // the class that is currently being transformed on this thread
+  private final ThreadLocal<ClassStats> currentClass = ThreadLocal.withInitial(ClassStats::new);
+
+  // visible for testing
+  StartupProfiler() {}
+
+  public static void configure(EarlyInitAgentConfig config) {
+    if (config.getBoolean(ENABLED_CONFIG, false)) {
+      StartupProfiler profiler = new StartupProfiler();
+      instance = profiler;
+      Runtime.getRuntime()
+          .addShutdownHook(
+              new Thread(() -> profiler.logReport("shutdown"), "otel-startup-profiler"));
+    }
+  }
+
+  public static boolean isEnabled() {
+    return instance != null;
+  }
+
+  /** Returns the start time of a phase, to be passed to {@link #endPhase(String, long)}. */
+  public static long startPhase() {
+    return instance != null ? System.nanoTime() : 0;
+  }
+
+  public static void endPhase(String phase, long startNanos) {
+    StartupProfiler profiler = instance;
+    if (profiler != null) {
+      profiler.recordPhase(phase, System.nanoTime() - startNanos);
+    }
+  }
+
+  /** Logs the report of the agent startup. */
+  public static void startupFinished() {
+    StartupProfiler profiler = instance;
+    if (profiler != null) {
+      profiler.logReport("startup");
+    }
+  }
+
+  /**
+   * Returns a matcher that records the time spent in the given type or class loader matcher of
+   * the instrumentation module.
+   */
+  public static <T> ElementMatcher<T> timeMatching(
+      String instrumentationName, ElementMatcher<T> matcher) {
+    StartupProfiler profiler = instance;
+    if (profiler == null) {
+      return matcher;
+    }
+    return profiler.timedMatcher(instrumentationName, matcher);
+  }
+
+  /**
+   * Returns a matcher that records the time spent in the muzzle matcher of the instrumentation
+   * module.
+   */
+  public static AgentBuilder.RawMatcher timeMuzzle(
+      String instrumentationName, AgentBuilder.RawMatcher matcher) {
+    StartupProfiler profiler = instance;
+    if (profiler == null) {
+      return matcher;
+    }
+    ModuleStats stats = profiler.moduleStats(instrumentationName);
+    return (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) -> {
+      long start = System.nanoTime();
+      try {
+        return matcher.matches(
+            typeDescription, classLoader, module, classBeingRedefined, protectionDomain);
+      } finally {
+        profiler.recordMatching(stats.muzzleNanos, System.nanoTime() - start);
+      }
+    };
+  }
+
+  /**
+   * Returns a matcher that always matches, it has to be the last matcher of the instrumentation
+   * module so that it is only reached when the module is going to transform the type.
+   */
+  @Nullable
+  public static AgentBuilder.RawMatcher recordMatch(String instrumentationName) {
+    StartupProfiler profiler = instance;
+    if (profiler == null) {
+      return null;
+    }
+    ModuleStats stats = profiler.moduleStats(instrumentationName);
+    return (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) -> {
+      profiler.recordMatch(stats);
+      return true;
+    };
+  }
+
+  /**
+   * Returns the listener that counts the inspected and transformed classes and splits the
+   * transformation time of a class between the modules that matched it.
+   */
+  @Nullable
+  public static AgentBuilder.Listener listener() {
+    StartupProfiler profiler = instance;
+    return profiler != null ? profiler.new Listener() : null;
+  }
+
+  // visible for testing
+  synchronized void recordPhase(String phase, long nanos) {
+    phaseNanos.merge(phase, nanos, Long::sum);
+  }
+
+  // visible for testing
+  ModuleStats moduleStats(String instrumentationName) {
+    return moduleStats.computeIfAbsent(instrumentationName, ModuleStats::new);
+  }
+
+  // visible for testing
+  <T> ElementMatcher<T> timedMatcher(String instrumentationName, ElementMatcher<T> matcher) {
+    return new TimedMatcher<>(this, moduleStats(instrumentationName), matcher);
+  }
+
+  // visible for testing
+  void recordMatch(ModuleStats stats) {
+    currentClass.get().matchedModules.add(stats);
+  }
+
+  private void recordMatching(LongAdder moduleNanos, long nanos) {
+    moduleNanos.add(nanos);
+    currentClass.get().matchingNanos += nanos;
+  }
+
+  private void logReport(String event) {
+    // not kept in a static field, this class is initialized before the agent logging is set up
+    Logger.getLogger(StartupProfiler.class.getName()).info(report(event));
+  }
+
+  private String report(String event) {
+    return report(
+        event,
+        ClassLoaderMatcherStatistics.getResourceLookups(),
+        ClassLoaderMatcherStatistics.getCachedResourceLookups());
+  }
+
+  // visible for testing
+  String report(String event, long resourceLookups, long cachedResourceLookups) {
+    StringBuilder json = new StringBuilder("{\"event\":\"").append(event).append('"');
+    json.append(",\"phases\":{");
+    synchronized (this) {
+      boolean first = true;
+      for (Map.Entry<String, Long> entry : phaseNanos.entrySet()) {
+        if (!first) {
+          json.append(',');
+        }
+        first = false;
+        appendString(json, entry.getKey()).append(':').append(millis(entry.getValue()));
+      }
+    }
+    json.append('}');
+    json.append(",\"classesInspected\":").append(inspectedClasses.sum());
+    json.append(",\"classesTransformed\":").append(transformedClasses.sum());
+    json.append(",\"classLoaderResourceLookups\":").append(resourceLookups);
+    json.append(",\"classLoaderCachedResourceLookups\":").append(cachedResourceLookups);
+    json.append(",\"modules\":[");
+    List<ModuleStats> modules = new ArrayList<>(moduleStats.values());
+    modules.sort(Comparator.comparingLong(ModuleStats::totalNanos).reversed());
+    boolean first = true;
+    for (ModuleStats stats : modules) {
+      if (stats.totalNanos() == 0) {
+        continue;
+      }
+      if (!first) {
+        json.append(',');
+      }
+      first = false;
+      json.append("{\"name\":");
+      appendString(json, stats.instrumentationName);
+      json.append(",\"matchingMs\":").append(millis(stats.matchingNanos.sum()));
+      json.append(",\"muzzleMs\":").append(millis(stats.muzzleNanos.sum()));
+      json.append(",\"transformMs\":").append(millis(stats.transformNanos.sum()));
+      json.append(",\"transformedClasses\":").append(stats.transformedClasses.sum());
+      json.append('}');
+    }
+    return json.append("]}").toString();
+  }
+
+  private static StringBuilder appendString(StringBuilder json, String value) {
+    json.append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      if (c == '"' || c == '\\') {
+        json.append('\\');
+      }
+      json.append(c);
+    }
+    return json.append('"');
+  }
+
+  private static String millis(long nanos) {
+    return String.format(Locale.ROOT, "%.3f", nanos / (double) TimeUnit.MILLISECONDS.toNanos(1));
+  }
+
+  // visible for testing
+  static final class ModuleStats {
+    final String instrumentationName;
+    final LongAdder matchingNanos = new LongAdder();
+    final LongAdder muzzleNanos = new LongAdder();
+    final LongAdder transformNanos = new LongAdder();
+    final LongAdder transformedClasses = new LongAdder();
+
+    private ModuleStats(String instrumentationName) {
+      this.instrumentationName = instrumentationName;
+    }
+
+    long totalNanos() {
+      return matchingNanos.sum() + muzzleNanos.sum() + transformNanos.sum();
+    }
+  }
+
+  private static final class ClassStats {
+    long discoveryNanos;
+    long matchingNanos;
+    final List<ModuleStats> matchedModules = new ArrayList<>();
+
+    void reset() {
+      discoveryNanos = System.nanoTime();
+      matchingNanos = 0;
+      matchedModules.clear();
+    }
+  }
+
+  /**
+   * Keeps the wrapped matcher visible to {@code AgentBuilderUtil}, which only looks through {@link
+   * DelegatingMatcher}s when it decomposes the type matchers of the instrumentations.
+   */
+  private static final class TimedMatcher<T> implements ElementMatcher<T>, DelegatingMatcher {
+    private final StartupProfiler profiler;
+    private final ModuleStats stats;
+    private final ElementMatcher<T> delegate;
+
+    TimedMatcher(StartupProfiler profiler, ModuleStats stats, ElementMatcher<T> delegate) {
+      this.profiler = profiler;
+      this.stats = stats;
+      this.delegate = delegate;
+    }
+
+    @Override
+    public boolean matches(T target) {
+      long start = System.nanoTime();
+      try {
+        return delegate.matches(target);
+      } finally {
+        profiler.recordMatching(stats.matchingNanos, System.nanoTime() - start);
+      }
+    }
+
+    @Override
+    public ElementMatcher<?> getDelegate() {
+      return delegate;
+    }
+
+    @Override
+    public String toString() {
+      return delegate.toString();
+    }
+  }
+
+  // visible for testing
+  final class Listener extends AgentBuilder.Listener.Adapter {
+
+    @Override
+    public void onDiscovery(
+        String typeName,
+        @Nullable ClassLoader classLoader,
+        @Nullable JavaModule module,
+        boolean loaded) {
+      inspectedClasses.increment();
+      currentClass.get().reset();
+    }
+
+    @Override
+    public void onTransformation(
+        TypeDescription typeDescription,
+        @Nullable ClassLoader classLoader,
+        @Nullable JavaModule module,
+        boolean loaded,
+        DynamicType dynamicType) {
+      transformedClasses.increment();
+      ClassStats classStats = currentClass.get();
+      List<ModuleStats> matchedModules = classStats.matchedModules;
+      if (matchedModules.isEmpty()) {
+        return;
+      }
+      // the time spent in the matchers of all modules is already recorded separately
+      long transformNanos =
+          System.nanoTime() - classStats.discoveryNanos - classStats.matchingNanos;
+      // the modules transform the class together, split the time so that the module totals add
+      // up to the time that was actually spent
+      long moduleNanos = transformNanos / matchedModules.size();
+      for (ModuleStats stats : matchedModules) {
+        stats.transformNanos.add(moduleNanos);
+        stats.transformedClasses.increment();
+      }
+    }
+
+    @Override
+    public void onComplete(
+        String typeName,
+        @Nullable ClassLoader classLoader,
+        @Nullable JavaModule module,
+        boolean loaded) {
+      currentClass.get().matchedModules.clear();
+    }
+  }
+}
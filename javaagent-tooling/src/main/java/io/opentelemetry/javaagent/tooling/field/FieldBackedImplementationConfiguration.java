@@ -9,10 +9,13 @@ import io.opentelemetry.javaagent.tooling.config.EarlyInitAgentConfig;
 
 public final class FieldBackedImplementationConfiguration {
   static boolean fieldInjectionEnabled = true;
+  static boolean lazyClassGenerationEnabled = false;
 
   public static void configure(EarlyInitAgentConfig config) {
     fieldInjectionEnabled =
         config.getBoolean("otel.javaagent.experimental.field-injection.enabled", true);
+    lazyClassGenerationEnabled =
+        config.getBoolean("otel.javaagent.experimental.lazy-module-preparation.enabled", false);
   }
 
   private FieldBackedImplementationConfiguration() {}
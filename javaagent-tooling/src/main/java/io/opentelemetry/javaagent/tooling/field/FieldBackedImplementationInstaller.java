@@ -7,6 +7,7 @@ package io.opentelemetry.javaagent.tooling.field;
 
 import static io.opentelemetry.javaagent.extension.matcher.AgentElementMatchers.hasSuperType;
 import static io.opentelemetry.javaagent.tooling.field.FieldBackedImplementationConfiguration.fieldInjectionEnabled;
+import static io.opentelemetry.javaagent.tooling.field.FieldBackedImplementationConfiguration.lazyClassGenerationEnabled;
 import static io.opentelemetry.javaagent.tooling.field.GeneratedVirtualFieldNames.getFieldAccessorInterfaceName;
 import static java.util.logging.Level.FINEST;
 import static net.bytebuddy.matcher.ElementMatchers.isAbstract;
@@ -28,6 +29,8 @@ import java.util.Collection;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.function.Supplier;
+import javax.annotation.Nullable;
 import net.bytebuddy.ByteBuddy;
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.asm.AsmVisitorWrapper;
@@ -67,14 +70,14 @@ final class FieldBackedImplementationInstaller implements VirtualFieldImplementa
   private final Class<?> instrumenterClass;
   private final VirtualFieldMappings virtualFieldMappings;
 
-  private final FieldAccessorInterfaces fieldAccessorInterfaces;
   private final AgentBuilder.Transformer fieldAccessorInterfacesInjector;
-
-  private final VirtualFieldImplementations virtualFieldImplementations;
   private final AgentBuilder.Transformer virtualFieldImplementationsInjector;
 
   private final Instrumentation instrumentation;
 
+  // generated on first use when lazy class generation is enabled
+  @Nullable private volatile GeneratedClasses generatedClasses;
+
   public FieldBackedImplementationInstaller(
       Class<?> instrumenterClass, VirtualFieldMappings virtualFieldMappings) {
     this.instrumenterClass = instrumenterClass;
@@ -82,17 +85,51 @@ final class FieldBackedImplementationInstaller implements VirtualFieldImplementa
     // This class is used only when running with javaagent, thus this calls is safe
     this.instrumentation = InstrumentationHolder.getInstrumentation();
 
-    ByteBuddy byteBuddy = new ByteBuddy();
-    fieldAccessorInterfaces =
-        new FieldAccessorInterfacesGenerator(byteBuddy)
-            .generateFieldAccessorInterfaces(virtualFieldMappings);
     fieldAccessorInterfacesInjector =
-        bootstrapHelperInjector(fieldAccessorInterfaces.getAllInterfaces());
-    virtualFieldImplementations =
-        new VirtualFieldImplementationsGenerator(byteBuddy)
-            .generateClasses(virtualFieldMappings, fieldAccessorInterfaces);
+        bootstrapHelperInjector(() -> fieldAccessorInterfaces().getAllInterfaces());
     virtualFieldImplementationsInjector =
-        bootstrapHelperInjector(virtualFieldImplementations.getAllClasses());
+        bootstrapHelperInjector(() -> virtualFieldImplementations().getAllClasses());
+
+    if (!lazyClassGenerationEnabled) {
+      generatedClasses();
+    }
+  }
+
+  /**
+   * Returns the field accessor interfaces and virtual field implementations of this module,
+   * generating them on the first call. With lazy class generation the first call happens when a
+   * type matched by this module is transformed, so modules that never match anything in the
+   * application never pay for generating their classes.
+   */
+  private GeneratedClasses generatedClasses() {
+    GeneratedClasses result = generatedClasses;
+    if (result == null) {
+      synchronized (this) {
+        result = generatedClasses;
+        if (result == null) {
+          result = new GeneratedClasses(virtualFieldMappings);
+          generatedClasses = result;
+        }
+      }
+    }
+    return result;
+  }
+
+  // visible for testing
+  boolean hasGeneratedClasses() {
+    return generatedClasses != null;
+  }
+
+  // the injected classes and the ones that the rewritten calls and the injected fields refer to
+  // must all come from the same generated classes
+  // visible for testing
+  FieldAccessorInterfaces fieldAccessorInterfaces() {
+    return generatedClasses().fieldAccessorInterfaces;
+  }
+
+  // visible for testing
+  VirtualFieldImplementations virtualFieldImplementations() {
+    return generatedClasses().virtualFieldImplementations;
   }
 
   @Override
@@ -107,7 +144,7 @@ final class FieldBackedImplementationInstaller implements VirtualFieldImplementa
           builder.transform(
               getTransformerForAsmVisitor(
                   new VirtualFieldFindRewriter(
-                      instrumenterClass, virtualFieldMappings, virtualFieldImplementations)));
+                      instrumenterClass, virtualFieldMappings, this::virtualFieldImplementations)));
     }
     return builder;
   }
@@ -141,11 +178,26 @@ final class FieldBackedImplementationInstaller implements VirtualFieldImplementa
 
   /** Get transformer that forces helper injection onto bootstrap class loader. */
   private AgentBuilder.Transformer bootstrapHelperInjector(
-      Collection<DynamicType.Unloaded<?>> helpers) {
+      Supplier<Collection<DynamicType.Unloaded<?>>> helpers) {
     // TODO: Better to pass through the context of the Instrumenter
     return new AgentBuilder.Transformer() {
-      final HelperInjector injector =
-          HelperInjector.forDynamicTypes(getClass().getSimpleName(), helpers, instrumentation);
+      @Nullable volatile HelperInjector injector;
+
+      private HelperInjector injector() {
+        HelperInjector result = injector;
+        if (result == null) {
+          synchronized (this) {
+            result = injector;
+            if (result == null) {
+              result =
+                  HelperInjector.forDynamicTypes(
+                      getClass().getSimpleName(), helpers.get(), instrumentation);
+              injector = result;
+            }
+          }
+        }
+        return result;
+      }
 
       @Override
       public DynamicType.Builder<?> transform(
@@ -154,7 +206,7 @@ final class FieldBackedImplementationInstaller implements VirtualFieldImplementa
           ClassLoader classLoader,
           JavaModule javaModule,
           ProtectionDomain protectionDomain) {
-        return injector.transform(
+        return injector().transform(
             builder,
             typeDescription,
             // virtual field implementation classes will always go to the bootstrap
@@ -232,7 +284,7 @@ final class FieldBackedImplementationInstaller implements VirtualFieldImplementa
               builder.transform(
                   getTransformerForAsmVisitor(
                       new RealFieldInjector(
-                          fieldAccessorInterfaces, entry.getKey(), entry.getValue())));
+                          this::fieldAccessorInterfaces, entry.getKey(), entry.getValue())));
         }
       }
     }
@@ -258,6 +310,21 @@ final class FieldBackedImplementationInstaller implements VirtualFieldImplementa
         builder.visit(visitor);
   }
 
+  private static final class GeneratedClasses {
+    final FieldAccessorInterfaces fieldAccessorInterfaces;
+    final VirtualFieldImplementations virtualFieldImplementations;
+
+    GeneratedClasses(VirtualFieldMappings virtualFieldMappings) {
+      ByteBuddy byteBuddy = new ByteBuddy();
+      fieldAccessorInterfaces =
+          new FieldAccessorInterfacesGenerator(byteBuddy)
+              .generateFieldAccessorInterfaces(virtualFieldMappings);
+      virtualFieldImplementations =
+          new VirtualFieldImplementationsGenerator(byteBuddy)
+              .generateClasses(virtualFieldMappings, fieldAccessorInterfaces);
+    }
+  }
+
   // Originally found in AgentBuilder.Transformer.NoOp, but removed in 1.10.7
   enum NoOpTransformer implements AgentBuilder.Transformer {
     INSTANCE;
@@ -16,6 +16,7 @@ import io.opentelemetry.javaagent.tooling.Utils;
 import java.util.Arrays;
 import java.util.LinkedHashSet;
 import java.util.Set;
+import java.util.function.Supplier;
 import net.bytebuddy.asm.AsmVisitorWrapper;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.field.FieldList;
@@ -35,12 +36,14 @@ final class RealFieldInjector implements AsmVisitorWrapper {
   private static final String INSTALLED_FIELDS_MARKER_CLASS_NAME =
       Type.getInternalName(VirtualFieldInstalledMarker.class);
 
-  private final FieldAccessorInterfaces fieldAccessorInterfaces;
+  private final Supplier<FieldAccessorInterfaces> fieldAccessorInterfaces;
   private final String typeName;
   private final String fieldTypeName;
 
   RealFieldInjector(
-      FieldAccessorInterfaces fieldAccessorInterfaces, String typeName, String fieldTypeName) {
+      Supplier<FieldAccessorInterfaces> fieldAccessorInterfaces,
+      String typeName,
+      String fieldTypeName) {
     this.fieldAccessorInterfaces = fieldAccessorInterfaces;
     this.typeName = typeName;
     this.fieldTypeName = fieldTypeName;
@@ -76,7 +79,7 @@ final class RealFieldInjector implements AsmVisitorWrapper {
       private final String getterMethodName = getRealGetterName(typeName, fieldTypeName);
       private final String setterMethodName = getRealSetterName(typeName, fieldTypeName);
       private final TypeDescription interfaceType =
-          fieldAccessorInterfaces.find(typeName, fieldTypeName);
+          fieldAccessorInterfaces.get().find(typeName, fieldTypeName);
       private boolean foundField = false;
       private boolean foundGetter = false;
       private boolean foundSetter = false;
@@ -13,6 +13,7 @@ import io.opentelemetry.javaagent.extension.instrumentation.internal.AsmApi;
 import io.opentelemetry.javaagent.tooling.TransformSafeLogger;
 import io.opentelemetry.javaagent.tooling.muzzle.VirtualFieldMappings;
 import java.lang.reflect.Method;
+import java.util.function.Supplier;
 import net.bytebuddy.asm.AsmVisitorWrapper;
 import net.bytebuddy.description.field.FieldDescription;
 import net.bytebuddy.description.field.FieldList;
@@ -48,12 +49,12 @@ final class VirtualFieldFindRewriter implements AsmVisitorWrapper {
 
   private final Class<?> instrumentationModuleClass;
   private final VirtualFieldMappings virtualFieldMappings;
-  private final VirtualFieldImplementations virtualFieldImplementations;
+  private final Supplier<VirtualFieldImplementations> virtualFieldImplementations;
 
   public VirtualFieldFindRewriter(
       Class<?> instrumentationModuleClass,
       VirtualFieldMappings virtualFieldMappings,
-      VirtualFieldImplementations virtualFieldImplementations) {
+      Supplier<VirtualFieldImplementations> virtualFieldImplementations) {
     this.instrumentationModuleClass = instrumentationModuleClass;
     this.virtualFieldMappings = virtualFieldMappings;
     this.virtualFieldImplementations = virtualFieldImplementations;
@@ -117,7 +118,7 @@ final class VirtualFieldFindRewriter implements AsmVisitorWrapper {
                 String fieldTypeName = ((Type) stack[0]).getClassName();
                 String typeName = ((Type) stack[1]).getClassName();
                 TypeDescription virtualFieldImplementationClass =
-                    virtualFieldImplementations.find(typeName, fieldTypeName);
+                    virtualFieldImplementations.get().find(typeName, fieldTypeName);
                 if (logger.isLoggable(FINEST)) {
                   logger.log(
                       FINEST,
@@ -50,7 +50,13 @@ public class IgnoredTypesBuilderImpl implements IgnoredTypesBuilder {
   }
 
   public Trie<IgnoreAllow> buildIgnoredTypesTrie() {
-    return ignoredTypesTrie.build();
+    // the ignored types trie is consulted for every loaded class
+    return ignoredTypesTrie.buildCompact();
+  }
+
+  // visible for testing
+  Trie.Builder<IgnoreAllow> ignoredTypesTrieBuilder() {
+    return ignoredTypesTrie;
   }
 
   public Trie<IgnoreAllow> buildIgnoredClassLoadersTrie() {
@@ -0,0 +1,395 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.logging.Level.FINE;
+import static java.util.logging.Level.WARNING;
+
+import io.opentelemetry.javaagent.tooling.AgentVersion;
+import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import javax.annotation.Nullable;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.dynamic.DynamicType;
+import net.bytebuddy.utility.JavaModule;
+
+/**
+ * Remembers across JVM starts which application classes were not transformed by any
+ * instrumentation, so that their type matching can be skipped on the next start.
+ *
+ * <p>Only classes loaded from the jars of the application class path are cached. Class path
+ * directories are left out, because a class file in them can change without changing the size or
+ * modification time of the directory. Whether a type matches can also depend on the class loader
+ * that defines it, so the name of the class loader's class is cached along with the type name. The
+ * cache is keyed by the agent version, the JVM version, the otel configuration and the size and
+ * modification time of the agent jar and of every class path jar. The contents of the
+ * configuration file and of the extension jars are part of the key too, as they can change what is
+ * instrumented without changing any of the above. If any of these change, the cache is discarded
+ * and built again. Results are written to disk when the JVM shuts down.
+ */
+public final class MatcherResultCache implements AgentBuilder.RawMatcher {
+
+  private static final Logger logger = Logger.getLogger(MatcherResultCache.class.getName());
+
+  private static final String DIRECTORY_CONFIG =
+      "otel.javaagent.experimental.matcher-cache.directory";
+  private static final String CONFIGURATION_FILE_CONFIG = "otel.javaagent.configuration-file";
+  private static final String EXTENSIONS_CONFIG = "otel.javaagent.extensions";
+  private static final String FILE_NAME = "matcher-cache";
+  private static final String HEADER_PREFIX = "# ";
+
+  private final Path file;
+  private final String key;
+  private final Set<String> classPath;
+  private final Set<String> unmatchedTypes;
+  private final Set<String> newUnmatchedTypes = ConcurrentHashMap.newKeySet();
+  // the cache entry of the type that is currently matched on this thread, if it can be cached
+  private final ThreadLocal<String> candidate = new ThreadLocal<>();
+
+  MatcherResultCache(Path file, String key, Set<String> classPath, Set<String> unmatchedTypes) {
+    this.file = file;
+    this.key = key;
+    this.classPath = classPath;
+    this.unmatchedTypes = unmatchedTypes;
+  }
+
+  /** Returns the cache, or {@code null} if it isn't configured. */
+  @Nullable
+  public static MatcherResultCache create(ConfigProperties config) {
+    String directory = config.getString(DIRECTORY_CONFIG);
+    if (directory == null || directory.isEmpty()) {
+      return null;
+    }
+
+    Set<String> classPath = new HashSet<>();
+    List<String> classPathEntries = new ArrayList<>();
+    for (File jar : classPathJars(System.getProperty("java.class.path", ""))) {
+      String path = jar.getPath();
+      classPath.add(path);
+      classPathEntries.add(path + ":" + jar.length() + ":" + jar.lastModified());
+    }
+    File agentJar = agentJar();
+    if (agentJar != null) {
+      classPathEntries.add(agentJar + ":" + agentJar.length() + ":" + agentJar.lastModified());
+    }
+
+    List<File> inputFiles = new ArrayList<>();
+    String configurationFile = config.getString(CONFIGURATION_FILE_CONFIG);
+    if (configurationFile != null) {
+      inputFiles.add(
+          new File(configurationFile.replaceFirst("^~", System.getProperty("user.home"))));
+    }
+    inputFiles.addAll(extensionJars(config.getString(EXTENSIONS_CONFIG)));
+
+    String key;
+    try {
+      key = cacheKey(classPathEntries, inputFiles);
+    } catch (IOException e) {
+      logger.log(WARNING, "Matcher cache disabled, failed to read its inputs", e);
+      return null;
+    }
+    Path file = Paths.get(directory, FILE_NAME);
+    MatcherResultCache cache =
+        new MatcherResultCache(file, key, classPath, readUnmatchedTypes(file, key));
+    Runtime.getRuntime().addShutdownHook(new Thread(cache::save, "otel-matcher-cache"));
+    logger.log(
+        FINE,
+        "Loaded {0} cached unmatched types from {1}",
+        new Object[] {cache.unmatchedTypes.size(), file});
+    return cache;
+  }
+
+  // visible for testing
+  static String cacheKey(List<String> classPathEntries, List<File> inputFiles)
+      throws IOException {
+    CRC32 crc = new CRC32();
+    for (String entry : classPathEntries) {
+      crc.update(entry.getBytes(UTF_8));
+    }
+    for (File inputFile : inputFiles) {
+      crc.update(inputFile.getPath().getBytes(UTF_8));
+      // a missing configuration file is not an error, it leaves the configuration unchanged
+      if (inputFile.isFile()) {
+        crc.update(
+            (":" + inputFile.length() + ":" + inputFile.lastModified() + ":" + hash(inputFile))
+                .getBytes(UTF_8));
+      }
+    }
+    // configuration decides which instrumentations are enabled and which types are ignored
+    Map<String, String> config = new TreeMap<>();
+    for (String name : System.getProperties().stringPropertyNames()) {
+      if (name.startsWith("otel.")) {
+        config.put(name, System.getProperty(name));
+      }
+    }
+    for (Map.Entry<String, String> entry : System.getenv().entrySet()) {
+      if (entry.getKey().startsWith("OTEL_")) {
+        config.put(entry.getKey(), entry.getValue());
+      }
+    }
+    for (Map.Entry<String, String> entry : config.entrySet()) {
+      crc.update((entry.getKey() + "=" + entry.getValue()).getBytes(UTF_8));
+    }
+    return AgentVersion.VERSION
+        + " "
+        + System.getProperty("java.vm.version")
+        + " "
+        + Long.toHexString(crc.getValue());
+  }
+
+  private static long hash(File file) throws IOException {
+    CRC32 crc = new CRC32();
+    byte[] buffer = new byte[8192];
+    try (InputStream in = Files.newInputStream(file.toPath())) {
+      int read;
+      while ((read = in.read(buffer)) != -1) {
+        crc.update(buffer, 0, read);
+      }
+    }
+    return crc.getValue();
+  }
+
+  /** Returns the normalized absolute paths of the jars on the class path. */
+  // visible for testing
+  static List<File> classPathJars(String javaClassPath) {
+    List<File> jars = new ArrayList<>();
+    for (String entry : javaClassPath.split(File.pathSeparator)) {
+      if (entry.isEmpty()) {
+        continue;
+      }
+      File file = new File(entry).getAbsoluteFile().toPath().normalize().toFile();
+      // directories are not cached, their size and modification time don't change when a class
+      // file in them changes
+      if (file.isFile()) {
+        jars.add(file);
+      }
+    }
+    return jars;
+  }
+
+  /** Returns the extension jars in the same way as the extension class loader finds them. */
+  private static List<File> extensionJars(@Nullable String locations) {
+    if (locations == null) {
+      return Collections.emptyList();
+    }
+    List<File> jars = new ArrayList<>();
+    for (String location : locations.split(",")) {
+      if (location.isEmpty()) {
+        continue;
+      }
+      File file = new File(location);
+      if (file.isDirectory()) {
+        File[] files = file.listFiles(MatcherResultCache::isJar);
+        if (files != null) {
+          Arrays.sort(files);
+          jars.addAll(Arrays.asList(files));
+        }
+      } else if (isJar(file)) {
+        jars.add(file);
+      }
+    }
+    return jars;
+  }
+
+  private static boolean isJar(File file) {
+    return file.isFile() && file.getName().endsWith(".jar");
+  }
+
+  /** Returns the agent jar, it also contains the extensions that are embedded in the agent. */
+  @Nullable
+  private static File agentJar() {
+    try {
+      CodeSource codeSource = MatcherResultCache.class.getProtectionDomain().getCodeSource();
+      URL location = codeSource != null ? codeSource.getLocation() : null;
+      return location != null ? new File(location.toURI()) : null;
+    } catch (URISyntaxException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  // visible for testing
+  static Set<String> readUnmatchedTypes(Path file, String key) {
+    if (!Files.isRegularFile(file)) {
+      return Collections.emptySet();
+    }
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      String[] lines = UTF_8.decode(buffer).toString().split("\n");
+      if (lines.length == 0 || !lines[0].equals(HEADER_PREFIX + key)) {
+        logger.log(FINE, "Discarding stale matcher cache {0}", file);
+        return Collections.emptySet();
+      }
+      Set<String> types = new HashSet<>(lines.length * 2);
+      for (int i = 1; i < lines.length; i++) {
+        if (!lines[i].isEmpty()) {
+          types.add(lines[i]);
+        }
+      }
+      return types;
+    } catch (IOException | RuntimeException e) {
+      logger.log(WARNING, "Failed to read matcher cache " + file, e);
+      return Collections.emptySet();
+    }
+  }
+
+  // visible for testing
+  void save() {
+    if (newUnmatchedTypes.isEmpty()) {
+      return;
+    }
+    StringBuilder content = new StringBuilder(HEADER_PREFIX).append(key).append('\n');
+    Set<String> types = new HashSet<>(unmatchedTypes);
+    types.addAll(newUnmatchedTypes);
+    for (String type : types) {
+      content.append(type).append('\n');
+    }
+    try {
+      Files.createDirectories(file.getParent());
+      Path temp = Files.createTempFile(file.getParent(), FILE_NAME, ".tmp");
+      Files.write(temp, content.toString().getBytes(UTF_8));
+      Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    } catch (IOException | RuntimeException e) {
+      logger.log(WARNING, "Failed to write matcher cache " + file, e);
+    }
+  }
+
+  /**
+   * Returns {@code true}, i.e. ignore the type, if it is known not to match any instrumentation.
+   */
+  @Override
+  public boolean matches(
+      TypeDescription typeDescription,
+      @Nullable ClassLoader classLoader,
+      @Nullable JavaModule module,
+      @Nullable Class<?> classBeingRedefined,
+      @Nullable ProtectionDomain protectionDomain) {
+    if (classLoader == null || !isCacheable(protectionDomain)) {
+      candidate.remove();
+      return false;
+    }
+    String entry = entry(classLoader, typeDescription.getName());
+    if (unmatchedTypes.contains(entry)) {
+      return true;
+    }
+    candidate.set(entry);
+    return false;
+  }
+
+  // the class loader matchers of the instrumentations depend on the class loader, e.g. a restart
+  // class loader of spring boot devtools can see other classes than the application class loader
+  private static String entry(ClassLoader classLoader, String typeName) {
+    return classLoader.getClass().getName() + " " + typeName;
+  }
+
+  private boolean isCacheable(@Nullable ProtectionDomain protectionDomain) {
+    if (protectionDomain == null) {
+      return false;
+    }
+    CodeSource codeSource = protectionDomain.getCodeSource();
+    URL location = codeSource != null ? codeSource.getLocation() : null;
+    if (location == null) {
+      return false;
+    }
+    String path = outerFilePath(location.toString());
+    return path != null && classPath.contains(path);
+  }
+
+  /**
+   * Returns the path of the file on the class path that the location belongs to, for nested jars
+   * that is the outer jar.
+   */
+  // visible for testing
+  @Nullable
+  static String outerFilePath(String location) {
+    String path = location;
+    if (path.startsWith("jar:")) {
+      path = path.substring("jar:".length());
+    }
+    if (path.startsWith("nested:")) {
+      // spring boot 3.2+ nested jar urls: jar:nested:/app.jar/!BOOT-INF/classes/!/
+      path = "file:" + path.substring("nested:".length());
+      int separator = path.indexOf("/!");
+      if (separator != -1) {
+        path = path.substring(0, separator);
+      }
+    } else if (!path.startsWith("file:")) {
+      return null;
+    }
+    int separator = path.indexOf("!/");
+    if (separator != -1) {
+      path = path.substring(0, separator);
+    }
+    try {
+      return Paths.get(new URI(path)).normalize().toString();
+    } catch (URISyntaxException | RuntimeException e) {
+      return null;
+    }
+  }
+
+  public AgentBuilder.Listener listener() {
+    return new AgentBuilder.Listener.Adapter() {
+      @Override
+      public void onTransformation(
+          TypeDescription typeDescription,
+          @Nullable ClassLoader classLoader,
+          @Nullable JavaModule module,
+          boolean loaded,
+          DynamicType dynamicType) {
+        candidate.remove();
+      }
+
+      @Override
+      public void onIgnored(
+          TypeDescription typeDescription,
+          @Nullable ClassLoader classLoader,
+          @Nullable JavaModule module,
+          boolean loaded) {
+        String entry = candidate.get();
+        if (entry != null
+            && classLoader != null
+            && entry.equals(entry(classLoader, typeDescription.getName()))) {
+          newUnmatchedTypes.add(entry);
+        }
+      }
+
+      @Override
+      public void onComplete(
+          String typeName,
+          @Nullable ClassLoader classLoader,
+          @Nullable JavaModule module,
+          boolean loaded) {
+        candidate.remove();
+      }
+    };
+  }
+}
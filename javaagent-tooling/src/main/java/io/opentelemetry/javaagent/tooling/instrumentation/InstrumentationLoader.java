@@ -15,6 +15,13 @@ import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModul
 import io.opentelemetry.javaagent.tooling.AgentExtension;
 import io.opentelemetry.javaagent.tooling.Utils;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 import java.util.logging.Logger;
 import net.bytebuddy.agent.builder.AgentBuilder;
 
@@ -22,36 +29,86 @@ import net.bytebuddy.agent.builder.AgentBuilder;
 public class InstrumentationLoader implements AgentExtension {
   private static final Logger logger = Logger.getLogger(InstrumentationLoader.class.getName());
 
+  // prepare the built-in instrumentation modules on a small fork join pool and generate their
+  // virtual field classes only once a type they instrument is transformed
+  private static final String LAZY_MODULE_PREPARATION_CONFIG =
+      "otel.javaagent.experimental.lazy-module-preparation.enabled";
+  private static final int MAX_PREPARATION_PARALLELISM = 4;
+
   private final InstrumentationModuleInstaller instrumentationModuleInstaller =
       new InstrumentationModuleInstaller(InstrumentationHolder.getInstrumentation());
 
   @Override
   public AgentBuilder extend(AgentBuilder agentBuilder, ConfigProperties config) {
+    List<InstrumentationModule> instrumentationModules =
+        loadOrdered(InstrumentationModule.class, Utils.getExtensionsClassLoader());
+    return installModules(
+        instrumentationModules,
+        agentBuilder,
+        module -> instrumentationModuleInstaller.prepare(module, config),
+        instrumentationModuleInstaller::install,
+        config.getBoolean(LAZY_MODULE_PREPARATION_CONFIG, false));
+  }
+
+  /**
+   * Prepares the modules and adds them to the agent builder in their original order. When {@code
+   * parallelPreparation} is set, the built-in modules are prepared concurrently on a small pool.
+   * Modules from extensions are always prepared on the calling thread, because the {@link
+   * InstrumentationModule} API doesn't require its methods to be thread safe.
+   */
+  // visible for testing
+  static <T> AgentBuilder installModules(
+      List<InstrumentationModule> instrumentationModules,
+      AgentBuilder agentBuilder,
+      Function<InstrumentationModule, T> prepare,
+      BiFunction<T, AgentBuilder, AgentBuilder> install,
+      boolean parallelPreparation) {
+    ForkJoinPool pool = parallelPreparation ? createPreparationPool() : null;
+    List<ForkJoinTask<T>> preparations = new ArrayList<>();
+    if (pool != null) {
+      // modules don't depend on each other until they are added to the agent builder, which has to
+      // happen in order on this thread
+      for (InstrumentationModule instrumentationModule : instrumentationModules) {
+        preparations.add(
+            isBuiltIn(instrumentationModule)
+                ? pool.submit(() -> prepare.apply(instrumentationModule))
+                : null);
+      }
+    }
+
     int numberOfLoadedModules = 0;
-    for (InstrumentationModule instrumentationModule :
-        loadOrdered(InstrumentationModule.class, Utils.getExtensionsClassLoader())) {
-      if (logger.isLoggable(FINE)) {
-        logger.log(
-            FINE,
-            "Loading instrumentation {0} [class {1}]",
-            new Object[] {
-              instrumentationModule.instrumentationName(),
-              instrumentationModule.getClass().getName()
-            });
+    try {
+      for (int i = 0; i < instrumentationModules.size(); i++) {
+        InstrumentationModule instrumentationModule = instrumentationModules.get(i);
+        if (logger.isLoggable(FINE)) {
+          logger.log(
+              FINE,
+              "Loading instrumentation {0} [class {1}]",
+              new Object[] {
+                instrumentationModule.instrumentationName(),
+                instrumentationModule.getClass().getName()
+              });
+        }
+        try {
+          ForkJoinTask<T> preparation = pool != null ? preparations.get(i) : null;
+          T preparedModule =
+              preparation != null ? preparation.join() : prepare.apply(instrumentationModule);
+          agentBuilder = install.apply(preparedModule, agentBuilder);
+          numberOfLoadedModules++;
+        } catch (Exception | LinkageError e) {
+          logger.log(
+              SEVERE,
+              "Unable to load instrumentation "
+                  + instrumentationModule.instrumentationName()
+                  + " [class "
+                  + instrumentationModule.getClass().getName()
+                  + "]",
+              e);
+        }
       }
-      try {
-        agentBuilder =
-            instrumentationModuleInstaller.install(instrumentationModule, agentBuilder, config);
-        numberOfLoadedModules++;
-      } catch (Exception | LinkageError e) {
-        logger.log(
-            SEVERE,
-            "Unable to load instrumentation "
-                + instrumentationModule.instrumentationName()
-                + " [class "
-                + instrumentationModule.getClass().getName()
-                + "]",
-            e);
+    } finally {
+      if (pool != null) {
+        pool.shutdown();
       }
     }
     logger.log(FINE, "Installed {0} instrumentation(s)", numberOfLoadedModules);
@@ -59,6 +116,29 @@ public class InstrumentationLoader implements AgentExtension {
     return agentBuilder;
   }
 
+  // built-in modules are loaded by the agent class loader, extensions by their own class loader
+  private static boolean isBuiltIn(InstrumentationModule instrumentationModule) {
+    return instrumentationModule.getClass().getClassLoader()
+        == InstrumentationLoader.class.getClassLoader();
+  }
+
+  private static ForkJoinPool createPreparationPool() {
+    int parallelism =
+        Math.min(MAX_PREPARATION_PARALLELISM, Runtime.getRuntime().availableProcessors());
+    ClassLoader contextClassLoader = Thread.currentThread().getContextClassLoader();
+    return new ForkJoinPool(
+        parallelism,
+        pool -> {
+          ForkJoinWorkerThread thread =
+              ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+          thread.setName("otel-module-preparation-" + thread.getPoolIndex());
+          thread.setContextClassLoader(contextClassLoader);
+          return thread;
+        },
+        null,
+        false);
+  }
+
   @Override
   public String extensionName() {
     return "instrumentation-loader";
@@ -18,6 +18,7 @@ import io.opentelemetry.javaagent.extension.instrumentation.internal.injection.I
 import io.opentelemetry.javaagent.tooling.HelperClassDefinition;
 import io.opentelemetry.javaagent.tooling.HelperInjector;
 import io.opentelemetry.javaagent.tooling.ModuleOpener;
+import io.opentelemetry.javaagent.tooling.StartupProfiler;
 import io.opentelemetry.javaagent.tooling.TransformSafeLogger;
 import io.opentelemetry.javaagent.tooling.Utils;
 import io.opentelemetry.javaagent.tooling.bytebuddy.LoggingFailSafeMatcher;
@@ -28,6 +29,7 @@ import io.opentelemetry.javaagent.tooling.instrumentation.indy.ClassInjectorImpl
 import io.opentelemetry.javaagent.tooling.instrumentation.indy.ForwardIndyAdviceTransformer;
 import io.opentelemetry.javaagent.tooling.instrumentation.indy.IndyModuleRegistry;
 import io.opentelemetry.javaagent.tooling.instrumentation.indy.IndyTypeTransformerImpl;
+import io.opentelemetry.javaagent.tooling.jfr.JfrInstrumentationEvents;
 import io.opentelemetry.javaagent.tooling.muzzle.HelperResourceBuilderImpl;
 import io.opentelemetry.javaagent.tooling.muzzle.InstrumentationModuleMuzzle;
 import io.opentelemetry.javaagent.tooling.util.IgnoreFailedTypeMatcher;
@@ -39,6 +41,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
+import javax.annotation.Nullable;
 import net.bytebuddy.agent.builder.AgentBuilder;
 import net.bytebuddy.description.annotation.AnnotationSource;
 import net.bytebuddy.description.type.TypeDescription;
@@ -63,30 +66,43 @@ public final class InstrumentationModuleInstaller {
     this.instrumentation = instrumentation;
   }
 
-  AgentBuilder install(
-      InstrumentationModule instrumentationModule,
-      AgentBuilder parentAgentBuilder,
-      ConfigProperties config) {
+  /**
+   * Does all the work of installing the module that doesn't need the agent builder. Unlike {@link
+   * #install(PreparedModule, AgentBuilder)} this method may be called concurrently for different
+   * modules. Returns {@code null} when there is nothing to install.
+   */
+  @Nullable
+  PreparedModule prepare(InstrumentationModule instrumentationModule, ConfigProperties config) {
     if (!AgentConfig.isInstrumentationEnabled(
         config,
         instrumentationModule.instrumentationNames(),
         instrumentationModule.defaultEnabled(config))) {
       logger.log(
           FINE, "Instrumentation {0} is disabled", instrumentationModule.instrumentationName());
-      return parentAgentBuilder;
+      return null;
     }
 
     if (instrumentationModule.isIndyModule()) {
-      return installIndyModule(instrumentationModule, parentAgentBuilder, config);
+      return prepareIndyModule(instrumentationModule, config);
     } else {
-      return installInjectingModule(instrumentationModule, parentAgentBuilder, config);
+      return prepareInjectingModule(instrumentationModule, config);
     }
   }
 
-  private AgentBuilder installIndyModule(
-      InstrumentationModule instrumentationModule,
-      AgentBuilder parentAgentBuilder,
-      ConfigProperties config) {
+  AgentBuilder install(@Nullable PreparedModule preparedModule, AgentBuilder parentAgentBuilder) {
+    if (preparedModule == null) {
+      return parentAgentBuilder;
+    }
+    if (preparedModule.instrumentationModule.isIndyModule()) {
+      return installIndyModule(preparedModule, parentAgentBuilder);
+    } else {
+      return installInjectingModule(preparedModule, parentAgentBuilder);
+    }
+  }
+
+  @Nullable
+  private PreparedModule prepareIndyModule(
+      InstrumentationModule instrumentationModule, ConfigProperties config) {
     List<String> helperClassNames =
         InstrumentationModuleMuzzle.getHelperClassNames(instrumentationModule);
     HelperResourceBuilderImpl helperResourceBuilder = new HelperResourceBuilderImpl();
@@ -100,7 +116,7 @@ public final class InstrumentationModuleInstaller {
             instrumentationModule.instrumentationName());
       }
 
-      return parentAgentBuilder;
+      return null;
     }
 
     List<String> injectedHelperClassNames;
@@ -145,18 +161,36 @@ public final class InstrumentationModuleInstaller {
     VirtualFieldImplementationInstaller contextProvider =
         virtualFieldInstallerFactory.create(instrumentationModule);
 
+    return new PreparedModule(
+        instrumentationModule,
+        typeInstrumentations,
+        muzzleMatcher,
+        helperInjector,
+        contextProvider);
+  }
+
+  private AgentBuilder installIndyModule(
+      PreparedModule preparedModule, AgentBuilder parentAgentBuilder) {
+    InstrumentationModule instrumentationModule = preparedModule.instrumentationModule;
+    HelperInjector helperInjector = preparedModule.helperInjector;
+    VirtualFieldImplementationInstaller contextProvider = preparedModule.contextProvider;
+
     AgentBuilder agentBuilder = parentAgentBuilder;
-    for (TypeInstrumentation typeInstrumentation : instrumentationModule.typeInstrumentations()) {
+    for (TypeInstrumentation typeInstrumentation : preparedModule.typeInstrumentations) {
       AgentBuilder.Identified.Extendable extendableAgentBuilder =
-          setTypeMatcher(agentBuilder, instrumentationModule, typeInstrumentation)
-              .and(muzzleMatcher)
-              .transform(ConstantAdjuster.instance())
+          setTypeMatcher(
+                  agentBuilder,
+                  instrumentationModule,
+                  typeInstrumentation,
+                  preparedModule.muzzleMatcher)
+              .transform(firstTransformer(instrumentationModule, typeInstrumentation))
               .transform(new ForwardIndyAdviceTransformer(helperInjector));
 
       extendableAgentBuilder =
           IndyModuleRegistry.initializeModuleLoaderOnMatch(
               instrumentationModule, extendableAgentBuilder);
-      extendableAgentBuilder = extendableAgentBuilder.transform(helperInjector);
+      extendableAgentBuilder =
+          extendableAgentBuilder.transform(helperInjector(instrumentationModule, helperInjector));
       extendableAgentBuilder = contextProvider.injectHelperClasses(extendableAgentBuilder);
       IndyTypeTransformerImpl typeTransformer =
           new IndyTypeTransformerImpl(extendableAgentBuilder, instrumentationModule);
@@ -169,10 +203,9 @@ public final class InstrumentationModuleInstaller {
     return agentBuilder;
   }
 
-  private AgentBuilder installInjectingModule(
-      InstrumentationModule instrumentationModule,
-      AgentBuilder parentAgentBuilder,
-      ConfigProperties config) {
+  @Nullable
+  private PreparedModule prepareInjectingModule(
+      InstrumentationModule instrumentationModule, ConfigProperties config) {
     List<String> helperClassNames =
         InstrumentationModuleMuzzle.getHelperClassNames(instrumentationModule);
     HelperResourceBuilderImpl helperResourceBuilder = new HelperResourceBuilderImpl();
@@ -186,11 +219,11 @@ public final class InstrumentationModuleInstaller {
             instrumentationModule.instrumentationName());
       }
 
-      return parentAgentBuilder;
+      return null;
     }
 
     MuzzleMatcher muzzleMatcher = new MuzzleMatcher(logger, instrumentationModule, config);
-    AgentBuilder.Transformer helperInjector =
+    HelperInjector helperInjector =
         new HelperInjector(
             instrumentationModule.instrumentationName(),
             helperClassNames,
@@ -200,13 +233,29 @@ public final class InstrumentationModuleInstaller {
     VirtualFieldImplementationInstaller contextProvider =
         virtualFieldInstallerFactory.create(instrumentationModule);
 
+    return new PreparedModule(
+        instrumentationModule,
+        typeInstrumentations,
+        muzzleMatcher,
+        helperInjector,
+        contextProvider);
+  }
+
+  private AgentBuilder installInjectingModule(
+      PreparedModule preparedModule, AgentBuilder parentAgentBuilder) {
+    InstrumentationModule instrumentationModule = preparedModule.instrumentationModule;
+    VirtualFieldImplementationInstaller contextProvider = preparedModule.contextProvider;
+
     AtomicBoolean openerRun = new AtomicBoolean();
     AgentBuilder agentBuilder = parentAgentBuilder;
-    for (TypeInstrumentation typeInstrumentation : typeInstrumentations) {
+    for (TypeInstrumentation typeInstrumentation : preparedModule.typeInstrumentations) {
       AgentBuilder.Identified.Extendable extendableAgentBuilder =
-          setTypeMatcher(agentBuilder, instrumentationModule, typeInstrumentation)
-              .and(muzzleMatcher)
-              .transform(ConstantAdjuster.instance())
+          setTypeMatcher(
+                  agentBuilder,
+                  instrumentationModule,
+                  typeInstrumentation,
+                  preparedModule.muzzleMatcher)
+              .transform(firstTransformer(instrumentationModule, typeInstrumentation))
               .transform(
                   (builder, typeDescription, classLoader, module, protectionDomain) -> {
                     if (JavaModule.isSupported()
@@ -226,7 +275,7 @@ public final class InstrumentationModuleInstaller {
 
                     return builder;
                   })
-              .transform(helperInjector);
+              .transform(helperInjector(instrumentationModule, preparedModule.helperInjector));
       extendableAgentBuilder = contextProvider.injectHelperClasses(extendableAgentBuilder);
       extendableAgentBuilder = contextProvider.rewriteVirtualFieldsCalls(extendableAgentBuilder);
       TypeTransformerImpl typeTransformer = new TypeTransformerImpl(extendableAgentBuilder);
@@ -243,7 +292,8 @@ public final class InstrumentationModuleInstaller {
   private static AgentBuilder.Identified.Narrowable setTypeMatcher(
       AgentBuilder agentBuilder,
       InstrumentationModule instrumentationModule,
-      TypeInstrumentation typeInstrumentation) {
+      TypeInstrumentation typeInstrumentation,
+      MuzzleMatcher muzzleMatcher) {
 
     ElementMatcher.Junction<ClassLoader> moduleClassLoaderMatcher =
         instrumentationModule.classLoaderMatcher();
@@ -261,15 +311,88 @@ public final class InstrumentationModuleInstaller {
                 + typeInstrumentation.getClass().getSimpleName(),
             moduleClassLoaderMatcher.and(typeInstrumentation.classLoaderOptimization()));
 
-    return agentBuilder
-        .type(
-            new LoggingFailSafeMatcher<>(
-                typeMatcher, "Instrumentation type matcher unexpected exception: " + typeMatcher),
-            new LoggingFailSafeMatcher<>(
-                classLoaderMatcher,
-                "Instrumentation class loader matcher unexpected exception: " + classLoaderMatcher))
-        .and(
-            (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) ->
-                classLoader == null || NOT_DECORATOR_MATCHER.matches(typeDescription));
+    String instrumentationName = instrumentationModule.instrumentationName();
+    ElementMatcher<TypeDescription> timedTypeMatcher =
+        StartupProfiler.timeMatching(instrumentationName, typeMatcher);
+    ElementMatcher<ClassLoader> timedClassLoaderMatcher =
+        StartupProfiler.timeMatching(instrumentationName, classLoaderMatcher);
+    if (JfrEventsConfiguration.isEnabled()) {
+      timedTypeMatcher =
+          JfrInstrumentationEvents.typeMatcher(instrumentationName, timedTypeMatcher);
+      timedClassLoaderMatcher =
+          JfrInstrumentationEvents.classLoaderMatcher(instrumentationName, timedClassLoaderMatcher);
+    }
+
+    AgentBuilder.Identified.Narrowable narrowable =
+        agentBuilder
+            .type(
+                new LoggingFailSafeMatcher<>(
+                    timedTypeMatcher,
+                    "Instrumentation type matcher unexpected exception: " + typeMatcher),
+                new LoggingFailSafeMatcher<>(
+                    timedClassLoaderMatcher,
+                    "Instrumentation class loader matcher unexpected exception: "
+                        + classLoaderMatcher))
+            .and(
+                (typeDescription, classLoader, module, classBeingRedefined, protectionDomain) ->
+                    classLoader == null || NOT_DECORATOR_MATCHER.matches(typeDescription))
+            .and(StartupProfiler.timeMuzzle(instrumentationName, muzzleMatcher));
+
+    AgentBuilder.RawMatcher matchRecorder = StartupProfiler.recordMatch(instrumentationName);
+    return matchRecorder != null ? narrowable.and(matchRecorder) : narrowable;
+  }
+
+  /**
+   * Returns the first transformer of a type instrumentation, when JFR events are enabled it also
+   * marks the point where ByteBuddy is done matching and starts transforming the class.
+   */
+  private static AgentBuilder.Transformer firstTransformer(
+      InstrumentationModule instrumentationModule, TypeInstrumentation typeInstrumentation) {
+    AgentBuilder.Transformer constantAdjuster = ConstantAdjuster.instance();
+    if (!JfrEventsConfiguration.isEnabled()) {
+      return constantAdjuster;
+    }
+    AgentBuilder.Transformer transformationStarted =
+        JfrInstrumentationEvents.transformationStarted(
+            instrumentationModule.instrumentationName(), typeInstrumentation.getClass().getName());
+    return (builder, typeDescription, classLoader, module, protectionDomain) ->
+        constantAdjuster.transform(
+            transformationStarted.transform(
+                builder, typeDescription, classLoader, module, protectionDomain),
+            typeDescription,
+            classLoader,
+            module,
+            protectionDomain);
+  }
+
+  private static AgentBuilder.Transformer helperInjector(
+      InstrumentationModule instrumentationModule, HelperInjector helperInjector) {
+    if (!JfrEventsConfiguration.isEnabled()) {
+      return helperInjector;
+    }
+    return JfrInstrumentationEvents.helperInjector(
+        instrumentationModule.instrumentationName(), helperInjector);
+  }
+
+  /** The result of {@link #prepare(InstrumentationModule, ConfigProperties)}. */
+  static final class PreparedModule {
+    private final InstrumentationModule instrumentationModule;
+    private final List<TypeInstrumentation> typeInstrumentations;
+    private final MuzzleMatcher muzzleMatcher;
+    private final HelperInjector helperInjector;
+    private final VirtualFieldImplementationInstaller contextProvider;
+
+    private PreparedModule(
+        InstrumentationModule instrumentationModule,
+        List<TypeInstrumentation> typeInstrumentations,
+        MuzzleMatcher muzzleMatcher,
+        HelperInjector helperInjector,
+        VirtualFieldImplementationInstaller contextProvider) {
+      this.instrumentationModule = instrumentationModule;
+      this.typeInstrumentations = typeInstrumentations;
+      this.muzzleMatcher = muzzleMatcher;
+      this.helperInjector = helperInjector;
+      this.contextProvider = contextProvider;
+    }
   }
 }
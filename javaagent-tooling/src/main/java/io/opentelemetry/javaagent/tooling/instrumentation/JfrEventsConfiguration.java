@@ -0,0 +1,51 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.util.logging.Level.FINE;
+
+import io.opentelemetry.javaagent.tooling.config.EarlyInitAgentConfig;
+import java.util.logging.Logger;
+
+/**
+ * Decides whether the agent emits JFR events about its own instrumentation overhead, see {@code
+ * io.opentelemetry.javaagent.tooling.jfr.JfrInstrumentationEvents}. The events are only available
+ * on Java 11 or later, classes of the jfr module must not be touched unless {@link #isEnabled()}
+ * returns {@code true}.
+ */
+public final class JfrEventsConfiguration {
+
+  private static final Logger logger = Logger.getLogger(JfrEventsConfiguration.class.getName());
+
+  private static final String ENABLED_CONFIG = "otel.javaagent.experimental.jfr-events.enabled";
+
+  private static boolean enabled;
+
+  public static void configure(EarlyInitAgentConfig config) {
+    enabled = config.getBoolean(ENABLED_CONFIG, false) && isJfrAvailable();
+  }
+
+  public static boolean isEnabled() {
+    return enabled;
+  }
+
+  private static boolean isJfrAvailable() {
+    String version = System.getProperty("java.specification.version", "");
+    if (version.startsWith("1.") || version.equals("9") || version.equals("10")) {
+      logger.log(FINE, "JFR events require Java 11 or later, running on {0}", version);
+      return false;
+    }
+    try {
+      Class.forName("jdk.jfr.Event", false, null);
+      return true;
+    } catch (ClassNotFoundException e) {
+      logger.log(FINE, "JFR events require the jdk.jfr module", e);
+      return false;
+    }
+  }
+
+  private JfrEventsConfiguration() {}
+}
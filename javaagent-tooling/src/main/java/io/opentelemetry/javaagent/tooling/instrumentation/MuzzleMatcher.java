@@ -16,6 +16,7 @@ import io.opentelemetry.javaagent.tooling.Utils;
 import io.opentelemetry.javaagent.tooling.config.AgentConfig;
 import io.opentelemetry.javaagent.tooling.instrumentation.indy.IndyModuleRegistry;
 import io.opentelemetry.javaagent.tooling.instrumentation.indy.InstrumentationModuleClassLoader;
+import io.opentelemetry.javaagent.tooling.jfr.JfrInstrumentationEvents;
 import io.opentelemetry.javaagent.tooling.muzzle.Mismatch;
 import io.opentelemetry.javaagent.tooling.muzzle.ReferenceMatcher;
 import io.opentelemetry.sdk.autoconfigure.spi.ConfigProperties;
@@ -78,6 +79,16 @@ class MuzzleMatcher implements AgentBuilder.RawMatcher {
   }
 
   private boolean doesMatch(ClassLoader classLoader) {
+    if (JfrEventsConfiguration.isEnabled()) {
+      return JfrInstrumentationEvents.muzzleCheck(
+          instrumentationModule.instrumentationName(),
+          classLoader,
+          () -> checkReferences(classLoader));
+    }
+    return checkReferences(classLoader);
+  }
+
+  private boolean checkReferences(ClassLoader classLoader) {
     ReferenceMatcher muzzle = getReferenceMatcher();
     boolean isMatch = muzzle.matches(classLoader);
 
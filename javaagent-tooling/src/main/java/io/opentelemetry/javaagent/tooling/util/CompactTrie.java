@@ -0,0 +1,84 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link Trie} that keeps all of its nodes in a few flat arrays instead of one object per node.
+ * Nodes are numbered in breadth first order, so the children of every node have consecutive
+ * numbers and the edge that leads to node {@code n} is stored at index {@code n - 1}. The edges of
+ * node {@code n} are the range {@code [edgeOffsets[n], edgeOffsets[n + 1])} of {@code edgeChars},
+ * sorted by their char. Lookups don't allocate.
+ */
+final class CompactTrie<V> implements Trie<V> {
+
+  private final int[] edgeOffsets;
+  private final char[] edgeChars;
+  private final V[] values;
+
+  private CompactTrie(int[] edgeOffsets, char[] edgeChars, V[] values) {
+    this.edgeOffsets = edgeOffsets;
+    this.edgeChars = edgeChars;
+    this.values = values;
+  }
+
+  static <V> CompactTrie<V> create(TrieImpl.NodeBuilder<V> root) {
+    List<TrieImpl.NodeBuilder<V>> nodes = new ArrayList<>();
+    nodes.add(root);
+    List<Character> chars = new ArrayList<>();
+    // the children of every visited node are appended to the nodes, so this visits all of them
+    for (int i = 0; i < nodes.size(); i++) {
+      nodes.get(i).children.entrySet().stream()
+          .sorted(Map.Entry.comparingByKey())
+          .forEach(
+              e -> {
+                chars.add(e.getKey());
+                nodes.add(e.getValue());
+              });
+    }
+
+    int size = nodes.size();
+    int[] edgeOffsets = new int[size + 1];
+    char[] edgeChars = new char[size - 1];
+    @SuppressWarnings("unchecked") // generic array creation
+    V[] values = (V[]) new Object[size];
+    for (int i = 0; i < size; i++) {
+      TrieImpl.NodeBuilder<V> node = nodes.get(i);
+      edgeOffsets[i + 1] = edgeOffsets[i] + node.children.size();
+      values[i] = node.value;
+    }
+    for (int i = 0; i < edgeChars.length; i++) {
+      edgeChars[i] = chars.get(i);
+    }
+    return new CompactTrie<>(edgeOffsets, edgeChars, values);
+  }
+
+  @Override
+  public V getOrDefault(CharSequence str, V defaultValue) {
+    int node = 0;
+    V lastMatchedValue = defaultValue;
+
+    for (int i = 0; i < str.length(); ++i) {
+      int edge =
+          Arrays.binarySearch(edgeChars, edgeOffsets[node], edgeOffsets[node + 1], str.charAt(i));
+      if (edge < 0) {
+        return lastMatchedValue;
+      }
+      node = edge + 1;
+      // next node matched, use its value if it's defined
+      V value = values[node];
+      if (value != null) {
+        lastMatchedValue = value;
+      }
+    }
+
+    return lastMatchedValue;
+  }
+}
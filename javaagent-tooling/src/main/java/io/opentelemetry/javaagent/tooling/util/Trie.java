@@ -45,5 +45,11 @@ public interface Trie<V> {
     Builder<V> put(CharSequence str, V value);
 
     Trie<V> build();
+
+    /**
+     * Builds a trie that keeps its nodes in flat arrays. It takes longer to build and uses much
+     * less memory than the trie returned by {@link #build()}, and its lookups don't allocate.
+     */
+    Trie<V> buildCompact();
   }
 }
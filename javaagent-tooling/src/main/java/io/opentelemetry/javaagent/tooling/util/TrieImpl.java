@@ -85,6 +85,11 @@ final class TrieImpl<V> implements Trie<V> {
     public Trie<V> build() {
       return new TrieImpl<>(root.build());
     }
+
+    @Override
+    public Trie<V> buildCompact() {
+      return CompactTrie.create(root);
+    }
   }
 
   static final class NodeBuilder<V> {
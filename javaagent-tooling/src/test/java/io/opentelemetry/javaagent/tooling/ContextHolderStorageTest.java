@@ -0,0 +1,123 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import io.opentelemetry.context.Scope;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class ContextHolderStorageTest {
+
+  private static final ContextKey<String> KEY = ContextKey.named("key");
+
+  private final ContextHolderStorage storage = new ContextHolderStorage();
+
+  @Test
+  void attachAndClose() {
+    Context first = Context.root().with(KEY, "first");
+    Context second = first.with(KEY, "second");
+
+    assertThat(storage.current()).isNull();
+    try (Scope ignored = storage.attach(first)) {
+      assertThat(storage.current()).isSameAs(first);
+      try (Scope ignored2 = storage.attach(second)) {
+        assertThat(storage.current()).isSameAs(second);
+      }
+      assertThat(storage.current()).isSameAs(first);
+    }
+    assertThat(storage.current()).isNull();
+  }
+
+  @Test
+  void attachCurrentContext() {
+    Context context = Context.root().with(KEY, "value");
+
+    try (Scope ignored = storage.attach(context)) {
+      assertThat(storage.attach(context)).isSameAs(Scope.noop());
+    }
+  }
+
+  @Test
+  void closeOutOfOrder() {
+    Context first = Context.root().with(KEY, "first");
+    Context second = first.with(KEY, "second");
+
+    Scope firstScope = storage.attach(first);
+    Scope secondScope = storage.attach(second);
+    // ignored, because it doesn't represent the current context
+    firstScope.close();
+    assertThat(storage.current()).isSameAs(second);
+
+    secondScope.close();
+    firstScope.close();
+    assertThat(storage.current()).isNull();
+  }
+
+  @Test
+  void isolatesThreads() throws InterruptedException {
+    AtomicReference<Context> otherThreadContext = new AtomicReference<>(Context.root());
+
+    try (Scope ignored = storage.attach(Context.root().with(KEY, "value"))) {
+      Thread thread = new Thread(() -> otherThreadContext.set(storage.current()));
+      thread.start();
+      thread.join();
+    }
+    assertThat(otherThreadContext.get()).isNull();
+  }
+
+  @Test
+  void closeOnOtherThread() throws InterruptedException {
+    Context context = Context.root().with(KEY, "value");
+    AtomicReference<Context> otherThreadContext = new AtomicReference<>(Context.root());
+
+    Scope scope = storage.attach(context);
+    Thread thread =
+        new Thread(
+            () -> {
+              // ignored, because it doesn't represent the current context of this thread
+              scope.close();
+              otherThreadContext.set(storage.current());
+            });
+    thread.start();
+    thread.join();
+    assertThat(otherThreadContext.get()).isNull();
+    assertThat(storage.current()).isSameAs(context);
+
+    scope.close();
+    assertThat(storage.current()).isNull();
+  }
+
+  @Test
+  void inheritContext() throws InterruptedException {
+    Context context = Context.root().with(KEY, "value");
+    AtomicReference<Context> inheritedContext = new AtomicReference<>();
+    AtomicReference<Context> notInheritedContext = new AtomicReference<>(Context.root());
+
+    try (Scope ignored = storage.attach(context)) {
+      assertThat(storage.beginInheritance()).isTrue();
+      Thread inheriting = new Thread(() -> inheritedContext.set(storage.current()));
+      storage.endInheritance();
+      Thread notInheriting = new Thread(() -> notInheritedContext.set(storage.current()));
+
+      inheriting.start();
+      notInheriting.start();
+      inheriting.join();
+      notInheriting.join();
+    }
+    assertThat(inheritedContext.get()).isSameAs(context);
+    assertThat(notInheritedContext.get()).isNull();
+  }
+
+  @Test
+  void inheritContextWithoutCurrentContext() {
+    assertThat(storage.beginInheritance()).isFalse();
+    storage.endInheritance();
+  }
+}
@@ -0,0 +1,69 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.api.baggage.Baggage;
+import io.opentelemetry.api.trace.Span;
+import io.opentelemetry.api.trace.SpanContext;
+import io.opentelemetry.api.trace.TraceFlags;
+import io.opentelemetry.api.trace.TraceState;
+import io.opentelemetry.context.Context;
+import io.opentelemetry.context.ContextKey;
+import org.junit.jupiter.api.Test;
+
+class SkipUnsampledContextPolicyTest {
+
+  private static final Span sampledSpan = span(TraceFlags.getSampled());
+  private static final Span unsampledSpan = span(TraceFlags.getDefault());
+
+  private final SkipUnsampledContextPolicy policy = new SkipUnsampledContextPolicy();
+
+  @Test
+  void propagatesSampledSpan() {
+    assertThat(policy.shouldPropagate(Context.root().with(sampledSpan))).isTrue();
+  }
+
+  @Test
+  void skipsUnsampledSpan() {
+    assertThat(policy.shouldPropagate(Context.root().with(unsampledSpan))).isFalse();
+  }
+
+  @Test
+  void propagatesUnsampledSpanWithBaggage() {
+    Baggage baggage = Baggage.builder().put("key", "value").build();
+
+    assertThat(policy.shouldPropagate(Context.root().with(unsampledSpan).with(baggage))).isTrue();
+    assertThat(policy.shouldPropagate(Context.root().with(unsampledSpan).with(Baggage.empty())))
+        .isFalse();
+  }
+
+  @Test
+  void skipsUnsampledSpanWithOtherValues() {
+    // e.g. the local root span and span suppression keys that the Instrumenter adds
+    ContextKey<String> key = ContextKey.named("key");
+
+    assertThat(policy.shouldPropagate(Context.root().with(unsampledSpan).with(key, "value")))
+        .isFalse();
+  }
+
+  @Test
+  void propagatesContextWithoutSpan() {
+    ContextKey<String> key = ContextKey.named("key");
+
+    assertThat(policy.shouldPropagate(Context.root().with(key, "value"))).isTrue();
+  }
+
+  private static Span span(TraceFlags traceFlags) {
+    return Span.wrap(
+        SpanContext.create(
+            "ff01020304050600ff0a0b0c0d0e0f00",
+            "090a0b0c0d0e0f00",
+            traceFlags,
+            TraceState.getDefault()));
+  }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.javaagent.extension.matcher.internal.DelegatingMatcher;
+import java.util.concurrent.TimeUnit;
+import net.bytebuddy.description.type.TypeDescription;
+import net.bytebuddy.matcher.ElementMatcher;
+import net.bytebuddy.matcher.ElementMatchers;
+import org.junit.jupiter.api.Test;
+
+class StartupProfilerTest {
+
+  @Test
+  void reportsPhasesAndModules() {
+    StartupProfiler profiler = new StartupProfiler();
+    profiler.recordPhase("sdk-autoconfigure", TimeUnit.MILLISECONDS.toNanos(12));
+    profiler.recordPhase("ignored-types", TimeUnit.MICROSECONDS.toNanos(500));
+    profiler.recordPhase("ignored-types", TimeUnit.MICROSECONDS.toNanos(500));
+
+    StartupProfiler.ModuleStats jdbc = profiler.moduleStats("jdbc");
+    jdbc.matchingNanos.add(TimeUnit.MILLISECONDS.toNanos(2));
+    jdbc.muzzleNanos.add(TimeUnit.MILLISECONDS.toNanos(1));
+    jdbc.transformNanos.add(TimeUnit.MILLISECONDS.toNanos(4));
+    jdbc.transformedClasses.add(3);
+    StartupProfiler.ModuleStats servlet = profiler.moduleStats("servlet");
+    servlet.matchingNanos.add(TimeUnit.MILLISECONDS.toNanos(10));
+    // never matched anything, left out of the report
+    profiler.moduleStats("kafka");
+
+    assertThat(profiler.report("startup", 40, 160))
+        .isEqualTo(
+            "{\"event\":\"startup\","
+                + "\"phases\":{\"sdk-autoconfigure\":12.000,\"ignored-types\":1.000},"
+                + "\"classesInspected\":0,\"classesTransformed\":0,"
+                + "\"classLoaderResourceLookups\":40,\"classLoaderCachedResourceLookups\":160,"
+                + "\"modules\":["
+                + "{\"name\":\"servlet\",\"matchingMs\":10.000,\"muzzleMs\":0.000,"
+                + "\"transformMs\":0.000,\"transformedClasses\":0},"
+                + "{\"name\":\"jdbc\",\"matchingMs\":2.000,\"muzzleMs\":1.000,"
+                + "\"transformMs\":4.000,\"transformedClasses\":3}"
+                + "]}");
+  }
+
+  @Test
+  void timedMatcherExposesDelegate() {
+    StartupProfiler profiler = new StartupProfiler();
+    ElementMatcher<TypeDescription> matcher = ElementMatchers.named("com.example.Foo");
+
+    ElementMatcher<TypeDescription> timed = profiler.timedMatcher("jdbc", matcher);
+    assertThat(timed).isInstanceOf(DelegatingMatcher.class);
+    assertThat(((DelegatingMatcher) timed).getDelegate()).isSameAs(matcher);
+
+    assertThat(timed.matches(TypeDescription.ForLoadedType.of(String.class))).isFalse();
+    assertThat(profiler.moduleStats("jdbc").matchingNanos.sum()).isPositive();
+  }
+
+  @Test
+  void transformationTimeIsSplitBetweenModules() {
+    StartupProfiler profiler = new StartupProfiler();
+    StartupProfiler.ModuleStats executors = profiler.moduleStats("executors");
+    StartupProfiler.ModuleStats jdbc = profiler.moduleStats("jdbc");
+    StartupProfiler.Listener listener = profiler.new Listener();
+
+    long start = System.nanoTime();
+    listener.onDiscovery("com.example.Foo", null, null, false);
+    profiler.recordMatch(executors);
+    profiler.recordMatch(jdbc);
+    listener.onTransformation(
+        TypeDescription.ForLoadedType.of(String.class), null, null, false, null);
+    long elapsed = System.nanoTime() - start;
+
+    assertThat(executors.transformedClasses.sum()).isEqualTo(1);
+    assertThat(jdbc.transformedClasses.sum()).isEqualTo(1);
+    assertThat(executors.transformNanos.sum()).isEqualTo(jdbc.transformNanos.sum());
+    assertThat(executors.transformNanos.sum() + jdbc.transformNanos.sum())
+        .isLessThanOrEqualTo(elapsed);
+  }
+}
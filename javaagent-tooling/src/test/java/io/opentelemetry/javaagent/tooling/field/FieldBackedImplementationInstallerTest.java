@@ -0,0 +1,133 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.field;
+
+import static io.opentelemetry.javaagent.tooling.field.GeneratedVirtualFieldNames.getFieldAccessorInterfaceName;
+import static io.opentelemetry.javaagent.tooling.field.GeneratedVirtualFieldNames.getVirtualFieldImplementationClassName;
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.javaagent.tooling.muzzle.VirtualFieldMappingsBuilderImpl;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import net.bytebuddy.asm.AsmVisitorWrapper;
+import net.bytebuddy.dynamic.DynamicType;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class FieldBackedImplementationInstallerTest {
+
+  private static final String TYPE_NAME = Runnable.class.getName();
+  private static final String FIELD_TYPE_NAME = String.class.getName();
+
+  private boolean lazyClassGenerationEnabled;
+
+  @BeforeEach
+  void enableLazyClassGeneration() {
+    lazyClassGenerationEnabled = FieldBackedImplementationConfiguration.lazyClassGenerationEnabled;
+    FieldBackedImplementationConfiguration.lazyClassGenerationEnabled = true;
+  }
+
+  @AfterEach
+  void restoreLazyClassGeneration() {
+    FieldBackedImplementationConfiguration.lazyClassGenerationEnabled = lazyClassGenerationEnabled;
+  }
+
+  @Test
+  void lazilyGeneratedClassesAreInjectedBeforeTheyAreUsed() {
+    VirtualFieldMappingsBuilderImpl mappings = new VirtualFieldMappingsBuilderImpl();
+    mappings.register(TYPE_NAME, FIELD_TYPE_NAME);
+    FieldBackedImplementationInstaller installer =
+        new FieldBackedImplementationInstaller(
+            FieldBackedImplementationInstallerTest.class, mappings.build());
+    List<AgentBuilder.Transformer> chain = new ArrayList<>();
+    // the installer chains type(), and(), transform() and include() calls
+    AgentBuilder.Identified.Extendable agentBuilder =
+        proxy(
+            AgentBuilder.Identified.Extendable.class,
+            (method, args) -> {
+              if (method.equals("transform")) {
+                chain.add((AgentBuilder.Transformer) args[0]);
+              }
+            },
+            AgentBuilder.Identified.Narrowable.class);
+
+    // the same order as InstrumentationModuleInstaller uses
+    installer.injectHelperClasses(agentBuilder);
+    installer.rewriteVirtualFieldsCalls(agentBuilder);
+    installer.injectFields(agentBuilder);
+
+    assertThat(installer.hasGeneratedClasses()).isFalse();
+
+    assertThat(chain).hasSize(7);
+    // the classes are injected into the bootstrap class loader by the first two transformers of
+    // both chains, before the calls are rewritten and the fields are injected
+    AgentBuilder.Transformer fieldAccessorInterfacesInjector = chain.get(0);
+    AgentBuilder.Transformer virtualFieldImplementationsInjector = chain.get(1);
+    assertThat(visitor(chain.get(2))).isInstanceOf(VirtualFieldFindRewriter.class);
+    assertThat(chain.get(3)).isSameAs(FieldBackedImplementationInstaller.NoOpTransformer.INSTANCE);
+    assertThat(chain.get(4)).isSameAs(fieldAccessorInterfacesInjector);
+    assertThat(chain.get(5)).isSameAs(virtualFieldImplementationsInjector);
+    assertThat(visitor(chain.get(6))).isInstanceOf(RealFieldInjector.class);
+
+    // the classes are only generated once and the injected classes are the ones that are used
+    FieldAccessorInterfaces fieldAccessorInterfaces = installer.fieldAccessorInterfaces();
+    VirtualFieldImplementations virtualFieldImplementations =
+        installer.virtualFieldImplementations();
+    assertThat(installer.hasGeneratedClasses()).isTrue();
+    assertThat(installer.fieldAccessorInterfaces()).isSameAs(fieldAccessorInterfaces);
+    assertThat(installer.virtualFieldImplementations()).isSameAs(virtualFieldImplementations);
+    assertThat(fieldAccessorInterfaces.find(TYPE_NAME, FIELD_TYPE_NAME).getName())
+        .isEqualTo(getFieldAccessorInterfaceName(TYPE_NAME, FIELD_TYPE_NAME))
+        .isIn(names(fieldAccessorInterfaces.getAllInterfaces()));
+    assertThat(virtualFieldImplementations.find(TYPE_NAME, FIELD_TYPE_NAME).getName())
+        .isEqualTo(getVirtualFieldImplementationClassName(TYPE_NAME, FIELD_TYPE_NAME))
+        .isIn(names(virtualFieldImplementations.getAllClasses()));
+  }
+
+  private static AsmVisitorWrapper visitor(AgentBuilder.Transformer transformer) {
+    List<AsmVisitorWrapper> visitors = new ArrayList<>();
+    DynamicType.Builder<?> builder =
+        proxy(
+            DynamicType.Builder.class,
+            (method, args) -> {
+              if (method.equals("visit")) {
+                visitors.add((AsmVisitorWrapper) args[0]);
+              }
+            });
+    transformer.transform(builder, null, null, null, null);
+    assertThat(visitors).hasSize(1);
+    return visitors.get(0);
+  }
+
+  // returns a proxy that records the calls and returns itself where the return type allows it
+  private static <T> T proxy(
+      Class<T> type, BiConsumer<String, Object[]> calls, Class<?>... extraTypes) {
+    List<Class<?>> types = new ArrayList<>();
+    types.add(type);
+    types.addAll(asList(extraTypes));
+    return type.cast(
+        Proxy.newProxyInstance(
+            FieldBackedImplementationInstallerTest.class.getClassLoader(),
+            types.toArray(new Class<?>[0]),
+            (proxy, method, args) -> {
+              calls.accept(method.getName(), args);
+              return method.getReturnType().isInstance(proxy) ? proxy : null;
+            }));
+  }
+
+  private static List<String> names(Collection<DynamicType.Unloaded<?>> types) {
+    return types.stream()
+        .map(type -> type.getTypeDescription().getName())
+        .collect(Collectors.toList());
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.ignore;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.Collections.singleton;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.CodeSource;
+import java.security.ProtectionDomain;
+import java.security.cert.Certificate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import net.bytebuddy.description.type.TypeDescription;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class MatcherResultCacheTest {
+
+  @TempDir Path tempDir;
+
+  @Test
+  void outerFilePath() {
+    String jar = new File("/app/app.jar").getAbsoluteFile().toPath().normalize().toString();
+    String jarUri = new File(jar).toURI().toString().substring("file:".length());
+
+    assertThat(MatcherResultCache.outerFilePath("file:" + jarUri)).isEqualTo(jar);
+    assertThat(MatcherResultCache.outerFilePath("jar:file:" + jarUri + "!/BOOT-INF/lib/x.jar!/"))
+        .isEqualTo(jar);
+    assertThat(MatcherResultCache.outerFilePath("jar:nested:" + jarUri + "/!BOOT-INF/classes/!/"))
+        .isEqualTo(jar);
+    assertThat(MatcherResultCache.outerFilePath("http://example.com/app.jar")).isNull();
+  }
+
+  @Test
+  void recordsAndSkipsUnmatchedTypes() throws Exception {
+    File jar = tempDir.resolve("app.jar").toFile();
+    String jarPath = jar.getAbsoluteFile().toPath().normalize().toString();
+    ProtectionDomain protectionDomain =
+        new ProtectionDomain(new CodeSource(jar.toURI().toURL(), (Certificate[]) null), null);
+    ProtectionDomain otherDomain =
+        new ProtectionDomain(
+            new CodeSource(new URL("file:/somewhere/else.jar"), (Certificate[]) null), null);
+    Path file = tempDir.resolve("matcher-cache");
+    TypeDescription type = TypeDescription.ForLoadedType.of(MatcherResultCacheTest.class);
+    ClassLoader classLoader = MatcherResultCacheTest.class.getClassLoader();
+
+    MatcherResultCache cache =
+        new MatcherResultCache(file, "key", singleton(jarPath), Collections.emptySet());
+    assertThat(cache.matches(type, classLoader, null, null, otherDomain)).isFalse();
+    cache.listener().onIgnored(type, classLoader, null, false);
+    assertThat(cache.matches(type, classLoader, null, null, protectionDomain)).isFalse();
+    cache.listener().onIgnored(type, classLoader, null, false);
+    cache.save();
+
+    assertThat(MatcherResultCache.readUnmatchedTypes(file, "other-key")).isEmpty();
+    MatcherResultCache reloaded =
+        new MatcherResultCache(
+            file, "key", singleton(jarPath), MatcherResultCache.readUnmatchedTypes(file, "key"));
+    assertThat(reloaded.matches(type, classLoader, null, null, protectionDomain)).isTrue();
+    assertThat(reloaded.matches(type, classLoader, null, null, otherDomain)).isFalse();
+    // the result for a type defined by another kind of class loader is not shared
+    try (URLClassLoader otherLoader = new URLClassLoader(new URL[0], null)) {
+      assertThat(reloaded.matches(type, otherLoader, null, null, protectionDomain)).isFalse();
+    }
+    assertThat(reloaded.matches(type, null, null, null, protectionDomain)).isFalse();
+  }
+
+  @Test
+  void classPathDirectoriesAreNotCached() throws Exception {
+    File jar = Files.createFile(tempDir.resolve("app.jar")).toFile();
+    File classes = Files.createDirectory(tempDir.resolve("classes")).toFile();
+
+    assertThat(
+            MatcherResultCache.classPathJars(
+                classes + File.pathSeparator + jar + File.pathSeparator))
+        .containsExactly(jar.getAbsoluteFile().toPath().normalize().toFile());
+  }
+
+  @Test
+  void configurationFileAndExtensionsAreInKey() throws Exception {
+    File configurationFile = tempDir.resolve("otel.properties").toFile();
+    File extension = tempDir.resolve("extension.jar").toFile();
+    Files.write(configurationFile.toPath(), "otel.instrumentation.a.enabled=false".getBytes(UTF_8));
+    Files.write(extension.toPath(), "extension v1".getBytes(UTF_8));
+    List<String> classPath = singletonList("/app/app.jar:1:1");
+    List<File> inputs = Arrays.asList(configurationFile, extension);
+
+    String key = MatcherResultCache.cacheKey(classPath, inputs);
+    assertThat(MatcherResultCache.cacheKey(classPath, inputs)).isEqualTo(key);
+
+    // same size and modification time, only the contents differ
+    rewrite(configurationFile, "otel.instrumentation.b.enabled=false");
+    String configurationChangedKey = MatcherResultCache.cacheKey(classPath, inputs);
+    assertThat(configurationChangedKey).isNotEqualTo(key);
+
+    rewrite(extension, "extension v2");
+    assertThat(MatcherResultCache.cacheKey(classPath, inputs))
+        .isNotEqualTo(key)
+        .isNotEqualTo(configurationChangedKey);
+  }
+
+  private static void rewrite(File file, String content) throws Exception {
+    long lastModified = file.lastModified();
+    Files.write(file.toPath(), content.getBytes(UTF_8));
+    assertThat(file.setLastModified(lastModified)).isTrue();
+  }
+}
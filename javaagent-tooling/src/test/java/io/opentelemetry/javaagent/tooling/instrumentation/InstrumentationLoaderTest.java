@@ -0,0 +1,121 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling.instrumentation;
+
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.opentelemetry.javaagent.extension.instrumentation.InstrumentationModule;
+import io.opentelemetry.javaagent.extension.instrumentation.TypeInstrumentation;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import net.bytebuddy.agent.builder.AgentBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class InstrumentationLoaderTest {
+
+  private final Logger logger = Logger.getLogger(InstrumentationLoader.class.getName());
+  private final List<LogRecord> logRecords = Collections.synchronizedList(new ArrayList<>());
+  private final Handler handler =
+      new Handler() {
+        @Override
+        public void publish(LogRecord record) {
+          logRecords.add(record);
+        }
+
+        @Override
+        public void flush() {}
+
+        @Override
+        public void close() {}
+      };
+
+  @BeforeEach
+  void addHandler() {
+    logger.addHandler(handler);
+  }
+
+  @AfterEach
+  void removeHandler() {
+    logger.removeHandler(handler);
+  }
+
+  @Test
+  void parallelPreparationKeepsOrderAndLogsFailures() {
+    List<InstrumentationModule> modules =
+        asList(new TestModule("first"), new TestModule("failing"), new TestModule("third"));
+    List<String> preparingThreads = Collections.synchronizedList(new ArrayList<>());
+    List<String> installed = new ArrayList<>();
+    AgentBuilder agentBuilder = new AgentBuilder.Default();
+
+    AgentBuilder result =
+        InstrumentationLoader.installModules(
+            modules,
+            agentBuilder,
+            module -> {
+              preparingThreads.add(Thread.currentThread().getName());
+              if (module.instrumentationName().equals("first")) {
+                // finish after the other modules were prepared
+                sleep();
+              }
+              if (module.instrumentationName().equals("failing")) {
+                throw new IllegalStateException("preparation failed");
+              }
+              return module.instrumentationName();
+            },
+            (name, builder) -> {
+              installed.add(name);
+              return builder;
+            },
+            true);
+
+    assertThat(result).isSameAs(agentBuilder);
+    assertThat(installed).containsExactly("first", "third");
+    // modules that are loaded by the same class loader as the agent are built in
+    assertThat(preparingThreads)
+        .hasSize(3)
+        .allSatisfy(thread -> assertThat(thread).startsWith("otel-module-preparation-"));
+    assertThat(logRecords)
+        .filteredOn(record -> record.getLevel() == Level.SEVERE)
+        .singleElement()
+        .satisfies(
+            record -> {
+              assertThat(record.getMessage())
+                  .isEqualTo(
+                      "Unable to load instrumentation failing [class "
+                          + TestModule.class.getName()
+                          + "]");
+              assertThat(record.getThrown()).isInstanceOf(IllegalStateException.class);
+            });
+  }
+
+  private static void sleep() {
+    try {
+      Thread.sleep(100);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  public static class TestModule extends InstrumentationModule {
+    public TestModule(String name) {
+      super(name);
+    }
+
+    @Override
+    public List<TypeInstrumentation> typeInstrumentations() {
+      return emptyList();
+    }
+  }
+}
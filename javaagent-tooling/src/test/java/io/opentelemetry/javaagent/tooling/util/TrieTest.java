@@ -50,4 +50,32 @@ class TrieTest {
 
     assertEquals(-1, trie.getOrDefault("acdc", -1));
   }
+
+  @Test
+  void compactTrieShouldMatchLikeTrie() {
+    Trie.Builder<Integer> builder =
+        Trie.<Integer>builder()
+            .put("abc", 0)
+            .put("abcde", 10)
+            .put("abcdfgh", 20)
+            .put("abd", 30)
+            .put("b", 40);
+    Trie<Integer> trie = builder.build();
+    Trie<Integer> compactTrie = builder.buildCompact();
+
+    String[] strings = {"", "a", "ab", "abc", "abcd", "abcdefgh", "abcdfghjkl", "abd", "abe", "bc"};
+    for (String str : strings) {
+      assertEquals(trie.getOrNull(str), compactTrie.getOrNull(str), str);
+    }
+    assertEquals(20, compactTrie.getOrNull("abcdfgh"));
+    assertEquals(40, compactTrie.getOrNull("bc"));
+  }
+
+  @Test
+  void emptyCompactTrieShouldNotMatch() {
+    Trie<Integer> trie = Trie.<Integer>builder().buildCompact();
+
+    assertNull(trie.getOrNull(""));
+    assertEquals(-1, trie.getOrDefault("abc", -1));
+  }
 }
@@ -2,9 +2,16 @@ import com.github.jengelman.gradle.plugins.shadow.tasks.ShadowJar
 import com.github.jk1.license.filter.LicenseBundleNormalizer
 import com.github.jk1.license.render.InventoryMarkdownReportRenderer
 import org.spdx.sbom.gradle.SpdxSbomTask
+import java.io.ByteArrayOutputStream
+import java.io.DataOutputStream
 import java.nio.file.Files
+import java.nio.file.StandardCopyOption
 import java.util.UUID
 import java.util.regex.Pattern
+import java.util.zip.CRC32
+import java.util.zip.ZipEntry
+import java.util.zip.ZipFile
+import java.util.zip.ZipOutputStream
 
 plugins {
   id("com.github.jk1.dependency-license-report")
@@ -241,6 +248,13 @@ tasks {
         "Can-Retransform-Classes" to true,
       )
     }
+
+    // the archive is added after the jar is built, so the property has to be an input of its own
+    val agentClassDataArchive = findProperty("agentClassDataArchive") == "true"
+    inputs.property("agentClassDataArchive", agentClassDataArchive)
+    if (agentClassDataArchive) {
+      doLast(AddClassDataArchive(archiveFile))
+    }
   }
 
   // Includes only the agent machinery and required instrumentations
@@ -436,6 +450,92 @@ fun CopySpec.isolateClasses(jar: Provider<RegularFile>) {
   }
 }
 
+// Adds inst/classdata.bin to the agent jar, an uncompressed copy of the agent classes with a sorted
+// name index that AgentClassLoader memory maps to define classes without inflating their entries.
+// See io.opentelemetry.javaagent.bootstrap.ClassDataArchive for the format.
+class AddClassDataArchive(
+  private val agentJar: Provider<RegularFile>,
+) : Action<Task> {
+  override fun execute(task: Task) {
+    addClassDataArchive(agentJar.get().asFile)
+  }
+
+  private fun addClassDataArchive(agentJar: File) {
+    val classes = sortedMapOf<String, ByteArray>()
+    val versionedClasses = mutableSetOf<String>()
+    ZipFile(agentJar).use { zip ->
+      for (entry in zip.entries()) {
+        if (!entry.name.startsWith("inst/") || !entry.name.endsWith(".classdata")) {
+          continue
+        }
+        val name = entry.name.removePrefix("inst/").removeSuffix("data")
+        if (name.startsWith("META-INF/versions/")) {
+          versionedClasses.add(name.removePrefix("META-INF/versions/").substringAfter('/'))
+        } else if (name.all { it.code < 0x80 }) {
+          classes[name] = zip.getInputStream(entry).use { it.readBytes() }
+        }
+      }
+    }
+    // classes with a multi release version are left to the jar lookup which picks the right version
+    classes.keys.removeAll(versionedClasses)
+
+    val names = classes.keys.map { it.toByteArray(Charsets.US_ASCII) }
+    val archive = ByteArrayOutputStream()
+    DataOutputStream(archive).use { out ->
+      out.writeInt(0x4F544344)
+      out.writeInt(1)
+      out.writeInt(classes.size)
+      var nameOffset = 12 + 16 * classes.size
+      var dataOffset = nameOffset + names.sumOf { it.size }
+      classes.values.forEachIndexed { i, bytes ->
+        out.writeInt(nameOffset)
+        out.writeInt(names[i].size)
+        out.writeInt(dataOffset)
+        out.writeInt(bytes.size)
+        nameOffset += names[i].size
+        dataOffset += bytes.size
+      }
+      names.forEach { out.write(it) }
+      classes.values.forEach { out.write(it) }
+    }
+    val archiveBytes = archive.toByteArray()
+
+    val tmpJar = File(agentJar.parentFile, agentJar.name + ".tmp")
+    ZipFile(agentJar).use { zip ->
+      ZipOutputStream(tmpJar.outputStream().buffered()).use { out ->
+        var entryTime = 0L
+        for (entry in zip.entries()) {
+          entryTime = entry.time
+          // keeps the method, time and extra fields of the entry, the compressed size is left to
+          // the output stream as it may compress the entry differently
+          out.putNextEntry(
+            ZipEntry(entry).apply {
+              if (method == ZipEntry.DEFLATED) {
+                compressedSize = -1
+              }
+            }
+          )
+          zip.getInputStream(entry).use { it.copyTo(out) }
+          out.closeEntry()
+        }
+        // must be stored uncompressed to be memory mapped
+        out.putNextEntry(
+          ZipEntry("inst/classdata.bin").apply {
+            time = entryTime
+            method = ZipEntry.STORED
+            size = archiveBytes.size.toLong()
+            compressedSize = archiveBytes.size.toLong()
+            crc = CRC32().apply { update(archiveBytes) }.value
+          }
+        )
+        out.write(archiveBytes)
+        out.closeEntry()
+      }
+    }
+    Files.move(tmpJar.toPath(), agentJar.toPath(), StandardCopyOption.REPLACE_EXISTING)
+  }
+}
+
 fun CopySpec.copyByteBuddy(jar: Provider<RegularFile>) {
   // Byte buddy jar includes classes compiled for java 5 at the root of the jar and the same classes
   // compiled for java 8 under META-INF/versions/9. Here we move the classes from
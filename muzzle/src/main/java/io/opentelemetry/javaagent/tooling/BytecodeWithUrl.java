@@ -5,6 +5,7 @@
 
 package io.opentelemetry.javaagent.tooling;
 
+import io.opentelemetry.instrumentation.api.internal.cache.Cache;
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
@@ -20,6 +21,14 @@ import net.bytebuddy.utility.StreamDrainer;
  */
 public abstract class BytecodeWithUrl {
 
+  // class files read from class loaders, shared by all instances so that a helper class that is
+  // injected into many class loaders is read and inflated only once. Only the bytes are kept, a URL
+  // could strongly reference the class loader that is the weak key. The agent and extension class
+  // loaders are never collected, so the class files of each class loader are bounded by size and
+  // the least recently used ones are read again when needed.
+  private static final Cache<ClassLoader, Cache<String, byte[]>> classFiles = Cache.weak();
+  private static final long MAX_CACHED_BYTES_PER_CLASS_LOADER = 1024 * 1024;
+
   private BytecodeWithUrl() {}
 
   /**
@@ -31,7 +40,7 @@ public abstract class BytecodeWithUrl {
 
   /**
    * Provides the bytecode of the class. The result is the same as calling {@link URL#openStream()}
-   * on {@link #getUrl()} and draining that stream.
+   * on {@link #getUrl()} and draining that stream. The returned array must not be modified.
    *
    * @return the bytecode of the class.
    */
@@ -119,6 +128,24 @@ public abstract class BytecodeWithUrl {
 
     @Override
     public byte[] getBytecode() {
+      Cache<String, byte[]> classLoaderClassFiles =
+          classFiles.computeIfAbsent(
+              classLoader,
+              unused ->
+                  Cache.bounded(
+                      MAX_CACHED_BYTES_PER_CLASS_LOADER,
+                      (name, bytecode) -> bytecode.length));
+      byte[] bytecode = classLoaderClassFiles.get(resourceName);
+      if (bytecode == null) {
+        // read outside of computeIfAbsent to not block other threads, in the rare case that two
+        // threads read the same class file at the same time both read the same bytecode
+        bytecode = readBytecode();
+        classLoaderClassFiles.put(resourceName, bytecode);
+      }
+      return bytecode;
+    }
+
+    private byte[] readBytecode() {
       try (InputStream bytecodeStream = getUrl().openStream()) {
         return StreamDrainer.DEFAULT.drain(bytecodeStream);
       } catch (IOException e) {
@@ -75,7 +75,7 @@ public class AgentCachingPoolStrategy implements AgentBuilder.PoolStrategy {
    * Single shared Type.Resolution cache -- uses a composite key -- conceptually of loader & name
    */
   final Cache<TypeCacheKey, TypePool.Resolution> sharedResolutionCache =
-      Cache.bounded(TYPE_CAPACITY);
+      Cache.bounded("agent-type-resolution", TYPE_CAPACITY);
 
   // fast path for bootstrap
   final SharedResolutionCacheAdapter bootstrapCacheProvider =
@@ -0,0 +1,44 @@
+/*
+ * Copyright The OpenTelemetry Authors
+ * SPDX-License-Identifier: Apache-2.0
+ */
+
+package io.opentelemetry.javaagent.tooling;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URL;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.annotation.Nullable;
+import org.junit.jupiter.api.Test;
+
+class BytecodeWithUrlTest {
+
+  @Test
+  void readsClassFileOnce() {
+    CountingClassLoader classLoader = new CountingClassLoader();
+    String className = BytecodeWithUrlTest.class.getName();
+
+    byte[] bytecode = BytecodeWithUrl.create(className, classLoader).getBytecode();
+    // a different instance for the same class, e.g. from another instrumentation module
+    byte[] sameBytecode = BytecodeWithUrl.create(className, classLoader).getBytecode();
+
+    assertThat(sameBytecode).isSameAs(bytecode);
+    assertThat(classLoader.lookups.get()).isEqualTo(1);
+  }
+
+  private static class CountingClassLoader extends ClassLoader {
+    final AtomicInteger lookups = new AtomicInteger();
+
+    CountingClassLoader() {
+      super(null);
+    }
+
+    @Override
+    @Nullable
+    public URL getResource(String name) {
+      lookups.incrementAndGet();
+      return BytecodeWithUrlTest.class.getClassLoader().getResource(name);
+    }
+  }
+}